@@ -1,11 +1,20 @@
 package main.java.group37.bejeweled;
 
+import main.java.group37.bejeweled.board.Geometry;
+import main.java.group37.bejeweled.leaderboard.Leaderboards;
+import main.java.group37.bejeweled.metrics.GameMetrics;
+import main.java.group37.bejeweled.model.AutoSaver;
 import main.java.group37.bejeweled.model.Logger;
 import main.java.group37.bejeweled.view.StartScreen;
 
 import java.awt.BorderLayout;
+import java.awt.Dimension;
 import java.awt.EventQueue;
 import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 
 import javax.swing.JFrame;
 
@@ -18,6 +27,7 @@ import javax.swing.JFrame;
 public class Launcher extends JFrame {
   public static StartScreen startscreen;
   public static Launcher launcher;
+  public static final Path LEADERBOARD = Paths.get("leaderboard.dat");
 
   /**
    * Constructor of the application.
@@ -28,6 +38,14 @@ public class Launcher extends JFrame {
     addWindowListener(new java.awt.event.WindowAdapter() {
       public void windowClosing(WindowEvent winEvt) {
         Logger.log("# Exit Game");
+        Leaderboards.get().stopSnapshots();
+        Leaderboards.get().snapshot(LEADERBOARD);
+        AutoSaver.get().stop();
+        try {
+          AutoSaver.get().flush();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
         Logger.close();
         System.exit(0);
       }
@@ -40,19 +58,36 @@ public class Launcher extends JFrame {
   private void initUi() {
     setLayout(new BorderLayout());
     Logger.init();
+    AutoSaver.get().start(AutoSaver.AUTOSAVE, 30, TimeUnit.SECONDS, EventQueue::invokeLater);
     startscreen = new StartScreen();
     add(startscreen);
 
-    if (System.getProperty("os.name").startsWith("Windows")) {
-      setSize(815, 643);
-    } else {
-      setSize(800,619);
-    }
+    //the window is as big as the background plus the borders of this system,
+    //a resized window scales the board
+    getContentPane().setPreferredSize(
+        new Dimension(Geometry.DESIGN_WIDTH, Geometry.DESIGN_HEIGHT));
+    pack();
+    setMinimumSize(getSize());
 
     setTitle("Bejeweled 2");
     setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
     setLocationRelativeTo(null);
     setVisible(true);    
+    Startup.preload(Launcher::startServices);
+  }
+
+  /**
+   * Start the services the start screen doesn't need, runs on the preload thread.
+   */
+  private static void startServices() {
+    GameMetrics.get().registerMBeans();
+    GameMetrics.get().startLogDump(60, TimeUnit.SECONDS);
+    try {
+      Leaderboards.get().load(LEADERBOARD);
+    } catch (IOException e) {
+      Logger.error("Loading the leaderboards failed: " + e.getMessage());
+    }
+    Leaderboards.get().startSnapshots(LEADERBOARD, 30, TimeUnit.SECONDS);
   }    
 
   /**
@@ -60,6 +95,7 @@ public class Launcher extends JFrame {
    * @param args parameters passed to this application.
    */
   public static void main(String[] args) {
+    Startup.mark(Startup.Stage.MAIN);
 
     EventQueue.invokeLater(new Runnable() {
       public void run() {
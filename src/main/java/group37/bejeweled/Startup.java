@@ -0,0 +1,75 @@
+package main.java.group37.bejeweled;
+
+import main.java.group37.bejeweled.board.Sprites;
+import main.java.group37.bejeweled.metrics.GameMetrics;
+import main.java.group37.bejeweled.model.Game;
+import main.java.group37.bejeweled.model.Logger;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the start of the game short.
+ * Only the start screen is made before the window is shown. Loading the images
+ * and the classes of a game is done on a background thread while the player
+ * looks at the start screen, so the first board is shown without waiting.
+ * @author group37
+ */
+public final class Startup {
+
+  /**
+   * enum Stage tells how far the start of the game is.
+   */
+  public enum Stage {
+    MAIN, FIRST_FRAME, FIRST_BOARD;
+  }
+
+  private static final AtomicLongArray reached = new AtomicLongArray(Stage.values().length);
+
+  private Startup() {}
+
+  /**
+   * Remember the time a stage is reached, only the first time counts.
+   * @param stage the stage.
+   */
+  public static void mark(Stage stage) {
+    reached.compareAndSet(stage.ordinal(), 0, System.nanoTime());
+  }
+
+  /**
+   * Get the time a stage was reached.
+   * @param stage the stage.
+   * @return the System.nanoTime() of the stage, 0 if it wasn't reached yet.
+   */
+  public static long getNanos(Stage stage) {
+    return reached.get(stage.ordinal());
+  }
+
+  /**
+   * Load the images and the classes the first game needs.
+   */
+  public static void warmUp() {
+    Sprites.loadAll();
+    //a game without the GUI loads and initializes the classes of the game logic,
+    //it is not one of the games of the player so it stays out of the metrics
+    GameMetrics.get().unrecorded(() -> new Game(0).getLogic().getHint());
+  }
+
+  /**
+   * Warm up on a background thread.
+   * @param then work that runs on the same thread after the warm up.
+   * @return the thread.
+   */
+  public static Thread preload(Runnable then) {
+    Thread thread = new Thread(() -> {
+      long start = System.nanoTime();
+      warmUp();
+      Logger.log("Preloaded images and game in " + (System.nanoTime() - start) / 1000000
+          + " ms");
+      then.run();
+    }, "startup-preload");
+    thread.setDaemon(true);
+    thread.setPriority(Thread.MIN_PRIORITY);
+    thread.start();
+    return thread;
+  }
+}
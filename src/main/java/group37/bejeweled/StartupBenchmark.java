@@ -0,0 +1,92 @@
+package main.java.group37.bejeweled;
+
+import main.java.group37.bejeweled.Startup.Stage;
+import main.java.group37.bejeweled.board.Tile;
+import main.java.group37.bejeweled.model.Game;
+import main.java.group37.bejeweled.model.Move;
+import main.java.group37.bejeweled.view.StartScreen;
+
+import java.awt.EventQueue;
+import java.awt.GraphicsEnvironment;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Measures how long the game takes to start.
+ * Time to first frame is the time from the start of the JVM until the start
+ * screen is painted, time to first playable board is the time until the board
+ * of a new game is painted. The game is started with a click on New Game as
+ * soon as the start screen is shown.
+ *
+ * <p>With --train it plays a few games without a window instead. The cds
+ * profile of the build runs this to write target/bejeweled.jsa, an AppCDS
+ * archive of the classes of the game. Start the game with
+ * -XX:SharedArchiveFile=target/bejeweled.jsa and the packaged jar to use it.
+ * @author group37
+ */
+public final class StartupBenchmark {
+
+  private static final long TIMEOUT = 30000;
+
+  private StartupBenchmark() {}
+
+  /**
+   * Run the benchmark.
+   * @param args --train to play games without a window.
+   * @throws Exception when the game doesn't start in time.
+   */
+  public static void main(String[] args) throws Exception {
+    long jvmStart = System.nanoTime()
+        - ManagementFactory.getRuntimeMXBean().getUptime() * 1000000;
+    if (args.length > 0 && "--train".equals(args[0])) {
+      train();
+      return;
+    }
+    if (GraphicsEnvironment.isHeadless()) {
+      System.err.println("The startup benchmark needs a display, use --train without one");
+      System.exit(1);
+    }
+    Launcher.main(args);
+    await(Stage.FIRST_FRAME);
+    long click = System.nanoTime();
+    EventQueue.invokeLater(() -> Launcher.startscreen.startNewGame());
+    await(Stage.FIRST_BOARD);
+    System.out.println("Time to first frame: "
+        + millis(Startup.getNanos(Stage.FIRST_FRAME) - jvmStart) + " ms");
+    System.out.println("Time to first playable board: "
+        + millis(Startup.getNanos(Stage.FIRST_BOARD) - jvmStart) + " ms ("
+        + millis(Startup.getNanos(Stage.FIRST_BOARD) - click) + " ms after New Game)");
+    System.exit(0);
+  }
+
+  private static void await(Stage stage) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT;
+    while (Startup.getNanos(stage) == 0) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new IllegalStateException(stage + " was not reached in " + TIMEOUT + " ms");
+      }
+      Thread.sleep(1);
+    }
+  }
+
+  private static String millis(long nanos) {
+    return String.format("%.1f", nanos / 1e6);
+  }
+
+  /**
+   * Load the classes of a normal session without a window.
+   */
+  private static void train() {
+    new StartScreen();
+    Startup.warmUp();
+    for (long seed = 0; seed < 20; seed++) {
+      Game game = new Game(seed);
+      for (int i = 0; i < 20 && game.getLogic().getHint() != null; i++) {
+        List<Tile> hint = game.getLogic().getHint();
+        game.makeMove(new Move(hint.get(0).getX(), hint.get(0).getY(),
+            hint.get(1).getX(), hint.get(1).getY()));
+      }
+    }
+    System.out.println("Trained on 20 games");
+  }
+}
@@ -1,6 +1,7 @@
 package main.java.group37.bejeweled.board;
 
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * board object for the tiles.
@@ -14,6 +15,9 @@ public class Board {
    * The grid of squares with board[x][y] being the square at column x, row y.
    */
   public Tile[][] board;
+
+  private static final AtomicInteger NEXT_ID = new AtomicInteger();
+  private final int id;
   
   /**
    * Creates a new board.
@@ -22,6 +26,23 @@ public class Board {
   public Board(Tile[][] bi) {
     assert bi != null;
     this.board = bi;
+    this.id = NEXT_ID.incrementAndGet();
+  }
+
+  /**
+   * Get the id of this board, every board gets a different id.
+   * @return the id.
+   */
+  public int getId() {
+    return id;
+  }
+
+  /**
+   * Get the number of cells of this board.
+   * @return width times height.
+   */
+  public int getSize() {
+    return getWidth() * getHeight();
   }
   
   /**
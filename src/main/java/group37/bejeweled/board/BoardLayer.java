@@ -0,0 +1,167 @@
+package main.java.group37.bejeweled.board;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * Paints the board in two layers.
+ * The background and every tile that stands still are painted once in a cached
+ * image. Every frame that image is copied and only the tiles that move, grow or
+ * shrink are painted on top. The cached image is painted again when a tile that
+ * stands still is replaced, changes its image, starts or stops moving, or when
+ * the size changes. All images come from a {@link SpriteSet}, so nothing is
+ * scaled while painting.
+ * @author group37
+ */
+public class BoardLayer {
+
+  private BufferedImage layer;
+  private SpriteSet sprites;
+  private Tile[] tiles = new Tile[0];
+  private Image[] images = new Image[0];
+  private long rebuilds;
+
+  /**
+   * Paint the background and the tiles of a board.
+   * @param graphics where the board is painted.
+   * @param board the board.
+   * @param sprites the images for the size of the panel.
+   */
+  public void paint(Graphics graphics, Board board, SpriteSet sprites) {
+    Geometry geometry = sprites.getGeometry();
+    if (!isValid(board, sprites)) {
+      rebuild(graphics, board, sprites);
+    }
+    graphics.drawImage(layer, 0, 0, null);
+    for (int y = 0; y < board.getHeight(); y++) {
+      for (int x = 0; x < board.getWidth(); x++) {
+        Tile tile = board.getTileAt(x, y);
+        if (tile != null && isMoving(tile)) {
+          paintTile(graphics, tile, geometry.cellX(x), geometry.cellY(y), sprites);
+        }
+      }
+    }
+  }
+
+  /**
+   * Paint a tile, its movement and size are scaled to the size of the panel.
+   * @param graphics where the tile is painted.
+   * @param tile the tile.
+   * @param px left side of the cell of the tile.
+   * @param py top of the cell of the tile.
+   * @param sprites the images for the size of the panel.
+   */
+  public static void paintTile(Graphics graphics, Tile tile, int px, int py, SpriteSet sprites) {
+    if (tile.remove) {
+      return;
+    }
+    Geometry geometry = sprites.getGeometry();
+    int size = geometry.scale(Tile.spaceX - tile.size);
+    if (size < 1) {
+      return;
+    }
+    Image image = tile.getImage().getImage();
+    int tx = px + geometry.scale(tile.translation.x);
+    int ty = py + geometry.scale(tile.translation.y);
+    Image frame = sprites.get(image, size);
+    if (frame != null) {
+      graphics.drawImage(frame, tx, ty, null);
+    } else {
+      graphics.drawImage(image, tx, ty, size, size, null);
+    }
+  }
+
+  /**
+   * Paint the cached layer again at the next frame.
+   */
+  public void invalidate() {
+    layer = null;
+  }
+
+  /**
+   * Get the number of times the cached layer was painted.
+   * @return the number of rebuilds.
+   */
+  public long getRebuilds() {
+    return rebuilds;
+  }
+
+  /**
+   * Check if a tile is drawn somewhere else than its place or at another size.
+   * @param tile the tile.
+   * @return true iff the tile is painted on top of the cached layer.
+   */
+  static boolean isMoving(Tile tile) {
+    return tile.translation.x != 0 || tile.translation.y != 0 || tile.size != 0;
+  }
+
+  /**
+   * Get the image a tile has in the cached layer.
+   * @return the image, null if the tile is not in the cached layer.
+   */
+  private static Image still(Tile tile) {
+    if (tile == null || tile.remove || isMoving(tile)) {
+      return null;
+    }
+    return tile.getImage().getImage();
+  }
+
+  private boolean isValid(Board board, SpriteSet sprites) {
+    if (layer == null || this.sprites != sprites || tiles.length != board.getSize()) {
+      return false;
+    }
+    for (int x = 0, cell = 0; x < board.getWidth(); x++) {
+      for (int y = 0; y < board.getHeight(); y++, cell++) {
+        Tile tile = board.getTileAt(x, y);
+        if (tiles[cell] != tile || images[cell] != still(tile)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private void rebuild(Graphics graphics, Board board, SpriteSet sprites) {
+    Geometry geometry = sprites.getGeometry();
+    int width = geometry.getWidth();
+    int height = geometry.getHeight();
+    if (layer == null || layer.getWidth() != width || layer.getHeight() != height) {
+      layer = createLayer(graphics, width, height);
+    }
+    this.sprites = sprites;
+    if (tiles.length != board.getSize()) {
+      tiles = new Tile[board.getSize()];
+      images = new Image[board.getSize()];
+    }
+    Graphics2D layerGraphics = layer.createGraphics();
+    layerGraphics.setColor(Color.BLACK);
+    layerGraphics.fillRect(0, 0, width, height);
+    layerGraphics.drawImage(sprites.getBackground(), geometry.getBackgroundX(),
+        geometry.getBackgroundY(), null);
+    for (int x = 0, cell = 0; x < board.getWidth(); x++) {
+      for (int y = 0; y < board.getHeight(); y++, cell++) {
+        Tile tile = board.getTileAt(x, y);
+        tiles[cell] = tile;
+        images[cell] = still(tile);
+        if (images[cell] != null) {
+          paintTile(layerGraphics, tile, geometry.cellX(x), geometry.cellY(y), sprites);
+        }
+      }
+    }
+    layerGraphics.dispose();
+    rebuilds++;
+  }
+
+  private static BufferedImage createLayer(Graphics graphics, int width, int height) {
+    if (graphics instanceof Graphics2D) {
+      //an image in the format of the screen is copied without conversion
+      return ((Graphics2D) graphics).getDeviceConfiguration()
+          .createCompatibleImage(width, height, Transparency.OPAQUE);
+    }
+    return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+  }
+}
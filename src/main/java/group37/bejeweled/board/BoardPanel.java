@@ -5,7 +5,6 @@ import main.java.group37.bejeweled.model.Game;
 import java.awt.Graphics;
 import java.awt.Point;
 
-import javax.swing.ImageIcon;
 import javax.swing.JPanel;
 
 @SuppressWarnings("serial")
@@ -14,10 +13,11 @@ public class BoardPanel extends JPanel {
   public static final int SIZE = 8; //Board size is 8x8
   public static final Point LOCATION = new Point(241,40);
   private Point focus = null;
-  private static final String FOCUS_PNG = "src/img/focus.png";
-  private static final String BOARD_PNG = "src/img/board.png";
+  private static final String FOCUS_PNG = Sprites.FOCUS;
 
   private Game game;
+  private final BoardLayer layer = new BoardLayer();
+  private SpriteSet sprites;
 
   
   public BoardPanel(Game game) {
@@ -30,27 +30,28 @@ public class BoardPanel extends JPanel {
   @Override
   public void paintComponent(Graphics graphics) {
     super.paintComponent(graphics);
-    int spaceX = 65;
-    int spaceY = 65;
-
-    Board board = game.getBoard();
-    ImageIcon boardImage  = new ImageIcon(BOARD_PNG);
-    graphics.drawImage(boardImage.getImage(), 0, 0, board.getWidth(), board.getHeight(), null);
-    int ix = LOCATION.x;
-    int iy = LOCATION.y;
-
-    for (int i = 0, x = ix, y = iy; i < SIZE; i++) {
-      x = ix;
-      for (int j = 0; j < SIZE; j++, x += spaceX) {
-        IDrawable draw = board.getTileAt(j, i);
-        draw.paintComponent(graphics, x, y);
-      }
-      y += spaceY;
+    Geometry geometry = Geometry.of(getWidth(), getHeight());
+    if (sprites == null || !sprites.getGeometry().equals(geometry)) {
+      sprites = SpriteSet.of(geometry);
     }
-         
+    paintBoard(graphics, sprites);
+  }
+
+  /**
+   * Draw the background and the tiles, the tiles that stand still come from
+   * the cached layer.
+   * @param graphics where the board is drawn.
+   * @param sprites the images for the size of the panel.
+   */
+  public void paintBoard(Graphics graphics, SpriteSet sprites) {
+    layer.paint(graphics, game.getBoard(), sprites);
     if (focus != null) {
-      ImageIcon focusImage = new ImageIcon(FOCUS_PNG);
-      graphics.drawImage(focusImage.getImage(), focus.x, focus.y,spaceX,spaceY, null);
+      graphics.drawImage(sprites.get(Sprites.get(FOCUS_PNG).getImage()), focus.x, focus.y,
+          null);
     }
   }
-}
\ No newline at end of file
+
+  public BoardLayer getLayer() {
+    return layer;
+  }
+}
@@ -0,0 +1,184 @@
+package main.java.group37.bejeweled.board;
+
+import main.java.group37.bejeweled.combination.Combination.Type;
+
+import java.util.Arrays;
+
+/**
+ * A board stored as one byte per cell, without any tile objects.
+ * A cell holds the colour index of the tile plus 10 times the type of the tile,
+ * the same numbers the saved games use: 0-6 normal, 10-16 star, 20-26 flame
+ * and 30-36 hypercube. Cells are numbered column by column, cell = x * height + y.
+ * @author group37
+ */
+public class CompactBoard {
+
+  public static final int EMPTY = -1;
+
+  //values() copies the array on every call
+  private static final Type[] TYPES = Type.values();
+
+  private final int width;
+  private final int height;
+  private final byte[] cells;
+
+  /**
+   * Create an empty compact board.
+   * @param width number of columns.
+   * @param height number of rows.
+   */
+  public CompactBoard(int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.cells = new byte[width * height];
+    Arrays.fill(cells, (byte) EMPTY);
+  }
+
+  /**
+   * Create a compact copy of a board.
+   * @param board the board.
+   * @return the compact board.
+   */
+  public static CompactBoard of(Board board) {
+    CompactBoard compact = new CompactBoard(board.getWidth(), board.getHeight());
+    compact.copyFrom(board);
+    return compact;
+  }
+
+  /**
+   * Overwrite this board with the tiles of a board of the same size.
+   * @param board the board.
+   */
+  public void copyFrom(Board board) {
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < height; y++) {
+        cells[x * height + y] = (byte) encode(board.getTileAt(x, y));
+      }
+    }
+  }
+
+  /**
+   * Overwrite this board with the cells of another compact board of the same size.
+   * @param other the other board.
+   */
+  public void copyFrom(CompactBoard other) {
+    System.arraycopy(other.cells, 0, cells, 0, cells.length);
+  }
+
+  /**
+   * Get the code of a tile.
+   * @param tile the tile, may be null.
+   * @return index + 10 * type, EMPTY for no tile.
+   */
+  public static int encode(Tile tile) {
+    if (tile == null) {
+      return EMPTY;
+    }
+    return tile.getIndex() + 10 * TilePool.typeOf(tile).ordinal();
+  }
+
+  /**
+   * Get the type of the tile of a code.
+   * @param code the code of the cell.
+   * @return the type.
+   */
+  public static Type typeOf(int code) {
+    return TYPES[code / 10];
+  }
+
+  /**
+   * Get the colour index of the tile of a code.
+   * @param code the code of the cell.
+   * @return the index.
+   */
+  public static int indexOf(int code) {
+    return code % 10;
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Get the number of cells of this board.
+   * @return width times height.
+   */
+  public int getSize() {
+    return cells.length;
+  }
+
+  /**
+   * Get the code of the tile at (xi,yi).
+   * @param xi column.
+   * @param yi row.
+   * @return the code, EMPTY if there is no tile.
+   */
+  public int get(int xi, int yi) {
+    return cells[xi * height + yi];
+  }
+
+  /**
+   * Set the code of the tile at (xi,yi).
+   * @param xi column.
+   * @param yi row.
+   * @param code the code.
+   */
+  public void set(int xi, int yi, int code) {
+    cells[xi * height + yi] = (byte) code;
+  }
+
+  /**
+   * Get the code of a cell.
+   * @param cell cell number, x * height + y.
+   * @return the code.
+   */
+  public int getCell(int cell) {
+    return cells[cell];
+  }
+
+  /**
+   * Set the code of a cell.
+   * @param cell cell number, x * height + y.
+   * @param code the code.
+   */
+  public void setCell(int cell, int code) {
+    cells[cell] = (byte) code;
+  }
+
+  /**
+   * Create tiles for all cells.
+   * @param pool the pool to get the tiles from.
+   * @return a new board with the tiles.
+   */
+  public Board toBoard(TilePool pool) {
+    Tile[][] tiles = new Tile[width][height];
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < height; y++) {
+        int code = get(x, y);
+        if (code != EMPTY) {
+          tiles[x][y] = pool.obtain(typeOf(code), x, y);
+          tiles[x][y].setIndex(indexOf(code));
+        }
+      }
+    }
+    return new Board(tiles);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof CompactBoard)) {
+      return false;
+    }
+    CompactBoard that = (CompactBoard) obj;
+    return width == that.width && height == that.height && Arrays.equals(cells, that.cells);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * width + Arrays.hashCode(cells);
+  }
+}
@@ -1,7 +1,5 @@
 package main.java.group37.bejeweled.board;
 
-import javax.swing.ImageIcon;
-
 /**
  * Class FlameTile, object for a flame gem on the board.
  * @author group37
@@ -53,7 +51,7 @@ public class FlameTile extends Tile {
   public Tile clone(int coordinateX, int coordinateY) {
     Tile tile = new FlameTile(coordinateX,coordinateY);
     tile.setIndex(this.index);
-    tile.setImage(new ImageIcon(paths[index]));
+    tile.setImage(this.image);
     tile.delete = this.delete;
     tile.setNextType(this.nextType);
     return tile;
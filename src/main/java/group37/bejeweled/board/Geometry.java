@@ -0,0 +1,140 @@
+package main.java.group37.bejeweled.board;
+
+import java.awt.Point;
+
+/**
+ * Where the board is painted in a panel of some size.
+ * The game is laid out for the 800x600 background with 65 pixel cells, which
+ * are the units of the tile positions and animations. A panel of another size
+ * shows that layout scaled by the same factor in both directions and centered,
+ * so the cells stay square on every screen.
+ * @author group37
+ */
+public final class Geometry {
+
+  public static final int DESIGN_WIDTH = 800;
+  public static final int DESIGN_HEIGHT = 600;
+  public static final Geometry DESIGN = of(DESIGN_WIDTH, DESIGN_HEIGHT);
+
+  private final int width;
+  private final int height;
+  private final double scale;
+  private final int cell;
+  private final int backgroundX;
+  private final int backgroundY;
+  private final int backgroundWidth;
+  private final int backgroundHeight;
+  private final int left;
+  private final int top;
+
+  private Geometry(int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.scale = Math.min((double) width / DESIGN_WIDTH, (double) height / DESIGN_HEIGHT);
+    this.cell = Math.max(1, scale(Tile.spaceX));
+    this.backgroundWidth = Math.max(1, scale(DESIGN_WIDTH));
+    this.backgroundHeight = Math.max(1, scale(DESIGN_HEIGHT));
+    this.backgroundX = (width - backgroundWidth) / 2;
+    this.backgroundY = (height - backgroundHeight) / 2;
+    this.left = backgroundX + scale(BoardPanel.LOCATION.x);
+    this.top = backgroundY + scale(BoardPanel.LOCATION.y);
+  }
+
+  /**
+   * Get the geometry of a panel.
+   * @param width width of the panel.
+   * @param height height of the panel.
+   * @return the geometry.
+   */
+  public static Geometry of(int width, int height) {
+    return new Geometry(Math.max(1, width), Math.max(1, height));
+  }
+
+  /**
+   * Scale a distance of the 800x600 layout to this panel.
+   * @param distance the distance in the layout.
+   * @return the distance in pixels.
+   */
+  public int scale(int distance) {
+    return (int) Math.round(distance * scale);
+  }
+
+  /**
+   * Get the cell under a pixel.
+   * @param px x coordinate in the panel.
+   * @param py y coordinate in the panel.
+   * @return the column and row, outside the board if the pixel is.
+   */
+  public Point toCell(int px, int py) {
+    return new Point(Math.floorDiv(px - left, cell), Math.floorDiv(py - top, cell));
+  }
+
+  /**
+   * Get the left side of a column.
+   * @param col the column.
+   * @return the x coordinate in the panel.
+   */
+  public int cellX(int col) {
+    return left + col * cell;
+  }
+
+  /**
+   * Get the top of a row.
+   * @param row the row.
+   * @return the y coordinate in the panel.
+   */
+  public int cellY(int row) {
+    return top + row * cell;
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  public double getScale() {
+    return scale;
+  }
+
+  public int getCell() {
+    return cell;
+  }
+
+  public int getBackgroundX() {
+    return backgroundX;
+  }
+
+  public int getBackgroundY() {
+    return backgroundY;
+  }
+
+  public int getBackgroundWidth() {
+    return backgroundWidth;
+  }
+
+  public int getBackgroundHeight() {
+    return backgroundHeight;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof Geometry)) {
+      return false;
+    }
+    Geometry that = (Geometry) obj;
+    return width == that.width && height == that.height;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * width + height;
+  }
+
+  @Override
+  public String toString() {
+    return width + "x" + height + " cell " + cell;
+  }
+}
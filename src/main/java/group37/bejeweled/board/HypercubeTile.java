@@ -1,6 +1,5 @@
 package main.java.group37.bejeweled.board;
 
-import javax.swing.ImageIcon;
 /**
  * Class HypercubeTile, object for a hypercube gem on the board.
  * @author group37
@@ -50,7 +49,7 @@ public class HypercubeTile extends Tile {
   public Tile clone(int coordinateX, int coordinateY) {
     Tile tile = new HypercubeTile(coordinateX,coordinateY);
     tile.setIndex(this.index);
-    tile.setImage(new ImageIcon(paths[index]));
+    tile.setImage(this.image);
     tile.delete = this.delete;
     tile.setNextType(this.nextType);
     return tile;
@@ -1,7 +1,5 @@
 package main.java.group37.bejeweled.board;
 
-import javax.swing.ImageIcon;
-
 public class NormalTile extends Tile {
 
   private int score;
@@ -38,7 +36,7 @@ public class NormalTile extends Tile {
   public Tile clone(int coordinateX, int coordinateY) {
     Tile tile = new NormalTile(coordinateX,coordinateY);
     tile.index = this.index;
-    tile.image = new ImageIcon(paths[index]);
+    tile.image = this.image;
     tile.delete = this.delete;
     tile.setNextType(this.nextType);
     return tile;
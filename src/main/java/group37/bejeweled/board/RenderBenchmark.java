@@ -0,0 +1,113 @@
+package main.java.group37.bejeweled.board;
+
+import main.java.group37.bejeweled.model.Game;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how many frames per second the board is painted, in an offscreen
+ * image so it also runs without a display. Every scene is painted at the size of
+ * the default window, a 720p and a 4K screen, once scaling the images while
+ * painting every tile every frame and once with the {@link BoardLayer}.
+ * @author group37
+ */
+public final class RenderBenchmark {
+
+  private static final int FRAMES = 1000;
+  private static final Geometry[] SCREENS = {Geometry.DESIGN, Geometry.of(1280, 720),
+      Geometry.of(3840, 2160)};
+
+  private RenderBenchmark() {}
+
+  /**
+   * Run the benchmark.
+   * @param args not used.
+   */
+  public static void main(String[] args) {
+    Board board = new Game(1).getBoard();
+    Sprites.loadAll();
+    for (int run = 0; run < 2; run++) {
+      //the first run warms up
+      System.out.println(run == 0 ? "Warm up" : "Frames per second");
+      for (Geometry geometry : SCREENS) {
+        System.out.println(" " + geometry);
+        BufferedImage canvas = new BufferedImage(geometry.getWidth(), geometry.getHeight(),
+            BufferedImage.TYPE_INT_RGB);
+        SpriteSet sprites = SpriteSet.of(geometry);
+        scene("still board", canvas, board, sprites, 0, 0);
+        scene("remove 20 tiles", canvas, board, sprites, 20, 0);
+        scene("drop 24 tiles", canvas, board, sprites, 0, 24);
+      }
+    }
+  }
+
+  private static void scene(String name, BufferedImage canvas, Board board, SpriteSet sprites,
+      int removing, int dropping) {
+    List<Tile> tiles = new ArrayList<Tile>();
+    for (int x = 0; x < board.getWidth(); x++) {
+      for (int y = 0; y < board.getHeight(); y++) {
+        tiles.add(board.getTileAt(x, y));
+      }
+    }
+    List<Tile> removed = tiles.subList(0, removing);
+    List<Tile> dropped = tiles.subList(removing, removing + dropping);
+    double full = fps(canvas, board, sprites, removed, dropped, null);
+    double layered = fps(canvas, board, sprites, removed, dropped, new BoardLayer());
+    System.out.println(String.format("  %-16s all tiles %8.0f   layered %8.0f", name, full,
+        layered));
+  }
+
+  private static double fps(BufferedImage canvas, Board board, SpriteSet sprites,
+      List<Tile> removed, List<Tile> dropped, BoardLayer layer) {
+    Graphics2D graphics = canvas.createGraphics();
+    long start = System.nanoTime();
+    for (int frame = 0; frame < FRAMES; frame++) {
+      //the steps of the remove and drop animations
+      int step = frame % 33;
+      for (Tile tile : removed) {
+        tile.translation.setLocation(step, step);
+        tile.size = 2 * step;
+      }
+      for (Tile tile : dropped) {
+        tile.translation.setLocation(0, step % 23);
+      }
+      if (layer == null) {
+        paintAll(graphics, board, sprites.getGeometry());
+      } else {
+        layer.paint(graphics, board, sprites);
+      }
+    }
+    long elapsed = System.nanoTime() - start;
+    graphics.dispose();
+    for (Tile tile : removed) {
+      tile.resetD();
+      tile.size = 0;
+    }
+    for (Tile tile : dropped) {
+      tile.resetD();
+    }
+    return FRAMES * 1e9 / elapsed;
+  }
+
+  /**
+   * Paint the way the board was painted before the layers, every tile every frame
+   * and every image scaled while it is painted.
+   */
+  private static void paintAll(Graphics2D graphics, Board board, Geometry geometry) {
+    graphics.drawImage(Sprites.get(Sprites.BOARD).getImage(), geometry.getBackgroundX(),
+        geometry.getBackgroundY(), geometry.getBackgroundWidth(),
+        geometry.getBackgroundHeight(), null);
+    for (int y = 0; y < board.getHeight(); y++) {
+      for (int x = 0; x < board.getWidth(); x++) {
+        Tile tile = board.getTileAt(x, y);
+        int size = geometry.scale(Tile.spaceX - tile.size);
+        graphics.drawImage(tile.getImage().getImage(),
+            geometry.cellX(x) + geometry.scale(tile.translation.x),
+            geometry.cellY(y) + geometry.scale(tile.translation.y), size, size, null);
+      }
+    }
+  }
+}
@@ -0,0 +1,190 @@
+package main.java.group37.bejeweled.board;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * All images of the game resampled for one {@link Geometry}, so painting only
+ * copies them. The gems and the focus are kept per cell size and the background
+ * per background size, a few sizes each, so resizing back and forth resamples
+ * nothing. A new size is resampled on a background thread while the old sprites
+ * are still painted. The shrinking frames of the remove animation belong to the
+ * set, so they are forgotten together with it.
+ * @author group37
+ */
+public final class SpriteSet {
+
+  //number of sizes that are kept
+  private static final int KEEP = 3;
+
+  private static final Map<Integer, Map<Image, BufferedImage>> cells = lru();
+  private static final Map<Long, BufferedImage> backgrounds = lru();
+  private static final Map<Geometry, SpriteSet> sets = lru();
+  private static final AtomicReference<Geometry> wanted = new AtomicReference<Geometry>();
+  private static final ExecutorService resampler = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "sprite-resample");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+  private final Geometry geometry;
+  private final Map<Image, BufferedImage> images;
+  private final BufferedImage background;
+  private final ConcurrentMap<Image, AtomicReferenceArray<BufferedImage>> frames =
+      new ConcurrentHashMap<Image, AtomicReferenceArray<BufferedImage>>();
+
+  private SpriteSet(Geometry geometry, Map<Image, BufferedImage> images,
+      BufferedImage background) {
+    this.geometry = geometry;
+    this.images = images;
+    this.background = background;
+  }
+
+  private static <K, V> Map<K, V> lru() {
+    return Collections.synchronizedMap(new LinkedHashMap<K, V>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        return size() > KEEP;
+      }
+    });
+  }
+
+  /**
+   * Get the sprites of a geometry, the images are resampled if they are not kept.
+   * @param geometry the geometry.
+   * @return the sprites.
+   */
+  public static SpriteSet of(Geometry geometry) {
+    SpriteSet sprites = sets.get(geometry);
+    if (sprites == null) {
+      sprites = build(geometry);
+      sets.put(geometry, sprites);
+    }
+    return sprites;
+  }
+
+  private static SpriteSet build(Geometry geometry) {
+    int cell = geometry.getCell();
+    Map<Image, BufferedImage> images = cells.get(cell);
+    if (images == null) {
+      images = new ConcurrentHashMap<Image, BufferedImage>();
+      for (String path : Sprites.all()) {
+        if (!path.equals(Sprites.BOARD)) {
+          Image image = Sprites.get(path).getImage();
+          images.put(image, resample(image, cell, cell));
+        }
+      }
+      cells.put(cell, images);
+    }
+    long size = (long) geometry.getBackgroundWidth() << 32 | geometry.getBackgroundHeight();
+    BufferedImage background = backgrounds.get(size);
+    if (background == null) {
+      background = resample(Sprites.get(Sprites.BOARD).getImage(),
+          geometry.getBackgroundWidth(), geometry.getBackgroundHeight());
+      backgrounds.put(size, background);
+    }
+    return new SpriteSet(geometry, images, background);
+  }
+
+  /**
+   * Resample the sprites of a geometry on the background thread. When the
+   * size changes again before it is done, only the newest size is resampled.
+   * @param geometry the geometry.
+   * @param ready gets the sprites, on the background thread.
+   */
+  public static void prepare(Geometry geometry, Consumer<SpriteSet> ready) {
+    wanted.set(geometry);
+    resampler.execute(() -> {
+        if (wanted.get() == geometry) {
+          SpriteSet sprites = of(geometry);
+          if (wanted.get() == geometry) {
+            ready.accept(sprites);
+          }
+        }
+      });
+  }
+
+  /**
+   * Scale an image with high quality. Shrinking more than twice is done in
+   * steps of a half, so every pixel of the image is used.
+   * @param image the image.
+   * @param width the new width.
+   * @param height the new height.
+   * @return the new image.
+   */
+  static BufferedImage resample(Image image, int width, int height) {
+    Image current = image;
+    int currentWidth = Math.max(1, image.getWidth(null));
+    int currentHeight = Math.max(1, image.getHeight(null));
+    do {
+      currentWidth = Math.max(width, currentWidth / 2);
+      currentHeight = Math.max(height, currentHeight / 2);
+      if (currentWidth < width * 2 && currentHeight < height * 2) {
+        currentWidth = width;
+        currentHeight = height;
+      }
+      BufferedImage step = new BufferedImage(currentWidth, currentHeight,
+          BufferedImage.TYPE_INT_ARGB_PRE);
+      Graphics2D graphics = step.createGraphics();
+      graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+          RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+      graphics.setRenderingHint(RenderingHints.KEY_RENDERING,
+          RenderingHints.VALUE_RENDER_QUALITY);
+      graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+      graphics.dispose();
+      current = step;
+    } while (currentWidth != width || currentHeight != height);
+    return (BufferedImage) current;
+  }
+
+  public Geometry getGeometry() {
+    return geometry;
+  }
+
+  public BufferedImage getBackground() {
+    return background;
+  }
+
+  /**
+   * Get an image at the size of a cell.
+   * @param image the image at its own size.
+   * @return the image at the size of a cell.
+   */
+  public BufferedImage get(Image image) {
+    BufferedImage cell = images.get(image);
+    if (cell == null) {
+      //an image that is not one of the sprites, it is resampled once
+      cell = resample(image, geometry.getCell(), geometry.getCell());
+      images.put(image, cell);
+    }
+    return cell;
+  }
+
+  /**
+   * Get an image at a size up to the size of a cell, for the remove animation.
+   * @param image the image at its own size.
+   * @param size the width and height.
+   * @return the image, null if the size is too big to keep.
+   */
+  public BufferedImage get(Image image, int size) {
+    BufferedImage cell = get(image);
+    if (size == geometry.getCell()) {
+      return cell;
+    }
+    return Sprites.scaled(frames, cell, size, size);
+  }
+}
@@ -0,0 +1,137 @@
+package main.java.group37.bejeweled.board;
+
+import main.java.group37.bejeweled.combination.Combination.Type;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.swing.ImageIcon;
+
+/**
+ * Loads every image of the game once and shares it.
+ * An ImageIcon reads its file when it is created, so the images can be loaded on
+ * a background thread while the start screen is shown, instead of on the event
+ * thread when the first board is painted.
+ * Drawing an image at another size scales the whole image on every paint, so
+ * every size an image is drawn at is scaled once and kept. The remove animation
+ * shrinks a tile by a few pixels every frame, with the frames it is a plain copy.
+ * @author group37
+ */
+public final class Sprites {
+
+  public static final String BOARD = "src/img/board.png";
+  public static final String FOCUS = "src/img/focus.png";
+  public static final String FOCUS_HINT = "src/img/focusHint.png";
+
+  //frames wider than this are scaled on every paint
+  static final int MAX_FRAME = 512;
+
+  private static final ConcurrentMap<String, ImageIcon> icons =
+      new ConcurrentHashMap<String, ImageIcon>();
+  private static final ConcurrentMap<Image, AtomicReferenceArray<BufferedImage>> frames =
+      new ConcurrentHashMap<Image, AtomicReferenceArray<BufferedImage>>();
+
+  private Sprites() {}
+
+  /**
+   * Get the image of a file, it is loaded the first time.
+   * @param path the file.
+   * @return the image.
+   */
+  public static ImageIcon get(String path) {
+    ImageIcon icon = icons.get(path);
+    if (icon == null) {
+      icon = new ImageIcon(path);
+      ImageIcon other = icons.putIfAbsent(path, icon);
+      if (other != null) {
+        icon = other;
+      }
+    }
+    return icon;
+  }
+
+  /**
+   * Get an image scaled to a size, it is scaled the first time. Only the images
+   * of the files are kept this way, they are loaded once and live as long as the game.
+   * @param image the image.
+   * @param width the width.
+   * @param height the height.
+   * @return the scaled image, null if the size is too small or too big to keep.
+   */
+  public static BufferedImage scaled(Image image, int width, int height) {
+    return scaled(frames, image, width, height);
+  }
+
+  /**
+   * Get an image scaled to a size, the scaled images are kept in frames.
+   * @param frames the scaled images per image and width.
+   * @param image the image.
+   * @param width the width.
+   * @param height the height.
+   * @return the scaled image, null if the size is too small or too big to keep.
+   */
+  static BufferedImage scaled(ConcurrentMap<Image, AtomicReferenceArray<BufferedImage>> frames,
+      Image image, int width, int height) {
+    if (width < 1 || height < 1 || width > MAX_FRAME) {
+      return null;
+    }
+    AtomicReferenceArray<BufferedImage> sizes = frames.get(image);
+    if (sizes == null) {
+      sizes = new AtomicReferenceArray<BufferedImage>(MAX_FRAME + 1);
+      AtomicReferenceArray<BufferedImage> other = frames.putIfAbsent(image, sizes);
+      if (other != null) {
+        sizes = other;
+      }
+    }
+    BufferedImage frame = sizes.get(width);
+    if (frame == null || frame.getHeight() != height) {
+      frame = scale(image, width, height);
+      sizes.set(width, frame);
+    }
+    return frame;
+  }
+
+  private static BufferedImage scale(Image image, int width, int height) {
+    BufferedImage frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+    Graphics2D graphics = frame.createGraphics();
+    graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+        RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+    graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+    graphics.drawImage(image, 0, 0, width, height, null);
+    graphics.dispose();
+    return frame;
+  }
+
+  /**
+   * Get the files of all images of the game.
+   * @return the files.
+   */
+  public static List<String> all() {
+    List<String> paths = new ArrayList<String>(Arrays.asList(BOARD, FOCUS, FOCUS_HINT));
+    for (Type type : Type.values()) {
+      Tile tile = TileFactory.generateTile(type, 0, 0);
+      if (tile != null) {
+        paths.addAll(Arrays.asList(tile.paths));
+      }
+    }
+    return paths;
+  }
+
+  /**
+   * Load all images of the game, and resample them for the default window size.
+   */
+  public static void loadAll() {
+    for (String path : all()) {
+      get(path);
+    }
+    SpriteSet.of(Geometry.DESIGN);
+  }
+}
@@ -1,6 +1,5 @@
 package main.java.group37.bejeweled.board;
 
-import javax.swing.ImageIcon;
 /**
  * Class StarTile, object for a Star gem on the board.
  * @author group37
@@ -50,7 +49,7 @@ public class StarTile extends Tile {
   public Tile clone(int coordinateX, int coordinateY) {
     Tile tile = new StarTile(coordinateX,coordinateY);
     tile.setIndex(this.index);
-    tile.setImage(new ImageIcon(paths[index]));
+    tile.setImage(this.image);
     tile.setNextType(this.nextType);
     tile.delete = this.delete;
     return tile;
@@ -4,6 +4,7 @@ import main.java.group37.bejeweled.combination.Combination.Type;
 import main.java.group37.bejeweled.model.Game;
 
 import java.awt.Graphics;
+import java.awt.Image;
 import java.awt.Point;
 
 import javax.swing.ImageIcon;
@@ -62,12 +63,17 @@ public abstract class Tile implements IDrawable {
     if (this.remove) {
       return;
     }
-    graphics.drawImage(this.getImage().getImage(),
-             positionX + this.translation.x ,
-             positionY + this.translation.y ,
-             spaceX - this.size,
-             spaceY - this.size,
-             null); 
+    Image image = this.getImage().getImage();
+    int width = spaceX - this.size;
+    int height = spaceY - this.size;
+    Image frame = Sprites.scaled(image, width, height);
+    if (frame != null) {
+      graphics.drawImage(frame, positionX + this.translation.x, positionY + this.translation.y,
+          null);
+    } else if (width > 0 && height > 0) {
+      graphics.drawImage(image, positionX + this.translation.x, positionY + this.translation.y,
+          width, height, null);
+    }
   }
 
   //logic for tiles used in other classes
@@ -99,7 +105,34 @@ public abstract class Tile implements IDrawable {
    * Reset the translation.
    */
   public void resetD() {
-    this.translation = new Point(0,0);
+    this.translation.setLocation(0,0);
+  }
+
+  /**
+   * Move the tile to another cell of the board.
+   * The tile is left in the same state as a clone made at that cell.
+   * @param coordinateX col index.
+   * @param coordinateY row index.
+   */
+  public void moveTo(int coordinateX, int coordinateY) {
+    setLoc(coordinateX, coordinateY);
+    resetD();
+    this.size = 0;
+    this.level = 0;
+    this.remove = false;
+    this.detonate = false;
+  }
+
+  /**
+   * Reset the tile so it can be reused as a new tile.
+   * @param coordinateX col index.
+   * @param coordinateY row index.
+   */
+  public void reset(int coordinateX, int coordinateY) {
+    moveTo(coordinateX, coordinateY);
+    this.delete = false;
+    this.nextType = Type.NORMAL;
+    this.image = null;
   }
   
   /**
@@ -112,10 +145,13 @@ public abstract class Tile implements IDrawable {
   //getters and setters for the attributes of tiles
   
   /**
-   * gets the image of the tile.
+   * gets the image of the tile, the image is loaded when it is first needed.
    * @return the Image image.
    */
   public ImageIcon getImage() {
+    if (image == null) {
+      image = Sprites.get(paths[index]);
+    }
     return image;
   }
   
@@ -171,7 +207,7 @@ public abstract class Tile implements IDrawable {
    * set the location of a tile, with coordinates.
    */
   public void setLoc(int coordinateX, int coordinateY) {
-    this.loc = new Point(coordinateX,coordinateY);
+    this.loc.setLocation(coordinateX,coordinateY);
   }
 
   /**
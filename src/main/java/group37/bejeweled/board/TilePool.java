@@ -0,0 +1,82 @@
+package main.java.group37.bejeweled.board;
+
+import main.java.group37.bejeweled.combination.Combination.Type;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Keeps tiles that were removed from the board, so refilling the board
+ * can reuse them instead of creating new tiles.
+ * A pool belongs to one game and is not thread safe.
+ * @author group37
+ */
+public class TilePool {
+
+  private static final int MAX_PER_TYPE = 64;
+
+  private final Map<Type, ArrayDeque<Tile>> free =
+      new EnumMap<Type, ArrayDeque<Tile>>(Type.class);
+
+  /**
+   * Create an empty pool.
+   */
+  public TilePool() {
+    for (Type type : Type.values()) {
+      free.put(type, new ArrayDeque<Tile>());
+    }
+  }
+
+  /**
+   * Get a tile of the given type, a recycled tile is reset first.
+   * @param type the type of the tile.
+   * @param xi column of the tile.
+   * @param yi row of the tile.
+   * @return the tile.
+   */
+  public Tile obtain(Type type, int xi, int yi) {
+    Tile tile = free.get(type).poll();
+    if (tile == null) {
+      return TileFactory.generateTile(type, xi, yi);
+    }
+    tile.reset(xi, yi);
+    return tile;
+  }
+
+  /**
+   * Give a tile back to the pool, it must not be on the board anymore.
+   * @param tile the tile.
+   */
+  public void recycle(Tile tile) {
+    ArrayDeque<Tile> tiles = free.get(typeOf(tile));
+    if (tiles.size() < MAX_PER_TYPE) {
+      tiles.push(tile);
+    }
+  }
+
+  /**
+   * Get the number of tiles of a type that are ready to be reused.
+   * @param type type of the tiles.
+   * @return the number of tiles.
+   */
+  public int available(Type type) {
+    return free.get(type).size();
+  }
+
+  /**
+   * Get the type of a tile.
+   * @param tile the tile.
+   * @return the type.
+   */
+  public static Type typeOf(Tile tile) {
+    if (tile instanceof FlameTile) {
+      return Type.FLAME;
+    } else if (tile instanceof StarTile) {
+      return Type.STAR;
+    } else if (tile instanceof HypercubeTile) {
+      return Type.HYPERCUBE;
+    }
+    return Type.NORMAL;
+  }
+}
@@ -0,0 +1,55 @@
+package main.java.group37.bejeweled.combination;
+
+import main.java.group37.bejeweled.combination.Combination.Type;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reuses combination objects between searches for combinations.
+ * All combinations handed out are reused after {@link #releaseAll()},
+ * so they are only valid until the next search.
+ * @author group37
+ */
+public class CombinationPool {
+
+  private final List<List<Combination>> combinations = new ArrayList<List<Combination>>();
+  private final int[] used = new int[Type.values().length];
+
+  /**
+   * Create an empty pool.
+   */
+  public CombinationPool() {
+    for (int i = 0; i < Type.values().length; i++) {
+      combinations.add(new ArrayList<Combination>());
+    }
+  }
+
+  /**
+   * Get an empty combination of the given type.
+   * @param type the type of the combination.
+   * @return the combination without tiles.
+   */
+  public Combination obtain(Type type) {
+    List<Combination> list = combinations.get(type.ordinal());
+    Combination combination;
+    if (used[type.ordinal()] < list.size()) {
+      combination = list.get(used[type.ordinal()]);
+      combination.getTiles().clear();
+    } else {
+      combination = CombinationFactory.makeCombination(type);
+      list.add(combination);
+    }
+    used[type.ordinal()]++;
+    return combination;
+  }
+
+  /**
+   * Mark all combinations as free to be reused.
+   */
+  public void releaseAll() {
+    for (int i = 0; i < used.length; i++) {
+      used[i] = 0;
+    }
+  }
+}
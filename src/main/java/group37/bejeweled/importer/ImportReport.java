@@ -0,0 +1,79 @@
+package main.java.group37.bejeweled.importer;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Results of a bulk import and the throughput of the import.
+ * @author group37
+ */
+public class ImportReport {
+
+  private final int imported;
+  private final List<String> rejects;
+  private final long bytes;
+  private final long elapsedNanos;
+
+  /**
+   * Create a report.
+   * @param imported number of saves in the table.
+   * @param rejects the files that were not imported, each with the reason.
+   * @param bytes number of bytes read.
+   * @param elapsedNanos wall clock time the import took.
+   */
+  public ImportReport(int imported, List<String> rejects, long bytes, long elapsedNanos) {
+    this.imported = imported;
+    this.rejects = Collections.unmodifiableList(rejects);
+    this.bytes = bytes;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  public int getImported() {
+    return imported;
+  }
+
+  /**
+   * Get the files that were not imported.
+   * @return lines with the path of the file, a tab and the reason.
+   */
+  public List<String> getRejects() {
+    return rejects;
+  }
+
+  public long getBytes() {
+    return bytes;
+  }
+
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Throughput of the import.
+   * @return files read per second.
+   */
+  public double getFilesPerSecond() {
+    if (elapsedNanos <= 0) {
+      return 0;
+    }
+    return (imported + rejects.size()) * 1e9 / elapsedNanos;
+  }
+
+  /**
+   * Throughput of the import.
+   * @return megabytes read per second.
+   */
+  public double getMegabytesPerSecond() {
+    if (elapsedNanos <= 0) {
+      return 0;
+    }
+    return bytes * 1e9 / elapsedNanos / (1 << 20);
+  }
+
+  @Override
+  public String toString() {
+    return "Imported " + imported + " saves (" + rejects.size() + " rejected) in "
+        + (elapsedNanos / 1000000) + " ms, " + String.format("%.1f", getFilesPerSecond())
+        + " files/s, " + String.format("%.1f", getMegabytesPerSecond()) + " MB/s";
+  }
+}
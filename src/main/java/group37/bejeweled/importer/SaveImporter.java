@@ -0,0 +1,250 @@
+package main.java.group37.bejeweled.importer;
+
+import main.java.group37.bejeweled.model.SaveCodec;
+import main.java.group37.bejeweled.model.SaveState;
+import main.java.group37.bejeweled.model.SavedGame;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Imports a directory tree of save files into one {@link SaveTable}.
+ * Every directory is listed by its own fork/join task and its save files are
+ * split in batches that are read and parsed in parallel, so many files are read
+ * at the same time. Files that can't be read or are not valid saves go to the
+ * reject list with the reason.
+ * @author group37
+ */
+public class SaveImporter {
+
+  static final int BATCH = 256;
+  private static final int MAX_CODE = 36;
+  private static final int COLORS = 7;
+
+  private final int threads;
+
+  /**
+   * Create an importer with two workers per available processor, reading a
+   * file blocks so more workers than processors keep the disk busy.
+   */
+  public SaveImporter() {
+    this(Runtime.getRuntime().availableProcessors() * 2);
+  }
+
+  /**
+   * Create an importer.
+   * @param threads number of worker threads.
+   */
+  public SaveImporter(int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("threads must be at least 1");
+    }
+    this.threads = threads;
+  }
+
+  /**
+   * Check that a save can be loaded by the game.
+   * @param state the save.
+   * @return the reason the save is not valid, null if it is valid.
+   */
+  public static String validate(SaveState state) {
+    if (!state.hasBoard()) {
+      return "no board";
+    }
+    if (state.getScore() < 0) {
+      return "negative score " + state.getScore();
+    }
+    if (state.getLevel() < 1 || state.getLevel() > state.getScore() / 1000 + 1) {
+      return "level " + state.getLevel() + " doesn't match score " + state.getScore();
+    }
+    for (int row = 0; row < SavedGame.SIZE; row++) {
+      for (int col = 0; col < SavedGame.SIZE; col++) {
+        int code = state.getCode(col, row);
+        if (code < 0 || code > MAX_CODE || code % 10 >= COLORS) {
+          return "tile code " + code + " at " + col + "," + row;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Import all save files under a directory.
+   * @param root the directory.
+   * @param output the file the table is written to.
+   * @return report with the number of saves, the rejects and the throughput.
+   * @throws IOException when the table can't be written.
+   */
+  public ImportReport importAll(Path root, Path output) throws IOException {
+    long start = System.nanoTime();
+    Run run = new Run(root);
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      pool.invoke(new DirectoryTask(run, root));
+    } finally {
+      pool.shutdown();
+    }
+    List<Batch> batches = new ArrayList<Batch>(run.batches);
+    Collections.sort(batches, BATCH_ORDER);
+    List<SaveTable> tables = new ArrayList<SaveTable>(batches.size());
+    for (Batch batch : batches) {
+      tables.add(batch.table);
+    }
+    SaveTable table = SaveTable.concat(tables);
+    table.write(output);
+    List<String> rejects = new ArrayList<String>(run.rejects);
+    Collections.sort(rejects);
+    return new ImportReport(table.getRows(), rejects, run.bytes.sum(),
+        System.nanoTime() - start);
+  }
+
+  /**
+   * Everything the tasks of one import share.
+   */
+  private static class Run {
+    private final Path root;
+    private final Queue<Batch> batches = new ConcurrentLinkedQueue<Batch>();
+    private final Queue<String> rejects = new ConcurrentLinkedQueue<String>();
+    private final LongAdder bytes = new LongAdder();
+
+    Run(Path root) {
+      this.root = root;
+    }
+
+    void reject(Path file, String reason) {
+      rejects.add(root.relativize(file) + "\t" + reason);
+    }
+  }
+
+  /**
+   * The saves of a batch of files of one directory.
+   */
+  private static class Batch {
+    private final String directory;
+    private final int index;
+    private final SaveTable table;
+
+    Batch(String directory, int index, int size) {
+      this.directory = directory;
+      this.index = index;
+      this.table = new SaveTable(size);
+    }
+  }
+
+  private static final Comparator<Batch> BATCH_ORDER = (a, b) -> {
+    int order = a.directory.compareTo(b.directory);
+    return order != 0 ? order : Integer.compare(a.index, b.index);
+  };
+
+  /**
+   * Lists a directory and imports its files and subdirectories in parallel.
+   */
+  private static class DirectoryTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final transient Run run;
+    private final transient Path directory;
+
+    DirectoryTask(Run run, Path directory) {
+      this.run = run;
+      this.directory = directory;
+    }
+
+    @Override
+    protected void compute() {
+      List<Path> files = new ArrayList<Path>();
+      List<RecursiveAction> tasks = new ArrayList<RecursiveAction>();
+      try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+        for (Path entry : entries) {
+          if (Files.isDirectory(entry)) {
+            tasks.add(new DirectoryTask(run, entry));
+          } else if (entry.getFileName().toString().endsWith(".json")) {
+            files.add(entry);
+          }
+        }
+      } catch (IOException e) {
+        run.reject(directory, "can't list directory: " + e.getMessage());
+        return;
+      }
+      Collections.sort(files);
+      for (int from = 0; from < files.size(); from += BATCH) {
+        List<Path> batch = files.subList(from, Math.min(from + BATCH, files.size()));
+        tasks.add(new FileTask(run, new Batch(directory.toString(), from / BATCH,
+            batch.size()), batch));
+      }
+      invokeAll(tasks);
+    }
+  }
+
+  /**
+   * Reads, parses and checks a batch of save files.
+   */
+  private static class FileTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final transient Run run;
+    private final transient Batch batch;
+    private final transient List<Path> files;
+
+    FileTask(Run run, Batch batch, List<Path> files) {
+      this.run = run;
+      this.batch = batch;
+      this.files = files;
+    }
+
+    @Override
+    protected void compute() {
+      for (Path file : files) {
+        try {
+          byte[] bytes = Files.readAllBytes(file);
+          run.bytes.add(bytes.length);
+          SaveState state = SaveCodec.read(
+              new StringReader(new String(bytes, StandardCharsets.UTF_8)));
+          String reason = validate(state);
+          if (reason == null) {
+            batch.table.add(run.root.relativize(file).toString(), state);
+          } else {
+            run.reject(file, reason);
+          }
+        } catch (IOException e) {
+          run.reject(file, e.getMessage());
+        } catch (RuntimeException e) {
+          //one broken save must not stop the import of the others
+          run.reject(file, e.toString());
+        }
+      }
+      run.batches.add(batch);
+    }
+  }
+
+  /**
+   * Import a directory of saves from the command line.
+   * @param args the directory, the table file and optionally the number of threads.
+   * @throws IOException when the table or the reject list can't be written.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Usage: SaveImporter <directory> <table> [threads]");
+      return;
+    }
+    SaveImporter importer = args.length > 2 ? new SaveImporter(Integer.parseInt(args[2]))
+        : new SaveImporter();
+    Path output = Paths.get(args[1]);
+    ImportReport report = importer.importAll(Paths.get(args[0]), output);
+    Files.write(output.resolveSibling(output.getFileName() + ".rejects"),
+        report.getRejects(), StandardCharsets.UTF_8);
+    System.out.println(report);
+  }
+}
@@ -0,0 +1,188 @@
+package main.java.group37.bejeweled.importer;
+
+import main.java.group37.bejeweled.model.SaveState;
+import main.java.group37.bejeweled.model.SavedGame;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Saves stored by column. Every column is one array, so a query over the scores
+ * only reads the scores. On disk the file has a header, then all scores, all
+ * levels, the codes of every cell of the board as one column each, and the
+ * paths of the imported files.
+ * @author group37
+ */
+public class SaveTable {
+
+  private static final int MAGIC = 0x424a5354;
+  private static final int VERSION = 1;
+  public static final int CELLS = SavedGame.SIZE * SavedGame.SIZE;
+
+  private int rows;
+  private int[] scores;
+  private int[] levels;
+  private byte[][] cells;
+  private String[] paths;
+
+  /**
+   * Create an empty table.
+   * @param capacity number of rows before the columns have to grow.
+   */
+  public SaveTable(int capacity) {
+    capacity = Math.max(capacity, 1);
+    scores = new int[capacity];
+    levels = new int[capacity];
+    cells = new byte[CELLS][capacity];
+    paths = new String[capacity];
+  }
+
+  /**
+   * Add a save to the table.
+   * @param path the file the save came from.
+   * @param state the save, it must have a board.
+   */
+  public void add(String path, SaveState state) {
+    if (rows == scores.length) {
+      grow(rows * 2);
+    }
+    scores[rows] = state.getScore();
+    levels[rows] = state.getLevel();
+    for (int row = 0; row < SavedGame.SIZE; row++) {
+      for (int col = 0; col < SavedGame.SIZE; col++) {
+        cells[row * SavedGame.SIZE + col][rows] = (byte) state.getCode(col, row);
+      }
+    }
+    paths[rows] = path;
+    rows++;
+  }
+
+  /**
+   * Add all rows of other tables.
+   * @param tables the tables.
+   * @return a table with the rows of all tables in order.
+   */
+  public static SaveTable concat(List<SaveTable> tables) {
+    int total = 0;
+    for (SaveTable table : tables) {
+      total += table.rows;
+    }
+    SaveTable all = new SaveTable(total);
+    for (SaveTable table : tables) {
+      System.arraycopy(table.scores, 0, all.scores, all.rows, table.rows);
+      System.arraycopy(table.levels, 0, all.levels, all.rows, table.rows);
+      for (int cell = 0; cell < CELLS; cell++) {
+        System.arraycopy(table.cells[cell], 0, all.cells[cell], all.rows, table.rows);
+      }
+      System.arraycopy(table.paths, 0, all.paths, all.rows, table.rows);
+      all.rows += table.rows;
+    }
+    return all;
+  }
+
+  private void grow(int capacity) {
+    scores = Arrays.copyOf(scores, capacity);
+    levels = Arrays.copyOf(levels, capacity);
+    for (int cell = 0; cell < CELLS; cell++) {
+      cells[cell] = Arrays.copyOf(cells[cell], capacity);
+    }
+    paths = Arrays.copyOf(paths, capacity);
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  public int getScore(int row) {
+    return scores[row];
+  }
+
+  public int getLevel(int row) {
+    return levels[row];
+  }
+
+  public String getPath(int row) {
+    return paths[row];
+  }
+
+  /**
+   * Get the code of a tile of a save.
+   * @param row the row of the save in the table.
+   * @param col the column of the tile on the board.
+   * @param boardRow the row of the tile on the board.
+   * @return the code.
+   */
+  public int getCode(int row, int col, int boardRow) {
+    return cells[boardRow * SavedGame.SIZE + col][row];
+  }
+
+  /**
+   * Write the table to a file.
+   * @param path the file.
+   * @throws IOException when writing fails.
+   */
+  public void write(Path path) throws IOException {
+    try (OutputStream file = Files.newOutputStream(path);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(rows);
+      out.writeInt(CELLS);
+      for (int i = 0; i < rows; i++) {
+        out.writeInt(scores[i]);
+      }
+      for (int i = 0; i < rows; i++) {
+        out.writeInt(levels[i]);
+      }
+      for (int cell = 0; cell < CELLS; cell++) {
+        out.write(cells[cell], 0, rows);
+      }
+      for (int i = 0; i < rows; i++) {
+        out.writeUTF(paths[i]);
+      }
+    }
+  }
+
+  /**
+   * Read a table from a file.
+   * @param path the file.
+   * @return the table.
+   * @throws IOException when the file can't be read or is not a table.
+   */
+  public static SaveTable read(Path path) throws IOException {
+    try (InputStream file = Files.newInputStream(path);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(file, 1 << 16))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        throw new IOException(path + " is not a save table");
+      }
+      int rows = in.readInt();
+      if (in.readInt() != CELLS) {
+        throw new IOException(path + " has boards of another size");
+      }
+      SaveTable table = new SaveTable(rows);
+      for (int i = 0; i < rows; i++) {
+        table.scores[i] = in.readInt();
+      }
+      for (int i = 0; i < rows; i++) {
+        table.levels[i] = in.readInt();
+      }
+      for (int cell = 0; cell < CELLS; cell++) {
+        in.readFully(table.cells[cell], 0, rows);
+      }
+      for (int i = 0; i < rows; i++) {
+        table.paths[i] = in.readUTF();
+      }
+      table.rows = rows;
+      return table;
+    }
+  }
+}
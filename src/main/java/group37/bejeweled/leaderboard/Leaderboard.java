@@ -0,0 +1,148 @@
+package main.java.group37.bejeweled.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The best score of every player of one game mode.
+ * The best entries are kept in a skip list sorted by score, and counted per score
+ * in a {@link ScoreIndex}. A rank is one more than the count of the higher
+ * scores, so it takes O(log n) and players with the same score share a rank.
+ * The list of the best entries puts the score that was reached first in front.
+ * Submitting a score doesn't lock, a submission that loses a race with another
+ * submission of the same player retries.
+ * @author group37
+ */
+public class Leaderboard {
+
+  private final ConcurrentMap<String, LeaderboardEntry> best =
+      new ConcurrentHashMap<String, LeaderboardEntry>();
+  private final NavigableSet<LeaderboardEntry> ranking =
+      new ConcurrentSkipListSet<LeaderboardEntry>();
+  private final ScoreIndex index = new ScoreIndex();
+  private final AtomicLong sequence = new AtomicLong();
+  private final AtomicLong changes = new AtomicLong();
+
+  /**
+   * Submit the score of a finished game.
+   * @param player name of the player.
+   * @param score the score.
+   * @return true iff it is the new best score of the player.
+   */
+  public boolean submit(String player, int score) {
+    return submit(player, score, System.currentTimeMillis());
+  }
+
+  /**
+   * Submit a score that was reached at a given time.
+   * @param player name of the player.
+   * @param score the score.
+   * @param time when the score was reached, in milliseconds since the epoch.
+   * @return true iff it is the new best score of the player.
+   */
+  public boolean submit(String player, int score, long time) {
+    LeaderboardEntry entry = new LeaderboardEntry(player, score, time,
+        sequence.incrementAndGet());
+    while (true) {
+      LeaderboardEntry current = best.get(player);
+      if (current != null && current.getScore() >= score) {
+        return false;
+      }
+      boolean won = current == null ? best.putIfAbsent(player, entry) == null
+          : best.replace(player, current, entry);
+      if (won) {
+        ranking.add(entry);
+        index.add(score, 1);
+        if (current != null) {
+          ranking.remove(current);
+          index.add(current.getScore(), -1);
+        }
+        if (best.get(player) != entry) {
+          //a newer score replaced this one and may have removed it before it was added
+          ranking.remove(entry);
+        }
+        changes.incrementAndGet();
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Get the best score of a player.
+   * @param player name of the player.
+   * @return the score, -1 if the player has no score.
+   */
+  public int getBest(String player) {
+    LeaderboardEntry entry = best.get(player);
+    return entry == null ? -1 : entry.getScore();
+  }
+
+  /**
+   * Get the rank of a player, the player with the highest score has rank 1.
+   * Players with the same score have the same rank, the next score skips their places.
+   * @param player name of the player.
+   * @return the rank, 0 if the player has no score.
+   */
+  public long getRank(String player) {
+    LeaderboardEntry entry = best.get(player);
+    if (entry == null) {
+      return 0;
+    }
+    return index.countAbove(entry.getScore()) + 1;
+  }
+
+  /**
+   * Get the best entries.
+   * @param count the maximum number of entries.
+   * @return the entries from the highest score down.
+   */
+  public List<LeaderboardEntry> top(int count) {
+    List<LeaderboardEntry> top = new ArrayList<LeaderboardEntry>(count);
+    Iterator<LeaderboardEntry> entries = ranking.iterator();
+    while (top.size() < count && entries.hasNext()) {
+      top.add(entries.next());
+    }
+    return top;
+  }
+
+  /**
+   * Get the number of players with a score.
+   * @return the number of players.
+   */
+  public int size() {
+    return best.size();
+  }
+
+  /**
+   * Get the best entry of every player.
+   * @return the entries from the highest score down.
+   */
+  public Collection<LeaderboardEntry> entries() {
+    return ranking;
+  }
+
+  /**
+   * Get the number of new best scores so far, to see if the leaderboard changed.
+   * @return the number of changes.
+   */
+  public long getChanges() {
+    return changes.get();
+  }
+
+  /**
+   * Forget all scores.
+   */
+  public void clear() {
+    best.clear();
+    ranking.clear();
+    index.clear();
+    changes.incrementAndGet();
+  }
+}
@@ -0,0 +1,67 @@
+package main.java.group37.bejeweled.leaderboard;
+
+/**
+ * The best score of a player.
+ * Entries are ordered from the highest score to the lowest, a player that
+ * reached the same score earlier comes first.
+ * @author group37
+ */
+public class LeaderboardEntry implements Comparable<LeaderboardEntry> {
+
+  private final String player;
+  private final int score;
+  private final long time;
+  private final long sequence;
+
+  /**
+   * Create an entry.
+   * @param player name of the player.
+   * @param score the score.
+   * @param time when the score was reached, in milliseconds since the epoch.
+   * @param sequence number that makes the entry unique.
+   */
+  LeaderboardEntry(String player, int score, long time, long sequence) {
+    this.player = player;
+    this.score = score;
+    this.time = time;
+    this.sequence = sequence;
+  }
+
+  public String getPlayer() {
+    return player;
+  }
+
+  public int getScore() {
+    return score;
+  }
+
+  public long getTime() {
+    return time;
+  }
+
+  @Override
+  public int compareTo(LeaderboardEntry that) {
+    if (score != that.score) {
+      return score > that.score ? -1 : 1;
+    }
+    if (time != that.time) {
+      return time < that.time ? -1 : 1;
+    }
+    return Long.compare(sequence, that.sequence);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return obj instanceof LeaderboardEntry && compareTo((LeaderboardEntry) obj) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(sequence);
+  }
+
+  @Override
+  public String toString() {
+    return player + ": " + score;
+  }
+}
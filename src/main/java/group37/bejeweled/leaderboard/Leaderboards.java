@@ -0,0 +1,215 @@
+package main.java.group37.bejeweled.leaderboard;
+
+import main.java.group37.bejeweled.model.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The leaderboards of all game modes, with snapshots to a local file.
+ * A snapshot is written to a temporary file first and then renamed, so a
+ * crash while writing never damages the last snapshot. No snapshot is written
+ * before the old snapshot was loaded, so it can't replace the stored scores.
+ * @author group37
+ */
+public final class Leaderboards {
+
+  private static final int MAGIC = 0x424a4c42;
+  private static final int VERSION = 1;
+
+  /**
+   * enum Mode tells which kind of game the score was reached in.
+   */
+  public enum Mode {
+    NORMAL, TIME;
+  }
+
+  private static Leaderboards instance = new Leaderboards();
+
+  private final Map<Mode, Leaderboard> boards = new EnumMap<Mode, Leaderboard>(Mode.class);
+  private ScheduledExecutorService snapshots;
+  private long savedChanges = -1;
+  private boolean loaded;
+
+  /**
+   * Create empty leaderboards, the game uses the shared instance from {@link #get()}.
+   */
+  public Leaderboards() {
+    for (Mode mode : Mode.values()) {
+      boards.put(mode, new Leaderboard());
+    }
+  }
+
+  public static Leaderboards get() {
+    return instance;
+  }
+
+  /**
+   * Get the leaderboard of a mode.
+   * @param mode the mode.
+   * @return the leaderboard.
+   */
+  public Leaderboard get(Mode mode) {
+    return boards.get(mode);
+  }
+
+  /**
+   * Submit the score of a finished game.
+   * @param mode the mode of the game.
+   * @param player name of the player.
+   * @param score the score.
+   * @return true iff it is the new best score of the player in this mode.
+   */
+  public boolean submit(Mode mode, String player, int score) {
+    return boards.get(mode).submit(player, score);
+  }
+
+  private long changes() {
+    long changes = 0;
+    for (Leaderboard board : boards.values()) {
+      changes += board.getChanges();
+    }
+    return changes;
+  }
+
+  /**
+   * Write all leaderboards to a file.
+   * @param path the file.
+   * @throws IOException when writing fails, the old file is kept.
+   */
+  public synchronized void save(Path path) throws IOException {
+    long changes = changes();
+    Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+    try (FileOutputStream file = new FileOutputStream(temp.toFile());
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      for (Mode mode : Mode.values()) {
+        Collection<LeaderboardEntry> entries = boards.get(mode).entries();
+        Object[] snapshot = entries.toArray();
+        out.writeUTF(mode.name());
+        out.writeInt(snapshot.length);
+        for (Object object : snapshot) {
+          LeaderboardEntry entry = (LeaderboardEntry) object;
+          out.writeUTF(entry.getPlayer());
+          out.writeInt(entry.getScore());
+          out.writeLong(entry.getTime());
+        }
+      }
+      out.flush();
+      file.getFD().sync();
+    }
+    try {
+      Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+    savedChanges = changes;
+  }
+
+  /**
+   * Add the scores of a snapshot to the leaderboards. Snapshots are written
+   * once this is done, also when it failed.
+   * @param path the file.
+   * @return the number of entries read, 0 if the file doesn't exist.
+   * @throws IOException when the file can't be read or is not a snapshot.
+   */
+  public synchronized int load(Path path) throws IOException {
+    //scores submitted before the load are not in the file yet
+    boolean unsaved = changes() > 0;
+    try {
+      return read(path);
+    } finally {
+      loaded = true;
+      savedChanges = unsaved ? -1 : changes();
+    }
+  }
+
+  private int read(Path path) throws IOException {
+    if (!Files.exists(path)) {
+      return 0;
+    }
+    int read = 0;
+    try (InputStream file = Files.newInputStream(path);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(file, 1 << 16))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        throw new IOException(path + " is not a leaderboard snapshot");
+      }
+      for (int m = 0; m < Mode.values().length; m++) {
+        Leaderboard board = boards.get(mode(in.readUTF()));
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+          board.submit(in.readUTF(), in.readInt(), in.readLong());
+        }
+        read += count;
+      }
+    }
+    return read;
+  }
+
+  private static Mode mode(String name) throws IOException {
+    for (Mode mode : Mode.values()) {
+      if (mode.name().equals(name)) {
+        return mode;
+      }
+    }
+    throw new IOException("Unknown game mode " + name);
+  }
+
+  /**
+   * Write a snapshot periodically, only when a score was added since the last one.
+   * @param path the file.
+   * @param period time between two snapshots.
+   * @param unit unit of the period.
+   */
+  public synchronized void startSnapshots(Path path, long period, TimeUnit unit) {
+    stopSnapshots();
+    snapshots = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "leaderboard-snapshots");
+      thread.setDaemon(true);
+      return thread;
+    });
+    snapshots.scheduleAtFixedRate(() -> snapshot(path), period, period, unit);
+  }
+
+  /**
+   * Write a snapshot if a score was added since the last one and the old
+   * snapshot was loaded.
+   * @param path the file.
+   */
+  public synchronized void snapshot(Path path) {
+    if (!loaded || changes() == savedChanges) {
+      return;
+    }
+    try {
+      save(path);
+    } catch (IOException e) {
+      Logger.error("Saving the leaderboards failed: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Stop writing snapshots.
+   */
+  public synchronized void stopSnapshots() {
+    if (snapshots != null) {
+      snapshots.shutdownNow();
+      snapshots = null;
+    }
+  }
+}
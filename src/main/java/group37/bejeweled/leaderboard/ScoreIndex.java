@@ -0,0 +1,94 @@
+package main.java.group37.bejeweled.leaderboard;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Counts the scores in two levels of Fenwick trees, so the number of scores
+ * above a score is found in O(log n) for every score an int can hold. The first
+ * level counts the scores per block of 65536 points, the second level counts the
+ * single scores of one block and is only made for blocks that have scores.
+ * The counters are atomic, updates from different threads don't need a lock.
+ * @author group37
+ */
+class ScoreIndex {
+
+  private static final int BITS = 16;
+  private static final int SIZE = 1 << BITS;
+  private static final int LOW_MASK = SIZE - 1;
+
+  //tree[i] counts the positions (i - lowbit(i), i], higher values have lower positions
+  private final AtomicLongArray blocks = new AtomicLongArray(SIZE + 1);
+  private final AtomicReferenceArray<AtomicLongArray> scores =
+      new AtomicReferenceArray<AtomicLongArray>(SIZE);
+
+  /**
+   * Get the position of a value in a tree, the highest value is at 1.
+   * @param value the value, 0 up to 65535.
+   * @return the position.
+   */
+  private static int position(int value) {
+    return SIZE - value;
+  }
+
+  private static void add(AtomicLongArray tree, int value, long delta) {
+    for (int i = position(value); i <= SIZE; i += i & -i) {
+      tree.addAndGet(i, delta);
+    }
+  }
+
+  private static long countAbove(AtomicLongArray tree, int value) {
+    long count = 0;
+    for (int i = position(value) - 1; i > 0; i -= i & -i) {
+      count += tree.get(i);
+    }
+    return count;
+  }
+
+  private AtomicLongArray block(int block) {
+    AtomicLongArray tree = scores.get(block);
+    if (tree == null) {
+      scores.compareAndSet(block, null, new AtomicLongArray(SIZE + 1));
+      tree = scores.get(block);
+    }
+    return tree;
+  }
+
+  /**
+   * Count a score once more or once less.
+   * @param score the score.
+   * @param delta 1 to add the score, -1 to remove it.
+   */
+  void add(int score, long delta) {
+    int value = Math.max(score, 0);
+    add(blocks, value >>> BITS, delta);
+    add(block(value >>> BITS), value & LOW_MASK, delta);
+  }
+
+  /**
+   * Count the scores that are higher than score.
+   * @param score the score.
+   * @return the number of scores.
+   */
+  long countAbove(int score) {
+    int value = Math.max(score, 0);
+    long count = countAbove(blocks, value >>> BITS);
+    AtomicLongArray tree = scores.get(value >>> BITS);
+    if (tree != null) {
+      count += countAbove(tree, value & LOW_MASK);
+    }
+    return count;
+  }
+
+  /**
+   * Forget all scores.
+   */
+  void clear() {
+    for (int i = 0; i < blocks.length(); i++) {
+      blocks.set(i, 0);
+    }
+    for (int i = 0; i < scores.length(); i++) {
+      scores.set(i, null);
+    }
+  }
+}
@@ -0,0 +1,306 @@
+package main.java.group37.bejeweled.metrics;
+
+import main.java.group37.bejeweled.model.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Collects timings and counters of the game loop.
+ * The histograms and counters can be read through JMX and are written
+ * to the log periodically.
+ * @author group37
+ */
+public final class GameMetrics implements GameMetricsMBean {
+
+  public static final String DOMAIN = "group37.bejeweled";
+
+  /**
+   * enum Phase tells which part of a move is timed.
+   */
+  public enum Phase {
+    SWAP_VALIDATION, MATCH_FINDING, CASCADE, REFILL, POSSIBLE_MOVE, FRAME_RENDER, MOVE,
+    INPUT_LATENCY;
+  }
+
+  private static GameMetrics instance = new GameMetrics();
+
+  private final Map<Phase, Histogram> latencies = new EnumMap<Phase, Histogram>(Phase.class);
+  private final Histogram cascadeDepth = new Histogram("CASCADE_DEPTH", "cascades");
+  private final Histogram tilesPerMove = new Histogram("TILES_PER_MOVE", "tiles");
+  private final Histogram allocationPerMove = new Histogram("ALLOCATION_PER_MOVE", "bytes");
+  private final List<Histogram> inputStages = new CopyOnWriteArrayList<Histogram>();
+  private final AtomicLong moves = new AtomicLong();
+  private final AtomicLong cascades = new AtomicLong();
+  private final AtomicLong tilesCleared = new AtomicLong();
+  private final AtomicLong specialGemsMade = new AtomicLong();
+  //threads that run work that is not recorded, the thread local is only read when there are any
+  private final AtomicInteger unrecordedThreads = new AtomicInteger();
+  private final ThreadLocal<Boolean> unrecorded = new ThreadLocal<Boolean>();
+
+  private boolean registered = false;
+  private ScheduledExecutorService dumper;
+
+  private GameMetrics() {
+    for (Phase phase : Phase.values()) {
+      latencies.put(phase, new Histogram(phase.name(), "ns"));
+    }
+  }
+
+  public static GameMetrics get() {
+    return instance;
+  }
+
+  /**
+   * Record how long a phase took.
+   * @param phase the phase.
+   * @param nanos duration in nanoseconds.
+   */
+  public void record(Phase phase, long nanos) {
+    if (isRecording()) {
+      latencies.get(phase).record(nanos);
+    }
+  }
+
+  /**
+   * Run work without recording its metrics, like a warm up that plays a game
+   * nobody sees. Only the metrics of the current thread are left out.
+   * @param work the work.
+   */
+  public void unrecorded(Runnable work) {
+    unrecorded.set(Boolean.TRUE);
+    unrecordedThreads.incrementAndGet();
+    try {
+      work.run();
+    } finally {
+      unrecordedThreads.decrementAndGet();
+      unrecorded.remove();
+    }
+  }
+
+  /**
+   * Tell whether the metrics of the current thread are recorded.
+   * @return false while the thread runs {@link #unrecorded(Runnable)}.
+   */
+  public boolean isRecording() {
+    return unrecordedThreads.get() == 0 || unrecorded.get() == null;
+  }
+
+  /**
+   * Record a finished move.
+   * @param nanos time from the swap until the board was settled.
+   * @param depth number of cascades caused by the move.
+   * @param tiles number of tiles cleared by the move.
+   * @param allocatedBytes bytes allocated by the thread during the move, negative if unknown.
+   */
+  public void moveResolved(long nanos, int depth, int tiles, long allocatedBytes) {
+    if (!isRecording()) {
+      return;
+    }
+    moves.incrementAndGet();
+    cascades.addAndGet(depth);
+    tilesCleared.addAndGet(tiles);
+    latencies.get(Phase.MOVE).record(nanos);
+    cascadeDepth.record(depth);
+    tilesPerMove.record(tiles);
+    if (allocatedBytes >= 0) {
+      allocationPerMove.record(allocatedBytes);
+    }
+  }
+
+  /**
+   * Count a special gem that was made.
+   */
+  public void specialGemMade() {
+    if (isRecording()) {
+      specialGemsMade.incrementAndGet();
+    }
+  }
+
+  /**
+   * Get the number of bytes the current thread has allocated so far.
+   * @return number of bytes, -1 if the JVM can't tell.
+   */
+  public static long allocatedBytes() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) bean)
+          .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return -1;
+  }
+
+  /**
+   * Get the latency histogram of a phase.
+   * @param phase the phase.
+   * @return the histogram.
+   */
+  public Histogram getLatency(Phase phase) {
+    return latencies.get(phase);
+  }
+
+  public Histogram getCascadeDepth() {
+    return cascadeDepth;
+  }
+
+  public Histogram getTilesPerMove() {
+    return tilesPerMove;
+  }
+
+  public Histogram getAllocationPerMove() {
+    return allocationPerMove;
+  }
+
+  /**
+   * Add the histograms of the times from an input to the stages of its swap,
+   * they are dumped, reset and registered together with the other metrics.
+   * @param histograms the histograms.
+   */
+  public synchronized void addInputStages(Collection<Histogram> histograms) {
+    inputStages.addAll(histograms);
+    if (registered) {
+      try {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (Histogram histogram : histograms) {
+          register(server, "Input", histogram);
+        }
+      } catch (JMException e) {
+        Logger.error("Can't register input MBeans: " + e.getMessage());
+      }
+    }
+  }
+
+  public List<Histogram> getInputStages() {
+    return inputStages;
+  }
+
+  @Override
+  public long getMoves() {
+    return moves.get();
+  }
+
+  @Override
+  public long getCascades() {
+    return cascades.get();
+  }
+
+  @Override
+  public long getTilesCleared() {
+    return tilesCleared.get();
+  }
+
+  @Override
+  public long getSpecialGemsMade() {
+    return specialGemsMade.get();
+  }
+
+  /**
+   * Summary of all metrics.
+   * @return one line per histogram.
+   */
+  @Override
+  public String dump() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("Metrics: moves=").append(getMoves())
+        .append(" cascades=").append(getCascades())
+        .append(" tilesCleared=").append(getTilesCleared())
+        .append(" specialGems=").append(getSpecialGemsMade());
+    for (Histogram histogram : latencies.values()) {
+      sb.append('\n').append(histogram);
+    }
+    sb.append('\n').append(cascadeDepth);
+    sb.append('\n').append(tilesPerMove);
+    sb.append('\n').append(allocationPerMove);
+    for (Histogram histogram : inputStages) {
+      sb.append('\n').append(histogram);
+    }
+    return sb.toString();
+  }
+
+  @Override
+  public void reset() {
+    for (Histogram histogram : latencies.values()) {
+      histogram.reset();
+    }
+    cascadeDepth.reset();
+    tilesPerMove.reset();
+    allocationPerMove.reset();
+    for (Histogram histogram : inputStages) {
+      histogram.reset();
+    }
+    moves.set(0);
+    cascades.set(0);
+    tilesCleared.set(0);
+    specialGemsMade.set(0);
+  }
+
+  /**
+   * Register the counters and all histograms with the platform MBean server.
+   */
+  public synchronized void registerMBeans() {
+    if (registered) {
+      return;
+    }
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      server.registerMBean(this, new ObjectName(DOMAIN + ":type=GameMetrics"));
+      for (Histogram histogram : latencies.values()) {
+        register(server, "Latency", histogram);
+      }
+      register(server, "Move", cascadeDepth);
+      register(server, "Move", tilesPerMove);
+      register(server, "Move", allocationPerMove);
+      for (Histogram histogram : inputStages) {
+        register(server, "Input", histogram);
+      }
+      registered = true;
+    } catch (JMException e) {
+      Logger.error("Can't register metrics MBeans: " + e.getMessage());
+    }
+  }
+
+  private static void register(MBeanServer server, String type, Histogram histogram)
+      throws JMException {
+    server.registerMBean(histogram,
+        new ObjectName(DOMAIN + ":type=" + type + ",name=" + histogram.getName()));
+  }
+
+  /**
+   * Write the metrics to the log every period.
+   * @param period time between two dumps.
+   * @param unit unit of the period.
+   */
+  public synchronized void startLogDump(long period, TimeUnit unit) {
+    stopLogDump();
+    dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "metrics-dump");
+        thread.setDaemon(true);
+        return thread;
+      });
+    dumper.scheduleAtFixedRate(() -> Logger.log(dump()), period, period, unit);
+  }
+
+  /**
+   * Stop writing the metrics to the log.
+   */
+  public synchronized void stopLogDump() {
+    if (dumper != null) {
+      dumper.shutdownNow();
+      dumper = null;
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package main.java.group37.bejeweled.metrics;
+
+/**
+ * JMX view of the {@link GameMetrics} counters.
+ * @author group37
+ */
+public interface GameMetricsMBean {
+
+  public long getMoves();
+
+  public long getCascades();
+
+  public long getTilesCleared();
+
+  public long getSpecialGemsMade();
+
+  public String dump();
+
+  public void reset();
+}
@@ -0,0 +1,153 @@
+package main.java.group37.bejeweled.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram with log-linear buckets, in the style of HdrHistogram.
+ * Values below 64 have their own bucket, larger values share a bucket with
+ * values that differ less than about 3%. Recording is lock free, so many
+ * games can record into the same histogram.
+ * @author group37
+ */
+public class Histogram implements HistogramMBean {
+
+  private static final int SUB_BUCKET_BITS = 6;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int HALF = SUB_BUCKETS / 2;
+  private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * HALF + HALF;
+
+  private final String name;
+  private final String unit;
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong sum = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Create an empty histogram.
+   * @param name name of the histogram.
+   * @param unit unit of the recorded values.
+   */
+  public Histogram(String name, String unit) {
+    this.name = name;
+    this.unit = unit;
+  }
+
+  /**
+   * Record a value, negative values are recorded as 0.
+   * @param value the value.
+   */
+  public void record(long value) {
+    long val = Math.max(0, value);
+    counts.incrementAndGet(index(val));
+    count.incrementAndGet();
+    sum.addAndGet(val);
+    long current = max.get();
+    while (val > current && !max.compareAndSet(current, val)) {
+      current = max.get();
+    }
+  }
+
+  private static int index(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS + 1;
+    return shift * HALF + (int) (value >>> shift);
+  }
+
+  private static long highestValue(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / HALF - 1;
+    long sub = index % HALF + HALF;
+    return ((sub + 1) << shift) - 1;
+  }
+
+  /**
+   * Get the value below which the given percentage of the values fall.
+   * @param percentile percentage between 0 and 100.
+   * @return the value, 0 if nothing was recorded.
+   */
+  public long getPercentile(double percentile) {
+    long total = count.get();
+    if (total == 0) {
+      return 0;
+    }
+    long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts.get(i);
+      if (seen >= target) {
+        return Math.min(highestValue(i), max.get());
+      }
+    }
+    return max.get();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getUnit() {
+    return unit;
+  }
+
+  @Override
+  public long getCount() {
+    return count.get();
+  }
+
+  @Override
+  public double getMean() {
+    long total = count.get();
+    if (total == 0) {
+      return 0;
+    }
+    return (double) sum.get() / total;
+  }
+
+  @Override
+  public long getMax() {
+    return max.get();
+  }
+
+  @Override
+  public long getP50() {
+    return getPercentile(50);
+  }
+
+  @Override
+  public long getP90() {
+    return getPercentile(90);
+  }
+
+  @Override
+  public long getP99() {
+    return getPercentile(99);
+  }
+
+  @Override
+  public long getP999() {
+    return getPercentile(99.9);
+  }
+
+  @Override
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0);
+    }
+    count.set(0);
+    sum.set(0);
+    max.set(0);
+  }
+
+  @Override
+  public String toString() {
+    return name + ": n=" + getCount() + " mean=" + String.format("%.1f", getMean())
+        + " p50=" + getP50() + " p90=" + getP90() + " p99=" + getP99()
+        + " max=" + getMax() + " " + unit;
+  }
+}
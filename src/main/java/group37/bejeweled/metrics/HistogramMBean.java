@@ -0,0 +1,24 @@
+package main.java.group37.bejeweled.metrics;
+
+/**
+ * JMX view of a {@link Histogram}.
+ * @author group37
+ */
+public interface HistogramMBean {
+
+  public long getCount();
+
+  public double getMean();
+
+  public long getMax();
+
+  public long getP50();
+
+  public long getP90();
+
+  public long getP99();
+
+  public long getP999();
+
+  public void reset();
+}
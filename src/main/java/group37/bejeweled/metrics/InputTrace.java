@@ -0,0 +1,135 @@
+package main.java.group37.bejeweled.metrics;
+
+import main.java.group37.bejeweled.metrics.GameMetrics.Phase;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Follows a mouse event through the swap it makes until the first frame that
+ * shows the tiles moving. The time from the event to every stage is recorded,
+ * the time from the event to that frame is the input latency of the game.
+ * The histograms of the trace of the game are dumped and registered with the
+ * other {@link GameMetrics}.
+ * Only used on the game thread.
+ * @author group37
+ */
+public final class InputTrace {
+
+  /**
+   * enum Stage tells how far an input got.
+   */
+  public enum Stage {
+    INPUT, ADD_TILE, VALIDATED, SWAP_STARTED, MOVED;
+  }
+
+  private static InputTrace instance = ofGame();
+
+  private final Histogram latency;
+  private final Map<Stage, Histogram> sinceInput = new EnumMap<Stage, Histogram>(Stage.class);
+  private final long[] times = new long[Stage.values().length];
+  private boolean started;
+
+  /**
+   * Create a trace.
+   * @param latency where the time from the input to the first frame is recorded.
+   */
+  public InputTrace(Histogram latency) {
+    this.latency = latency;
+    for (Stage stage : Stage.values()) {
+      if (stage != Stage.INPUT) {
+        sinceInput.put(stage, new Histogram("INPUT_TO_" + stage.name(), "ns"));
+      }
+    }
+  }
+
+  public static InputTrace get() {
+    return instance;
+  }
+
+  /**
+   * Create the trace of the game, its histograms are part of the game metrics.
+   * @return the trace.
+   */
+  private static InputTrace ofGame() {
+    GameMetrics metrics = GameMetrics.get();
+    InputTrace trace = new InputTrace(metrics.getLatency(Phase.INPUT_LATENCY));
+    metrics.addInputStages(trace.sinceInput.values());
+    return trace;
+  }
+
+  /**
+   * Start following an input. An input that already started a swap is followed
+   * until its first frame, the inputs in between are ignored.
+   * @param nanos when the input happened, from {@link System#nanoTime()}.
+   */
+  public void input(long nanos) {
+    if (started && times[Stage.SWAP_STARTED.ordinal()] != 0) {
+      return;
+    }
+    started = true;
+    Arrays.fill(times, 0);
+    times[Stage.INPUT.ordinal()] = nanos;
+  }
+
+  /**
+   * Start following a mouse event, the time it waited in the event queue counts.
+   * @param when the time of the event, from {@link System#currentTimeMillis()}.
+   */
+  public void mouseEvent(long when) {
+    long waited = Math.max(0, System.currentTimeMillis() - when);
+    input(System.nanoTime() - waited * 1000000);
+  }
+
+  /**
+   * Mark that the input reached a stage.
+   * @param stage the stage.
+   */
+  public void mark(Stage stage) {
+    mark(stage, System.nanoTime());
+  }
+
+  /**
+   * Mark that the input reached a stage.
+   * @param stage the stage.
+   * @param nanos the current time, from {@link System#nanoTime()}.
+   */
+  public void mark(Stage stage, long nanos) {
+    if (started && times[stage.ordinal()] == 0) {
+      times[stage.ordinal()] = nanos;
+    }
+  }
+
+  /**
+   * Called when a frame was painted, the first frame after the tiles moved ends
+   * the trace.
+   * @param nanos when the frame was painted, from {@link System#nanoTime()}.
+   */
+  public void frameShown(long nanos) {
+    if (!started || times[Stage.MOVED.ordinal()] == 0) {
+      return;
+    }
+    long input = times[Stage.INPUT.ordinal()];
+    for (Stage stage : Stage.values()) {
+      if (stage != Stage.INPUT && times[stage.ordinal()] != 0) {
+        sinceInput.get(stage).record(times[stage.ordinal()] - input);
+      }
+    }
+    latency.record(nanos - input);
+    started = false;
+  }
+
+  /**
+   * Get the times from the input to a stage.
+   * @param stage the stage.
+   * @return the histogram, null for the input itself.
+   */
+  public Histogram getSinceInput(Stage stage) {
+    return sinceInput.get(stage);
+  }
+
+  public Histogram getLatency() {
+    return latency;
+  }
+}
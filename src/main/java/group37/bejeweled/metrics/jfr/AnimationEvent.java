@@ -0,0 +1,26 @@
+package main.java.group37.bejeweled.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event: one phase of the animations.
+ * @author group37
+ */
+@Name("group37.bejeweled.Animation")
+@Label("Animation")
+@Description("An animation phase from its start until its end.")
+public class AnimationEvent extends GamePhaseEvent {
+
+  @Label("Animation Type")
+  protected String type;
+
+  /**
+   * Create the event for an animation phase and start timing it.
+   * @param type the type of the animation.
+   */
+  public AnimationEvent(String type) {
+    this.type = type;
+  }
+}
@@ -0,0 +1,15 @@
+package main.java.group37.bejeweled.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event: combinations are scored and deleted.
+ * @author group37
+ */
+@Name("group37.bejeweled.DeleteChains")
+@Label("Delete Chains")
+@Description("Combinations are scored and deleted.")
+public class DeleteChainsEvent extends GamePhaseEvent {
+}
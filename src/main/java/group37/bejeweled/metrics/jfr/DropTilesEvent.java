@@ -0,0 +1,15 @@
+package main.java.group37.bejeweled.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event: tiles are dropped and the board is refilled.
+ * @author group37
+ */
+@Name("group37.bejeweled.DropTiles")
+@Label("Drop Tiles")
+@Description("Tiles are dropped and the board is refilled.")
+public class DropTilesEvent extends GamePhaseEvent {
+}
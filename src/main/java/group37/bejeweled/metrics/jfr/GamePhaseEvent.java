@@ -0,0 +1,50 @@
+package main.java.group37.bejeweled.metrics.jfr;
+
+import main.java.group37.bejeweled.metrics.GameMetrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a phase of the game.
+ * The event is timed between its creation and {@link #finish(int, int, int)}.
+ * @author group37
+ */
+@Category("Bejeweled")
+@StackTrace(false)
+public abstract class GamePhaseEvent extends Event {
+
+  @Label("Board Id")
+  protected int boardId;
+
+  @Label("Cascade Depth")
+  protected int cascadeDepth;
+
+  @Label("Tiles")
+  protected int tiles;
+
+  /**
+   * Create the event and start timing it.
+   */
+  public GamePhaseEvent() {
+    begin();
+  }
+
+  /**
+   * Stop timing the event and commit it if it is enabled and the thread records metrics.
+   * @param boardId id of the board the phase worked on.
+   * @param cascadeDepth cascade depth of the move at this phase.
+   * @param tiles number of tiles involved in the phase.
+   */
+  public void finish(int boardId, int cascadeDepth, int tiles) {
+    end();
+    if (shouldCommit() && GameMetrics.get().isRecording()) {
+      this.boardId = boardId;
+      this.cascadeDepth = cascadeDepth;
+      this.tiles = tiles;
+      commit();
+    }
+  }
+}
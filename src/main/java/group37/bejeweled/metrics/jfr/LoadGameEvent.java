@@ -0,0 +1,15 @@
+package main.java.group37.bejeweled.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event: the game is read from a file.
+ * @author group37
+ */
+@Name("group37.bejeweled.LoadGame")
+@Label("Load Game")
+@Description("The game is read from a file.")
+public class LoadGameEvent extends GamePhaseEvent {
+}
@@ -0,0 +1,15 @@
+package main.java.group37.bejeweled.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event: the board is searched for a possible move.
+ * @author group37
+ */
+@Name("group37.bejeweled.PossibleMove")
+@Label("Possible Move")
+@Description("The board is searched for a possible move.")
+public class PossibleMoveEvent extends GamePhaseEvent {
+}
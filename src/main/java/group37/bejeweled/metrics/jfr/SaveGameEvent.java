@@ -0,0 +1,15 @@
+package main.java.group37.bejeweled.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event: the game is written to a file.
+ * @author group37
+ */
+@Name("group37.bejeweled.SaveGame")
+@Label("Save Game")
+@Description("The game is written to a file.")
+public class SaveGameEvent extends GamePhaseEvent {
+}
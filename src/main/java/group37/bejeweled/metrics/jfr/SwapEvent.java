@@ -0,0 +1,15 @@
+package main.java.group37.bejeweled.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event: two tiles are swapped by the player.
+ * @author group37
+ */
+@Name("group37.bejeweled.Swap")
+@Label("Swap Tiles")
+@Description("Two tiles are swapped by the player.")
+public class SwapEvent extends GamePhaseEvent {
+}
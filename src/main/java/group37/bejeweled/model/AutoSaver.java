@@ -0,0 +1,162 @@
+package main.java.group37.bejeweled.model;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Saves the game without holding up the game thread.
+ * The game thread only copies the state of the game, a background thread turns
+ * it into JSON and writes it. When a new state comes in before the last one of
+ * the same file was written, only the new state is written. Only settled games
+ * are saved periodically, a move that is being resolved is saved when it is done.
+ * @author group37
+ */
+public class AutoSaver {
+
+  public static final Path AUTOSAVE = Paths.get("autosave.json");
+
+  private static AutoSaver instance = new AutoSaver();
+
+  private final ConcurrentMap<Path, SaveState> pending = new ConcurrentHashMap<Path, SaveState>();
+  private final ScheduledExecutorService writer;
+  private final AtomicLong written = new AtomicLong();
+  private final AtomicLong coalesced = new AtomicLong();
+  private volatile Path autosave;
+  private ScheduledFuture<?> periodic;
+
+  /**
+   * Create an autosaver with its own writer thread, the game uses the shared
+   * instance from {@link #get()}.
+   */
+  public AutoSaver() {
+    writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "autosave");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public static AutoSaver get() {
+    return instance;
+  }
+
+  /**
+   * Save the current game in the background, must be called on the game thread.
+   * @param path the save file.
+   */
+  public void save(Path path) {
+    if (SavedGame.getInstance().getGame() == null) {
+      return;
+    }
+    save(SavedGame.getInstance().snapshot(), path);
+  }
+
+  /**
+   * Write a state in the background.
+   * @param state the state.
+   * @param path the save file.
+   */
+  public void save(SaveState state, Path path) {
+    if (pending.put(path, state) == null) {
+      writer.execute(() -> write(path));
+    } else {
+      coalesced.incrementAndGet();
+    }
+  }
+
+  private void write(Path path) {
+    SaveState state = pending.remove(path);
+    if (state == null) {
+      return;
+    }
+    try {
+      SavedGame.getInstance().write(state, path);
+      written.incrementAndGet();
+    } catch (IOException e) {
+      Logger.error("Saving the game in " + path + " failed: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Save the game after every move and every period.
+   * @param path the autosave file.
+   * @param period time between two periodic saves.
+   * @param unit unit of the period.
+   * @param gameThread runs the copying of the state on the game thread.
+   */
+  public synchronized void start(Path path, long period, TimeUnit unit, Executor gameThread) {
+    stop();
+    autosave = path;
+    periodic = writer.scheduleAtFixedRate(() -> gameThread.execute(() -> savePeriodic(path)),
+        period, period, unit);
+  }
+
+  private void savePeriodic(Path path) {
+    Game game = SavedGame.getInstance().getGame();
+    //the score of a move counts before its tiles leave the board, moveMade() saves it
+    if (game != null && game.getLogic().isResolving()) {
+      return;
+    }
+    save(path);
+  }
+
+  /**
+   * Stop the autosaves, states that were already taken are still written.
+   */
+  public synchronized void stop() {
+    autosave = null;
+    if (periodic != null) {
+      periodic.cancel(false);
+      periodic = null;
+    }
+  }
+
+  /**
+   * Tell that a move is done, saves the game when autosaving is started.
+   * Must be called on the game thread.
+   */
+  public void moveMade() {
+    Path path = autosave;
+    if (path != null) {
+      save(path);
+    }
+  }
+
+  /**
+   * Wait until every state that was taken is written.
+   * @throws InterruptedException when the thread is interrupted while waiting.
+   */
+  public void flush() throws InterruptedException {
+    try {
+      writer.submit(() -> { }).get();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Get the number of states that were written.
+   * @return the number of writes.
+   */
+  public long getWritten() {
+    return written.get();
+  }
+
+  /**
+   * Get the number of states that were replaced by a newer one before being written.
+   * @return the number of skipped writes.
+   */
+  public long getCoalesced() {
+    return coalesced.get();
+  }
+}
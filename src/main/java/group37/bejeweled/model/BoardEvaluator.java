@@ -0,0 +1,303 @@
+package main.java.group37.bejeweled.model;
+
+import main.java.group37.bejeweled.board.CompactBoard;
+import main.java.group37.bejeweled.combination.Combination.Type;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes features of a board for bots, hints and the difficulty of a level.
+ * It works on the colours of a {@link CompactBoard} in an int array. A move is
+ * tried by swapping two colours and counting the run of the same colour through
+ * both cells in both directions, so no tiles are moved and no combinations are
+ * made. Cascades are simulated on a copy with gravity, the tiles that would fall
+ * in from the top are unknown and never match.
+ * An evaluator is not thread safe, every thread needs its own.
+ * @author group37
+ */
+public class BoardEvaluator {
+
+  public static final int COLORS = 7;
+  private static final int UNKNOWN = -1;
+  private static final int MAX_CASCADES = 16;
+
+  private final int width;
+  private final int height;
+  private final int[] colors;
+  private final int[] work;
+  private long hypercubes;
+  private int run0;
+  private int run1;
+  private boolean star;
+
+  /**
+   * Create an evaluator for boards of one size.
+   * @param width number of columns.
+   * @param height number of rows.
+   */
+  public BoardEvaluator(int width, int height) {
+    if (width * height > Long.SIZE) {
+      throw new IllegalArgumentException("boards of more than 64 cells are not supported");
+    }
+    this.width = width;
+    this.height = height;
+    this.colors = new int[width * height];
+    this.work = new int[width * height];
+  }
+
+  /**
+   * Compute all features of a board.
+   * @param board the board.
+   * @return the features.
+   */
+  public BoardFeatures evaluate(CompactBoard board) {
+    int[] colorCounts = load(board);
+    int legal = 0;
+    int hypercubeMoves = 0;
+    int flame = 0;
+    int stars = 0;
+    int hypercubeSetups = 0;
+    int longest = 0;
+    int lineMoves = 0;
+    int cascadeMoves = 0;
+    int maxCascades = 0;
+    int cascadeSum = 0;
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < height; y++) {
+        int cell = x * height + y;
+        for (int dir = 0; dir < 2; dir++) {
+          //the neighbour to the right, then the neighbour below
+          int other = dir == 0 ? (x + 1 < width ? cell + height : -1)
+              : (y + 1 < height ? cell + 1 : -1);
+          if (other < 0) {
+            continue;
+          }
+          if (isHypercube(cell) || isHypercube(other)) {
+            legal++;
+            hypercubeMoves++;
+            continue;
+          }
+          if (!tryMove(cell, other)) {
+            continue;
+          }
+          legal++;
+          lineMoves++;
+          int run = Math.max(run0, run1);
+          longest = Math.max(longest, run);
+          if (star) {
+            stars++;
+          } else if (run >= 5) {
+            hypercubeSetups++;
+          } else if (run == 4) {
+            flame++;
+          }
+          int cascades = cascades(cell, other);
+          if (cascades > 0) {
+            cascadeMoves++;
+          }
+          maxCascades = Math.max(maxCascades, cascades);
+          cascadeSum += cascades;
+        }
+      }
+    }
+    return new BoardFeatures(legal, hypercubeMoves, flame, stars, hypercubeSetups, longest,
+        colorCounts, cascadeMoves, maxCascades,
+        lineMoves == 0 ? 0 : (double) cascadeSum / lineMoves);
+  }
+
+  /**
+   * Find every move the game allows.
+   * @param board the board.
+   * @return the moves, the first tile is left of or above the second.
+   */
+  public List<Move> legalMoves(CompactBoard board) {
+    load(board);
+    List<Move> moves = new ArrayList<Move>();
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < height; y++) {
+        int cell = x * height + y;
+        if (x + 1 < width && isLegal(cell, cell + height)) {
+          moves.add(new Move(x, y, x + 1, y));
+        }
+        if (y + 1 < height && isLegal(cell, cell + 1)) {
+          moves.add(new Move(x, y, x, y + 1));
+        }
+      }
+    }
+    return moves;
+  }
+
+  /**
+   * Check if there is any move left, stops at the first move.
+   * @param board the board.
+   * @return true iff the game allows a move.
+   */
+  public boolean hasMove(CompactBoard board) {
+    load(board);
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < height; y++) {
+        int cell = x * height + y;
+        if (x + 1 < width && isLegal(cell, cell + height)
+            || y + 1 < height && isLegal(cell, cell + 1)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private int[] load(CompactBoard board) {
+    if (board.getWidth() != width || board.getHeight() != height) {
+      throw new IllegalArgumentException("the board is " + board.getWidth() + "x"
+          + board.getHeight() + ", not " + width + "x" + height);
+    }
+    int[] counts = new int[COLORS];
+    hypercubes = 0;
+    for (int cell = 0; cell < colors.length; cell++) {
+      int code = board.getCell(cell);
+      if (code == CompactBoard.EMPTY) {
+        colors[cell] = UNKNOWN;
+        continue;
+      }
+      colors[cell] = CompactBoard.indexOf(code);
+      if (colors[cell] < COLORS) {
+        counts[colors[cell]]++;
+      }
+      if (CompactBoard.typeOf(code) == Type.HYPERCUBE) {
+        hypercubes |= 1L << cell;
+      }
+    }
+    return counts;
+  }
+
+  private boolean isHypercube(int cell) {
+    return (hypercubes & 1L << cell) != 0;
+  }
+
+  private boolean isLegal(int cell, int other) {
+    return isHypercube(cell) || isHypercube(other) || tryMove(cell, other);
+  }
+
+  /**
+   * Swap two cells and measure the runs through them.
+   * @return true iff the swap makes a line of 3 or more.
+   */
+  private boolean tryMove(int cell, int other) {
+    int c0 = colors[cell];
+    int c1 = colors[other];
+    if (c0 == c1 || c0 == UNKNOWN || c1 == UNKNOWN) {
+      return false;
+    }
+    colors[cell] = c1;
+    colors[other] = c0;
+    int h0 = run(colors, cell, height);
+    int v0 = run(colors, cell, 1);
+    int h1 = run(colors, other, height);
+    int v1 = run(colors, other, 1);
+    colors[cell] = c0;
+    colors[other] = c1;
+    run0 = Math.max(h0, v0) >= 3 ? Math.max(h0, v0) : 0;
+    run1 = Math.max(h1, v1) >= 3 ? Math.max(h1, v1) : 0;
+    star = h0 >= 3 && v0 >= 3 || h1 >= 3 && v1 >= 3;
+    return run0 > 0 || run1 > 0;
+  }
+
+  /**
+   * Get the length of the run of the colour of a cell in one direction.
+   * @param cells the colours.
+   * @param cell the cell.
+   * @param step height for a row, 1 for a column.
+   */
+  private int run(int[] cells, int cell, int step) {
+    int color = cells[cell];
+    int x = cell / height;
+    int y = cell % height;
+    int length = 1;
+    if (step == 1) {
+      for (int i = y - 1; i >= 0 && cells[x * height + i] == color; i--) {
+        length++;
+      }
+      for (int i = y + 1; i < height && cells[x * height + i] == color; i++) {
+        length++;
+      }
+    } else {
+      for (int i = x - 1; i >= 0 && cells[i * height + y] == color; i--) {
+        length++;
+      }
+      for (int i = x + 1; i < width && cells[i * height + y] == color; i++) {
+        length++;
+      }
+    }
+    return length;
+  }
+
+  /**
+   * Play a move on a copy and count the cascades after the first removal.
+   */
+  private int cascades(int cell, int other) {
+    System.arraycopy(colors, 0, work, 0, colors.length);
+    work[cell] = colors[other];
+    work[other] = colors[cell];
+    int removals = 0;
+    long lines = lines(work);
+    while (lines != 0 && removals <= MAX_CASCADES) {
+      removals++;
+      drop(work, lines);
+      lines = lines(work);
+    }
+    return Math.max(removals - 1, 0);
+  }
+
+  /**
+   * Find all lines of 3 or more of the same known colour.
+   * @return mask of the cells in a line.
+   */
+  private long lines(int[] cells) {
+    long mask = 0;
+    for (int x = 0; x < width; x++) {
+      int start = 0;
+      for (int y = 1; y <= height; y++) {
+        int cell = x * height + y;
+        if (y == height || cells[cell] != cells[cell - 1]) {
+          if (y - start >= 3 && cells[cell - 1] != UNKNOWN) {
+            mask |= ((1L << (y - start)) - 1) << (x * height + start);
+          }
+          start = y;
+        }
+      }
+    }
+    for (int y = 0; y < height; y++) {
+      int start = 0;
+      for (int x = 1; x <= width; x++) {
+        if (x == width || cells[x * height + y] != cells[(x - 1) * height + y]) {
+          if (x - start >= 3 && cells[(x - 1) * height + y] != UNKNOWN) {
+            for (int i = start; i < x; i++) {
+              mask |= 1L << (i * height + y);
+            }
+          }
+          start = x;
+        }
+      }
+    }
+    return mask;
+  }
+
+  /**
+   * Remove the cells of a mask and let the tiles above fall down.
+   */
+  private void drop(int[] cells, long removed) {
+    for (int x = 0; x < width; x++) {
+      int to = height - 1;
+      for (int y = height - 1; y >= 0; y--) {
+        int cell = x * height + y;
+        if ((removed & 1L << cell) == 0) {
+          cells[x * height + to--] = cells[cell];
+        }
+      }
+      for (int y = to; y >= 0; y--) {
+        cells[x * height + y] = UNKNOWN;
+      }
+    }
+  }
+}
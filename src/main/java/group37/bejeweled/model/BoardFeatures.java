@@ -0,0 +1,150 @@
+package main.java.group37.bejeweled.model;
+
+import java.util.Arrays;
+
+/**
+ * Features of a board, computed by a {@link BoardEvaluator}.
+ * @author group37
+ */
+public final class BoardFeatures {
+
+  private final int legalMoves;
+  private final int hypercubeMoves;
+  private final int flameSetups;
+  private final int starSetups;
+  private final int hypercubeSetups;
+  private final int longestMatch;
+  private final int[] colorCounts;
+  private final int cascadeMoves;
+  private final int maxCascades;
+  private final double expectedCascades;
+
+  BoardFeatures(int legalMoves, int hypercubeMoves, int flameSetups, int starSetups,
+      int hypercubeSetups, int longestMatch, int[] colorCounts, int cascadeMoves,
+      int maxCascades, double expectedCascades) {
+    this.legalMoves = legalMoves;
+    this.hypercubeMoves = hypercubeMoves;
+    this.flameSetups = flameSetups;
+    this.starSetups = starSetups;
+    this.hypercubeSetups = hypercubeSetups;
+    this.longestMatch = longestMatch;
+    this.colorCounts = colorCounts;
+    this.cascadeMoves = cascadeMoves;
+    this.maxCascades = maxCascades;
+    this.expectedCascades = expectedCascades;
+  }
+
+  /**
+   * Get the number of swaps the game allows.
+   * @return the number of legal moves.
+   */
+  public int getLegalMoves() {
+    return legalMoves;
+  }
+
+  /**
+   * Get the number of legal moves that swap a hypercube.
+   * @return the number of moves.
+   */
+  public int getHypercubeMoves() {
+    return hypercubeMoves;
+  }
+
+  /**
+   * Get the number of moves that make a line of 4, which gives a flame gem.
+   * @return the number of moves.
+   */
+  public int getFlameSetups() {
+    return flameSetups;
+  }
+
+  /**
+   * Get the number of moves that make a line in both directions, which gives a star gem.
+   * @return the number of moves.
+   */
+  public int getStarSetups() {
+    return starSetups;
+  }
+
+  /**
+   * Get the number of moves that make a line of 5 or more, which gives a hypercube.
+   * @return the number of moves.
+   */
+  public int getHypercubeSetups() {
+    return hypercubeSetups;
+  }
+
+  /**
+   * Get the number of moves that give a special gem.
+   * @return the number of moves.
+   */
+  public int getSpecialSetups() {
+    return flameSetups + starSetups + hypercubeSetups;
+  }
+
+  /**
+   * Get the longest line a single move makes.
+   * @return the length, 0 if there is no move that makes a line.
+   */
+  public int getLongestMatch() {
+    return longestMatch;
+  }
+
+  /**
+   * Get the number of tiles of a colour.
+   * @param color the index of the colour.
+   * @return the number of tiles.
+   */
+  public int getColorCount(int color) {
+    return colorCounts[color];
+  }
+
+  /**
+   * Get the share of the tiles that have the most common colour, a board with
+   * one colour much more common than the others is easier.
+   * @return the share between 0 and 1.
+   */
+  public double getDominantColorShare() {
+    int total = 0;
+    int max = 0;
+    for (int count : colorCounts) {
+      total += count;
+      max = Math.max(max, count);
+    }
+    return total == 0 ? 0 : (double) max / total;
+  }
+
+  /**
+   * Get the number of moves that cause at least one cascade with the tiles
+   * already on the board, without counting on the new tiles.
+   * @return the number of moves.
+   */
+  public int getCascadeMoves() {
+    return cascadeMoves;
+  }
+
+  /**
+   * Get the most cascades a move causes with the tiles already on the board.
+   * @return the number of cascades.
+   */
+  public int getMaxCascades() {
+    return maxCascades;
+  }
+
+  /**
+   * Get the mean number of cascades of a move, with the tiles already on the board.
+   * @return the mean over the legal moves that make a line.
+   */
+  public double getExpectedCascades() {
+    return expectedCascades;
+  }
+
+  @Override
+  public String toString() {
+    return "moves=" + legalMoves + " hypercube=" + hypercubeMoves + " flame=" + flameSetups
+        + " star=" + starSetups + " hypercubeSetups=" + hypercubeSetups + " longest="
+        + longestMatch + " colors=" + Arrays.toString(colorCounts) + " cascadeMoves="
+        + cascadeMoves + " maxCascades=" + maxCascades + " expectedCascades="
+        + String.format("%.2f", expectedCascades);
+  }
+}
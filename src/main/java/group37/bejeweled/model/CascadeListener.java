@@ -0,0 +1,31 @@
+package main.java.group37.bejeweled.model;
+
+import main.java.group37.bejeweled.board.Tile;
+
+import java.util.List;
+
+/**
+ * Gets told about every step of a move while the game logic resolves it.
+ * @author group37
+ */
+public interface CascadeListener {
+
+  /**
+   * The two tiles of the move have been swapped on the board.
+   * @param t0 the first tile, at its new place.
+   * @param t1 the second tile, at its new place.
+   */
+  void swapped(Tile t0, Tile t1);
+
+  /**
+   * Tiles are about to be deleted. Tiles with a next type other than NORMAL
+   * are not deleted but become a special gem.
+   * @param tiles the tiles, at their place before the tiles above them drop.
+   */
+  void tilesDeleted(List<Tile> tiles);
+
+  /**
+   * The tiles above the deleted tiles have dropped and the board has been refilled.
+   */
+  void tilesRefilled();
+}
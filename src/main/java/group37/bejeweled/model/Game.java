@@ -1,16 +1,18 @@
 package main.java.group37.bejeweled.model;
 
 import main.java.group37.bejeweled.board.Board;
+import main.java.group37.bejeweled.board.CompactBoard;
 import main.java.group37.bejeweled.board.HypercubeTile;
 import main.java.group37.bejeweled.board.Tile;
-import main.java.group37.bejeweled.board.TileFactory;
+import main.java.group37.bejeweled.board.TilePool;
 import main.java.group37.bejeweled.combination.Combination.Type;
+import main.java.group37.bejeweled.metrics.GameMetrics;
+import main.java.group37.bejeweled.metrics.GameMetrics.Phase;
+import main.java.group37.bejeweled.metrics.jfr.PossibleMoveEvent;
 import main.java.group37.bejeweled.view.Main;
 
 import java.util.Random;
 
-import javax.swing.ImageIcon;
-
 /**
  * Class that represents the current game.
  * @author group37
@@ -18,6 +20,12 @@ import javax.swing.ImageIcon;
 public class Game {
   
   private Board board = null;
+  private GameLogic logic;
+  private SwapHandler swapHandler;
+  private GameRandom random;
+  private long seed;
+  private final TilePool tilePool = new TilePool();
+  private final History history = new History(History.CAPACITY);
   
   public static final int SIZE = 8;
 
@@ -26,11 +34,41 @@ public class Game {
    * @param main object for GUI.
    */
   public Game(Main main) {
+    this(main, new Random().nextLong());
+  }
+
+  /**
+   * Create game object with a fixed seed for the random tiles.
+   * @param main object for GUI.
+   * @param seed seed for the random number generator.
+   */
+  public Game(Main main, long seed) {
     this.board = new Board(new Tile[SIZE][SIZE]);
+    setSeed(seed);
     generateRandomBoard();
     
-    GameLogic.get().setReferences(this, board, main);
-    SwapHandler.get().setRefrences(board, main);
+    this.logic = GameLogic.get();
+    this.swapHandler = SwapHandler.get();
+    logic.setReferences(this, board, main);
+    swapHandler.setRefrences(board, main);
+  }
+
+  /**
+   * Create a game that is not bound to the GUI.
+   * It has its own game logic and swap handler, so several of these games
+   * can be played at the same time. Cascades are resolved without animations.
+   * @param seed seed for the random number generator.
+   */
+  public Game(long seed) {
+    this.board = new Board(new Tile[SIZE][SIZE]);
+    setSeed(seed);
+    generateRandomBoard();
+
+    this.logic = new GameLogic();
+    this.swapHandler = new SwapHandler(board);
+    logic.setReferences(this, board, null, swapHandler);
+    logic.init();
+    history.reset(this);
   }
 
   /**
@@ -40,7 +78,7 @@ public class Game {
     Logger.log("Create new board");
     for (int i = 0; i < SIZE; i++) {
       for (int j = 0; j < SIZE; j++) {
-        board.setTileAt(setRandomTile(i,j), i , j);
+        replaceTile(setRandomTile(i,j), i , j);
       }
 
       //Redo column if a sequence has been detected
@@ -57,13 +95,25 @@ public class Game {
    * @return a random tile as a Tile object
    */
   public Tile setRandomTile(int xi, int yi) { 
-    Tile tile = TileFactory.generateTile(Type.NORMAL,xi,yi);
-    Random random = new Random();
+    Tile tile = tilePool.obtain(Type.NORMAL,xi,yi);
     tile.setIndex(random.nextInt(7));
-    tile.setImage(new ImageIcon(tile.paths[tile.getIndex()]));
     return tile;
   }
   
+  /**
+   * Put a tile on the board, the tile it replaces is kept for reuse.
+   * @param tile the new tile.
+   * @param xi column of the tile.
+   * @param yi row of the tile.
+   */
+  public void replaceTile(Tile tile, int xi, int yi) {
+    Tile old = board.getTileAt(xi, yi);
+    board.setTileAt(tile, xi, yi);
+    if (old != null && old != tile) {
+      tilePool.recycle(old);
+    }
+  }
+
   /**
    * Set tile to special tile.
    * @param xi x coordinate of the new random tile
@@ -73,9 +123,8 @@ public class Game {
    */
   public Tile setSpecialTile(int xi, int yi, Type type) {
     Logger.log("Creating special tile " + type + " at " + xi + "," + yi);
-    Tile tile = TileFactory.generateTile(type, xi, yi);
+    Tile tile = tilePool.obtain(type, xi, yi);
     tile.setIndex(board.getTileAt(xi, yi).getIndex());
-    tile.setImage(new ImageIcon(tile.paths[tile.getIndex()]));
     Logger.log("setSpecialTile: " + tile.remove);
     return tile;
   }
@@ -125,6 +174,15 @@ public class Game {
    * @return true if there are possible moves, false if there are none.
    */
   public boolean possibleMove() {
+    PossibleMoveEvent event = new PossibleMoveEvent();
+    long start = System.nanoTime();
+    boolean res = findPossibleMove();
+    GameMetrics.get().record(Phase.POSSIBLE_MOVE, System.nanoTime() - start);
+    event.finish(board.getId(), logic.getCascadeDepth(), board.getSize());
+    return res;
+  }
+
+  private boolean findPossibleMove() {
     boolean possiblemove = false;
     Tile t0 = null;
     Tile t1 = null;
@@ -138,7 +196,7 @@ public class Game {
           return true;
         }
         if (!possiblemove) { 
-          possiblemove = SwapHandler.get().createsCombination(t0,t1);
+          possiblemove = swapHandler.createsCombination(t0,t1);
         }
       }
     }
@@ -149,13 +207,108 @@ public class Game {
         t0 = board.getTileAt(i, j);
         t1 = board.getTileAt(i, j + 1);
         if (!possiblemove) {
-          possiblemove = SwapHandler.get().createsCombination(t0,t1);
+          possiblemove = swapHandler.createsCombination(t0,t1);
         }
       }
     }
     return possiblemove;
   }
 
+  /**
+   * Swap the two tiles of the move and resolve all cascades it causes.
+   * In a GUI game the cascades are resolved by the animations.
+   * @param move the move to play.
+   * @return true iff the move was a valid swap.
+   */
+  public boolean makeMove(Move move) {
+    if (!board.validBorders(move.getX0(), move.getY0())
+        || !board.validBorders(move.getX1(), move.getY1())) {
+      return false;
+    }
+    Tile t0 = board.getTileAt(move.getX0(), move.getY0());
+    Tile t1 = board.getTileAt(move.getX1(), move.getY1());
+    if (t0 == t1 || !swapHandler.canSwap(t0, t1)) {
+      return false;
+    }
+    logic.resolveSwap(t0, t1);
+    history.record(this);
+    return true;
+  }
+
+  /**
+   * Put the tiles of a compact board on the board. A tile of the right type is
+   * kept and only gets its colour, the other tiles come from the pool.
+   * @param cells the board to restore, of the same size.
+   */
+  public void restore(CompactBoard cells) {
+    for (int x = 0; x < cells.getWidth(); x++) {
+      for (int y = 0; y < cells.getHeight(); y++) {
+        int code = cells.get(x, y);
+        Tile tile = board.getTileAt(x, y);
+        if (code == CompactBoard.EMPTY) {
+          replaceTile(null, x, y);
+          continue;
+        }
+        if (tile != null && TilePool.typeOf(tile) == CompactBoard.typeOf(code)) {
+          tile.reset(x, y);
+        } else {
+          tile = tilePool.obtain(CompactBoard.typeOf(code), x, y);
+          replaceTile(tile, x, y);
+        }
+        tile.setIndex(CompactBoard.indexOf(code));
+      }
+    }
+  }
+
+  /**
+   * Get the game logic of this game.
+   * @return the game logic.
+   */
+  public GameLogic getLogic() {
+    return logic;
+  }
+
+  /**
+   * Get the swap handler of this game.
+   * @return the swap handler.
+   */
+  public SwapHandler getSwapHandler() {
+    return swapHandler;
+  }
+
+  /**
+   * Get the seed of the random number generator.
+   * @return the seed.
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Reset the random number generator with a new seed.
+   * @param seed the new seed.
+   */
+  public void setSeed(long seed) {
+    this.seed = seed;
+    this.random = new GameRandom(seed);
+  }
+
+  /**
+   * Get the random number generator of the new tiles.
+   * @return the generator.
+   */
+  public GameRandom getRandom() {
+    return random;
+  }
+
+  /**
+   * Get the moves that can be undone and redone.
+   * @return the history.
+   */
+  public History getHistory() {
+    return history;
+  }
+
   /**
    * Get board object.
    * @return the board
@@ -2,10 +2,15 @@ package main.java.group37.bejeweled.model;
 
 import main.java.group37.bejeweled.board.Board;
 import main.java.group37.bejeweled.board.FlameTile;
+import main.java.group37.bejeweled.board.HypercubeTile;
 import main.java.group37.bejeweled.board.StarTile;
 import main.java.group37.bejeweled.board.Tile;
 import main.java.group37.bejeweled.combination.Combination;
 import main.java.group37.bejeweled.combination.Combination.Type;
+import main.java.group37.bejeweled.metrics.GameMetrics;
+import main.java.group37.bejeweled.metrics.GameMetrics.Phase;
+import main.java.group37.bejeweled.metrics.jfr.DeleteChainsEvent;
+import main.java.group37.bejeweled.metrics.jfr.DropTilesEvent;
 import main.java.group37.bejeweled.view.Animation;
 import main.java.group37.bejeweled.view.Main;
 import main.java.group37.bejeweled.view.Panel;
@@ -21,11 +26,23 @@ public final class GameLogic {
   private Board board;
   private Main boardPanel;
   private PatternFinder finder;
+  private SwapHandler swapHandler;
   private Game game;
+  private CascadeListener cascadeListener;
+
+  //state of the move that is being resolved, for the metrics
+  private long moveStart;
+  private long moveAllocation;
+  private int cascadeDepth;
+  private int tilesCleared;
    
   private static GameLogic instance = new GameLogic();
   
-  private GameLogic() {}
+  /**
+   * Create a game logic object for a game that is not bound to the GUI.
+   * The GUI uses the shared instance from {@link #get()}.
+   */
+  public GameLogic() {}
   
   public static GameLogic get() {
     return instance;
@@ -38,17 +55,58 @@ public final class GameLogic {
    * @param main the main
    */
   public void setReferences(Game game, Board board, Main main) {
+    setReferences(game, board, main, SwapHandler.get());
+  }
+
+  /**
+   * Set the references of the gameLogic object.
+   * @param game the game
+   * @param board the board
+   * @param main the main, null if the cascades should be resolved without animations
+   * @param swapHandler the swap handler of the game
+   */
+  public void setReferences(Game game, Board board, Main main, SwapHandler swapHandler) {
     this.game = game;
     this.board = board;
     this.boardPanel = main;
+    this.swapHandler = swapHandler;
     this.finder = new PatternFinder(board);
   }
 
+  /**
+   * Resolve the swap of t0 and t1, the tiles are switched on the board
+   * and the combinations they made are deleted.
+   * @param t0 first tile that was swapped.
+   * @param t1 second tile that was swapped.
+   */
+  public void resolveSwap(Tile t0, Tile t1) {
+    moveStart = System.nanoTime();
+    moveAllocation = GameMetrics.allocatedBytes();
+    cascadeDepth = 0;
+    tilesCleared = 0;
+    swapHandler.swappedTiles(t0,t1);
+    if (cascadeListener != null) {
+      cascadeListener.swapped(t0, t1);
+    }
+    if (t0 instanceof HypercubeTile) {
+      deleteTiles(swapHandler.getTilesToDeleteHypercube(t1,t0));
+    } else if (t1 instanceof HypercubeTile) {
+      deleteTiles(swapHandler.getTilesToDeleteHypercube(t0,t1));
+    } else {
+      deleteChains();
+    }
+  }
+
   /**
    * Delete all combinations found on the board.
    */
   public void deleteChains() {
-    List<Combination> chains = finder.getAllCombinationsOnBoard();
+    deleteChains(finder.getAllCombinationsOnBoard());
+  }
+
+  private void deleteChains(List<Combination> chains) {
+    DeleteChainsEvent event = new DeleteChainsEvent();
+    long start = System.nanoTime();
     List<Tile> tiles = new ArrayList<Tile>();
 
     for (Combination comb: chains) {
@@ -76,6 +134,8 @@ public final class GameLogic {
 //    boardPanel.animations.resetLevelDropTiles();
     Arrays.stream(board.board)
         .forEach(row -> Arrays.stream(row).forEach(tile -> tile.setLevel(0)));
+    GameMetrics.get().record(Phase.CASCADE, System.nanoTime() - start);
+    event.finish(board.getId(), cascadeDepth + 1, tiles.size());
     deleteTiles(tiles);
   }
   
@@ -84,7 +144,7 @@ public final class GameLogic {
    * @param tilesToAdd list to add to another list.
    * @param list list where the tiles will be added.
    */
-  public void addTiles(List<Tile> tilesToAdd, List<Tile> list) {
+  public static void addTiles(List<Tile> tilesToAdd, List<Tile> list) {
     for (Tile tile : tilesToAdd) {
       if (!list.contains(tile)) {
         list.add(tile);
@@ -97,6 +157,11 @@ public final class GameLogic {
    * @param tiles list of tiles to delete.
    */
   public void deleteTiles(List<Tile> tiles) {
+    if (cascadeListener != null) {
+      cascadeListener.tilesDeleted(tiles);
+    }
+    cascadeDepth++;
+    tilesCleared += tiles.size();
     List<Tile> tilesToDrop = new ArrayList<Tile>();
     for (Tile tile: tiles) {
       Logger.log("Delete Tile: " + tile);
@@ -108,6 +173,13 @@ public final class GameLogic {
         }
       }
     }
+    if (boardPanel == null) {
+      for (Tile tile: tiles) {
+        tile.remove = true;
+      }
+      dropTiles();
+      return;
+    }
     boardPanel.animations.setDropTiles(tilesToDrop);
     boardPanel.animations.setType(Animation.Type.REMOVE);
     boardPanel.animations.setRemoveTiles(tiles);
@@ -118,38 +190,46 @@ public final class GameLogic {
    * If there are empty spaces, this method 'drops' the tile above this space into this space.
    */
   public void dropTiles() {    
+    DropTilesEvent event = new DropTilesEvent();
+    long start = System.nanoTime();
+    int dropped = 0;
     int level = 0;
     for (int row = board.getWidth() - 1; row >= 0; row--) {
       for (int col = 0; col < board.getWidth(); col++) {
-        level = board.getTileAt(col, row).getLevel();
+        Tile tile = board.getTileAt(col, row);
+        level = tile.getLevel();
 
-        if (level > 0) {
-          board.setTileAt(board.getTileAt(col, row).clone(col, row + level), col, row + level);
-          board.getTileAt(col, row + level).setLevel(0);
-          
-          board.getTileAt(col, row).delete = true;
-          board.getTileAt(col, row).setNextType(Type.NORMAL);
+        //a deleted tile stays to be refilled, otherwise a deleted tile in the top
+        //row would land on the tiles deleted below it when nothing falls after it
+        if (level > 0 && !(tile.remove && tile.getNextType() == Type.NORMAL)) {
+          //move the tile down and put the tile it lands on in its old place
+          Tile replaced = board.getTileAt(col, row + level);
+          tile.moveTo(col, row + level);
+          tile.delete = false;
+          board.setTileAt(tile, col, row + level);
 
-          board.getTileAt(col, row + level).delete = false;
-          
-          board.getTileAt(col, row).setLevel(0);
+          replaced.moveTo(col, row);
+          replaced.delete = true;
+          replaced.setNextType(Type.NORMAL);
+          board.setTileAt(replaced, col, row);
+          dropped++;
         }
       }
     }
 
-    deleteTilesFromBoard();
+    deleteTilesFromBoard(start, event, dropped);
   }
   
-  private void deleteTilesFromBoard() {
+  private void deleteTilesFromBoard(long refillStart, DropTilesEvent event, int dropped) {
     Tile tile = null;
     for (int row = board.getWidth() - 1; row >= 0; row--) {
       for (int col = 0; col < board.getWidth(); col++) {
         tile = board.getTileAt(col, row);
         if (tile.delete || tile.getNextType() != Type.NORMAL) {
           if (tile.getNextType() == Type.NORMAL) {
-            board.setTileAt(game.setRandomTile(col,row), col, row);
+            game.replaceTile(game.setRandomTile(col,row), col, row);
           } else if (!(tile.getNextType() == Type.NORMAL) && !(tile.getNextType() == null)) {
-            board.setTileAt(game.setSpecialTile(col,row,tile.getNextType()), col, row);
+            game.replaceTile(game.setSpecialTile(col,row,tile.getNextType()), col, row);
           } 
           tile = board.getTileAt(col,row);
           tile.setNextType(Type.NORMAL);
@@ -160,20 +240,57 @@ public final class GameLogic {
         }
       }
     }
-    boardPanel.repaint();
+    if (boardPanel != null) {
+      boardPanel.repaint();
+    }
+    if (cascadeListener != null) {
+      cascadeListener.tilesRefilled();
+    }
+    GameMetrics.get().record(Phase.REFILL, System.nanoTime() - refillStart);
+    event.finish(board.getId(), cascadeDepth, dropped);
 
     List<Combination> chains = finder.getAllCombinationsOnBoard();
     if (chains.size() != 0) {
-      deleteChains();
+      deleteChains(chains);
+    } else {
+      moveResolved();
     }
   }
 
+  /**
+   * Tell whether a move is being resolved. Its score is already counted while
+   * the tiles it deletes can still be on the board.
+   * @return true from the swap until the board has settled.
+   */
+  public boolean isResolving() {
+    return moveStart != 0;
+  }
+
+  /**
+   * Report the move that was just resolved to the metrics.
+   */
+  private void moveResolved() {
+    if (moveStart == 0) {
+      return;
+    }
+    long allocated = GameMetrics.allocatedBytes();
+    if (allocated >= 0 && moveAllocation >= 0) {
+      allocated -= moveAllocation;
+    } else {
+      allocated = -1;
+    }
+    GameMetrics.get().moveResolved(System.nanoTime() - moveStart, cascadeDepth,
+        tilesCleared, allocated);
+    moveStart = 0;
+  }
+
   /**
    * Finds the type of the special combination and calls the method to generate this special gem.
    * @param combi the combination to find the type of.
    */
   public void generateSpecialGem(Combination combi) {
     Logger.log("Generate special gem");
+    GameMetrics.get().specialGemMade();
     combi.setNextType();
   }
 
@@ -188,9 +305,9 @@ public final class GameLogic {
     for (Tile tile: combi.getSpecialTiles()) {
       tempTiles = null;
       if (tile instanceof FlameTile) {
-        tempTiles = SwapHandler.get().getTilesToDeleteFlame(tile);
+        tempTiles = swapHandler.getTilesToDeleteFlame(tile);
       } else if (tile instanceof StarTile) {
-        tempTiles = SwapHandler.get().getTilesToDeleteStar(tile);
+        tempTiles = swapHandler.getTilesToDeleteStar(tile);
       }
       
       if (tempTiles != null) {
@@ -200,6 +317,22 @@ public final class GameLogic {
     return tiles;
   }
   
+  /**
+   * Set the listener that gets told about every step of a move.
+   * @param listener the listener, null for none.
+   */
+  public void setCascadeListener(CascadeListener listener) {
+    this.cascadeListener = listener;
+  }
+
+  /**
+   * Get the number of cascades of the move that is being resolved.
+   * @return the cascade depth.
+   */
+  public int getCascadeDepth() {
+    return cascadeDepth;
+  }
+
   public Score getScore() {
     return score;
   }
@@ -213,11 +346,18 @@ public final class GameLogic {
    * @param panel the observer to be set.
    */
   public void init(Panel panel) {
-    score = new Score();
+    init();
     score.registerObserver(panel);
-    level = new Level();
     level.registerObserver(panel);
   }
+
+  /**
+   * Initialize the score and level without observers.
+   */
+  public void init() {
+    score = new Score();
+    level = new Level();
+  }
   
   /**
    * Method for getting an arrayList with two Tiles, which can be switched to form a combination.
@@ -234,7 +374,7 @@ public final class GameLogic {
       for (int j = 0; j < 7; j++) {
         t0 = board.getTileAt(j, i);
         t1 = board.getTileAt(j + 1, i);
-        if (SwapHandler.get().createsCombination(t0,t1)) {
+        if (swapHandler.createsCombination(t0,t1)) {
           combi = new ArrayList<Tile>();
           combi.add(t0);
           combi.add(t1);
@@ -248,7 +388,7 @@ public final class GameLogic {
       for (int j = 0; j < 7; j++) {
         t0 = board.getTileAt(i, j);
         t1 = board.getTileAt(i, j + 1);
-        if (SwapHandler.get().createsCombination(t0,t1)) {
+        if (swapHandler.createsCombination(t0,t1)) {
           combi = new ArrayList<Tile>();
           combi.add(t0);
           combi.add(t1);
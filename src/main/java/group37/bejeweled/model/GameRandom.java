@@ -0,0 +1,55 @@
+package main.java.group37.bejeweled.model;
+
+import java.util.Random;
+
+/**
+ * The random number generator of a game, its state can be read and set again.
+ * It is the generator of {@link Random}, so a seed gives the same tiles as before.
+ * A game is played on one thread, so unlike Random this class is not thread safe.
+ * @author group37
+ */
+public class GameRandom extends Random {
+  private static final long serialVersionUID = 1L;
+
+  private static final long MULTIPLIER = 0x5DEECE66DL;
+  private static final long ADDEND = 0xBL;
+  private static final long MASK = (1L << 48) - 1;
+
+  private long state;
+
+  /**
+   * Create a generator.
+   * @param seed the seed.
+   */
+  public GameRandom(long seed) {
+    super(seed);
+  }
+
+  @Override
+  public synchronized void setSeed(long seed) {
+    state = (seed ^ MULTIPLIER) & MASK;
+    super.setSeed(seed);
+  }
+
+  @Override
+  protected int next(int bits) {
+    state = (state * MULTIPLIER + ADDEND) & MASK;
+    return (int) (state >>> (48 - bits));
+  }
+
+  /**
+   * Get the state of the generator, the numbers that follow only depend on it.
+   * @return the 48 bit state.
+   */
+  public long getState() {
+    return state;
+  }
+
+  /**
+   * Continue from a state of {@link #getState()}.
+   * @param state the state.
+   */
+  public void setState(long state) {
+    this.state = state & MASK;
+  }
+}
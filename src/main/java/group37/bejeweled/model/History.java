@@ -0,0 +1,145 @@
+package main.java.group37.bejeweled.model;
+
+import main.java.group37.bejeweled.board.Board;
+import main.java.group37.bejeweled.board.CompactBoard;
+
+/**
+ * The states of a game after its last moves, to undo and redo them.
+ * A state is the board as one byte per cell, the score, the level and the
+ * state of the random number generator, so the tiles that fall in after an
+ * undo are the same as the first time. All states are made when the history is
+ * made and are overwritten in a ring, the oldest state goes first. Recording
+ * and restoring a state copy the cells and create no objects.
+ * @author group37
+ */
+public class History {
+
+  public static final int CAPACITY = 64;
+
+  private final Snapshot[] snapshots;
+  //ring index of the oldest state, the number of states and the current state
+  private int first;
+  private int count;
+  private int current;
+
+  /**
+   * Create an empty history.
+   * @param capacity the number of states that are kept.
+   */
+  public History(int capacity) {
+    if (capacity < 2) {
+      throw new IllegalArgumentException("capacity must be at least 2");
+    }
+    snapshots = new Snapshot[capacity];
+    for (int i = 0; i < capacity; i++) {
+      snapshots[i] = new Snapshot(Game.SIZE, Game.SIZE);
+    }
+  }
+
+  /**
+   * Forget all states and start with the current state of a game.
+   * @param game the game.
+   */
+  public void reset(Game game) {
+    first = 0;
+    count = 0;
+    record(game);
+  }
+
+  /**
+   * Add the state of a game after a move. The states that were undone are
+   * forgotten, when the history is full the oldest state is forgotten.
+   * @param game the game.
+   */
+  public void record(Game game) {
+    count = count == 0 ? 0 : current + 1;
+    if (count == snapshots.length) {
+      first = (first + 1) % snapshots.length;
+      count--;
+    }
+    current = count;
+    count++;
+    slot(current).capture(game);
+  }
+
+  /**
+   * Put a game back in the state before the last move.
+   * @param game the game.
+   * @return true iff there was a move to undo.
+   */
+  public boolean undo(Game game) {
+    if (!canUndo()) {
+      return false;
+    }
+    current--;
+    slot(current).restore(game);
+    return true;
+  }
+
+  /**
+   * Play the last undone move again.
+   * @param game the game.
+   * @return true iff there was a move to redo.
+   */
+  public boolean redo(Game game) {
+    if (!canRedo()) {
+      return false;
+    }
+    current++;
+    slot(current).restore(game);
+    return true;
+  }
+
+  public boolean canUndo() {
+    return current > 0;
+  }
+
+  public boolean canRedo() {
+    return current + 1 < count;
+  }
+
+  /**
+   * Get the number of states that are kept.
+   * @return the number of states, the current one included.
+   */
+  public int size() {
+    return count;
+  }
+
+  public int getCapacity() {
+    return snapshots.length;
+  }
+
+  private Snapshot slot(int state) {
+    return snapshots[(first + state) % snapshots.length];
+  }
+
+  /**
+   * The state of a game at one moment.
+   */
+  private static final class Snapshot {
+    private final CompactBoard board;
+    private int score;
+    private int level;
+    private long random;
+
+    private Snapshot(int width, int height) {
+      this.board = new CompactBoard(width, height);
+    }
+
+    private void capture(Game game) {
+      Board tiles = game.getBoard();
+      board.copyFrom(tiles);
+      score = game.getLogic().getScore().getScore();
+      level = game.getLogic().getLevel().getLevel();
+      random = game.getRandom().getState();
+    }
+
+    private void restore(Game game) {
+      game.restore(board);
+      game.getRandom().setState(random);
+      game.getLogic().getScore().setScore(score);
+      game.getLogic().getLevel().setLevel(level);
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package main.java.group37.bejeweled.model;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The swaps a player made while the board was still animated, oldest first.
+ * Only the locations of a swap are kept, the tiles are looked up when the board
+ * has settled. A swap that waited too long is forgotten, and when the queue is
+ * full the oldest swap makes room. The queue is only used on the game thread.
+ * @author group37
+ */
+public class InputQueue {
+  public static final int CAPACITY = 3;
+  public static final long EXPIRY = TimeUnit.SECONDS.toNanos(2);
+
+  private final Deque<Intent> intents = new ArrayDeque<Intent>();
+  private final int capacity;
+  private final long expiry;
+  private long dropped;
+
+  /**
+   * Create a queue.
+   * @param capacity the maximum number of queued swaps.
+   * @param expiry time a swap may wait, in nanoseconds.
+   */
+  public InputQueue(int capacity, long expiry) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be at least 1");
+    }
+    this.capacity = capacity;
+    this.expiry = expiry;
+  }
+
+  /**
+   * Queue a swap.
+   * @param move the swap.
+   * @param time when the player made the swap, from {@link System#nanoTime()}.
+   */
+  public void offer(Move move, long time) {
+    if (intents.size() == capacity) {
+      intents.poll();
+      dropped++;
+    }
+    intents.add(new Intent(move, time));
+  }
+
+  /**
+   * Take the oldest swap that did not wait too long.
+   * @param now the current time, from {@link System#nanoTime()}.
+   * @return the swap, null if there is none.
+   */
+  public Intent poll(long now) {
+    Intent intent = intents.poll();
+    while (intent != null && now - intent.time > expiry) {
+      dropped++;
+      intent = intents.poll();
+    }
+    return intent;
+  }
+
+  /**
+   * Forget all swaps.
+   */
+  public void clear() {
+    intents.clear();
+  }
+
+  public int size() {
+    return intents.size();
+  }
+
+  /**
+   * Get the number of swaps that were forgotten because the queue was full
+   * or they waited too long.
+   * @return the number of dropped swaps.
+   */
+  public long getDropped() {
+    return dropped;
+  }
+
+  /**
+   * A swap and the time it was made.
+   */
+  public static class Intent {
+    private final Move move;
+    private final long time;
+
+    private Intent(Move move, long time) {
+      this.move = move;
+      this.time = time;
+    }
+
+    public Move getMove() {
+      return move;
+    }
+
+    public long getTime() {
+      return time;
+    }
+  }
+}
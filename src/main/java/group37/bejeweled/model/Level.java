@@ -1,7 +1,5 @@
 package main.java.group37.bejeweled.model;
 
-import main.java.group37.bejeweled.view.Panel;
-
 import java.util.ArrayList;
 import java.util.Observable;
 import java.util.Observer;
@@ -19,8 +17,8 @@ public class Level extends Observable {
     this.level = 1;
   }
   
-  public void registerObserver(Panel panel) {
-    obs.add(panel);    
+  public void registerObserver(Observer observer) {
+    obs.add(observer);
   }
 
   public void removeObserver(Observer observer) {
@@ -5,6 +5,7 @@ import java.io.PrintWriter;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class Logger {
   private static final String LOG_FILE = "log.txt";
@@ -12,7 +13,9 @@ public class Logger {
   private static PrintWriter writer = null;
   public static boolean consoleLog = true;
 
-  private static Logger logger = null;
+  private static volatile Logger logger = null;
+  //a lock instead of a monitor, so a virtual thread that waits for it doesn't pin its carrier
+  private static final ReentrantLock lock = new ReentrantLock();
   
   private Logger() {}
   
@@ -23,7 +26,8 @@ public class Logger {
   /**
    * Initialize logger.
    */
-  public static synchronized void init() {
+  public static void init() {
+    lock.lock();
     try {
       if (logger == null) {
         logger = new Logger();
@@ -33,6 +37,8 @@ public class Logger {
     } catch (Exception ex) {
       System.out.println("Can't open log file");
       return;
+    } finally {
+      lock.unlock();
     }
   }
   
@@ -40,8 +46,8 @@ public class Logger {
    * Write warning to log file.
    * @param error String with error message.
    */
-  public static synchronized void error(String error) {
-    logger.writeToLog("ERROR: " + error);
+  public static void error(String error) {
+    log("ERROR: " + error);
   }
   
   /**
@@ -63,16 +69,31 @@ public class Logger {
 
   /**
    * Write content to log file.
+   * Messages are dropped when the logger has not been initialized,
+   * so headless sessions don't contend on the log lock.
    * @param message to log.
    */
-  public static synchronized void log(String message) {
-    logger.writeToLog(message);
+  public static void log(String message) {
+    if (logger == null) {
+      return;
+    }
+    lock.lock();
+    try {
+      logger.writeToLog(message);
+    } finally {
+      lock.unlock();
+    }
   }
   
   /**
    * Clean up resources PrintWriter.
    */
-  public static synchronized void close() {
-    writer.close();
+  public static void close() {
+    lock.lock();
+    try {
+      writer.close();
+    } finally {
+      lock.unlock();
+    }
   }
 }
\ No newline at end of file
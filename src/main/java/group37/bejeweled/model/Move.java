@@ -0,0 +1,68 @@
+package main.java.group37.bejeweled.model;
+
+/**
+ * A swap of two tiles made by the player.
+ * @author group37
+ */
+public class Move {
+
+  private final int x0;
+  private final int y0;
+  private final int x1;
+  private final int y1;
+
+  /**
+   * Create a move that swaps tile (x0,y0) with tile (x1,y1).
+   * @param x0 column of the first tile.
+   * @param y0 row of the first tile.
+   * @param x1 column of the second tile.
+   * @param y1 row of the second tile.
+   */
+  public Move(int x0, int y0, int x1, int y1) {
+    this.x0 = x0;
+    this.y0 = y0;
+    this.x1 = x1;
+    this.y1 = y1;
+  }
+
+  public int getX0() {
+    return x0;
+  }
+
+  public int getY0() {
+    return y0;
+  }
+
+  public int getX1() {
+    return x1;
+  }
+
+  public int getY1() {
+    return y1;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof Move)) {
+      return false;
+    }
+    Move that = (Move) obj;
+    return x0 == that.x0 && y0 == that.y0 && x1 == that.x1 && y1 == that.y1;
+  }
+
+  @Override
+  public int hashCode() {
+    final int prime = 31;
+    int result = 1;
+    result = prime * result + x0;
+    result = prime * result + y0;
+    result = prime * result + x1;
+    result = prime * result + y1;
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "(" + x0 + "," + y0 + ") <-> (" + x1 + "," + y1 + ")";
+  }
+}
@@ -3,215 +3,334 @@ package main.java.group37.bejeweled.model;
 import main.java.group37.bejeweled.board.Board;
 import main.java.group37.bejeweled.board.Tile;
 import main.java.group37.bejeweled.combination.Combination;
-import main.java.group37.bejeweled.combination.CombinationFactory;
+import main.java.group37.bejeweled.combination.CombinationPool;
+import main.java.group37.bejeweled.metrics.GameMetrics;
+import main.java.group37.bejeweled.metrics.GameMetrics.Phase;
 
 import java.awt.Point;
-import java.io.FileNotFoundException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.Queue;
-import java.util.stream.Collectors;
 
+/**
+ * Finds the combinations on the board.
+ * Every cell of the board is a bit in a long, so a cluster of tiles with the same
+ * colour is a bitmask. The patterns are compiled once into a table: the cells of
+ * the cluster around a tile, in the window of cells any pattern uses, are the
+ * index of the best pattern that starts at that tile. Classifying a cluster is one
+ * lookup per tile, however many patterns there are. The table has an entry for
+ * every window, so a pattern that makes the window bigger doubles it per cell.
+ * @author group37
+ */
 public class PatternFinder {
   private Board board;
   public static int SIZE_X = 8;
   public static int SIZE_Y = 8;
-  private boolean[][] checked;
-  private Map<Tile,Boolean> processed;
-  private List<Point[]> patterns = new ArrayList<Point[]>();
-  private Queue<Tile> queue;
-  private final List<Point> translations =
-        Arrays.asList(new Point(1,0), new Point(-1,0),
-                      new Point(0,1), new Point(0,-1));
+  private static final int MAX_CELLS = 64;
+  private static final int MAX_WINDOW = 20;
+  private static final int[] DX = {1, -1, 0, 0};
+  private static final int[] DY = {0, 0, 1, -1};
+
+  private static final List<Point[]> patterns = new ArrayList<Point[]>();
+  private static final List<Combination.Type> patternTypes = new ArrayList<Combination.Type>();
+
+  //the window is a run of cells per column, from column minDx on
+  private static int minDx;
+  private static int[] columnTop;
+  private static int[] columnLength;
+  //best[window] is 1 + the index of the best pattern in the window, 0 for none
+  private static byte[] best;
+
+  static {
+    initializePatterns();
+    compilePatterns();
+  }
+
+  private int width;
+  private int height;
+  private long columnMask;
+  private long processed;
+  private final Tile[] cells = new Tile[MAX_CELLS];
+  private final int[] stack = new int[MAX_CELLS];
+  private final CombinationPool combinationPool = new CombinationPool();
 
   /**
    * Create PatternFinder object with reference to board.
    * @param board to check for patterns.
-   * @throws FileNotFoundException  throw if patterns.txt doesn't exist.
    */
   public PatternFinder(Board board) {
-    this.board = board;
-    this.processed = new HashMap<Tile,Boolean>();
-    resetChecked();
-    initializePatterns();
+    setBoard(board);
   }
 
   /**
    * Return all chains from the board.
+   * The combinations are reused by the next search of this finder.
    * @return list of combinations.
    */
   public List<Combination> getAllCombinationsOnBoard() {
-    this.processed.clear();
+    long start = System.nanoTime();
+    combinationPool.releaseAll();
+    this.processed = 0L;
     List<Combination> res = new ArrayList<Combination>();
-    Arrays.stream(board.board).forEach(row -> {
-        Arrays.stream(row)
-            .filter(tile -> !processed.containsKey(tile))
-            .forEach(tile -> {
-                List<Tile> cluster = findCluster(tile);
-                Combination comb = findPattern(cluster);
-                if (comb != null) { 
-                  res.add(comb); 
-                }
-              });
-      });
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < height; y++) {
+        Tile tile = board.board[x][y];
+        if (tile == null || (processed & bit(x, y)) != 0) {
+          continue;
+        }
+        long cluster = findCluster(tile, x, y);
+        processed |= cluster;
+        Combination comb = findPattern(cluster);
+        if (comb != null) {
+          res.add(comb);
+        }
+      }
+    }
+    GameMetrics.get().record(Phase.MATCH_FINDING, System.nanoTime() - start);
     return res;
   }
-  
+
   /**
    * Seatch for combination concerning a particular tile.
+   * The combination is reused by the next search of this finder.
    * @param tile tile to search combinations for.
    * @return the combination.
    */
   public Combination getSingleCombination(Tile tile) {
-    List<Tile> cluster = findCluster(tile);
-    Combination comb = findPattern(cluster);
-    return comb;
+    combinationPool.releaseAll();
+    long cluster = findCluster(tile, tile.getX(), tile.getY());
+    return findPattern(cluster);
   }
 
   /**
    * Use flood-fill algorithm to find clusters of gems with the same colour as tile.
+   * The tiles of the cluster are stored in cells.
    * @param tile tile to find the cluster with
-   * @return list of points
+   * @param x column of the tile
+   * @param y row of the tile
+   * @return bitmask of the cells in the cluster
    */
-  private List<Tile> findCluster(Tile tile) {
-    resetChecked();
-    queue = new LinkedList<Tile>();
-    List<Tile> res = new ArrayList<Tile>();
-    visitTile(tile,res);
+  private long findCluster(Tile tile, int x, int y) {
     int index = tile.getIndex();
-    while (!queue.isEmpty()) {
-      Tile currentTile = queue.poll();
-      translations.stream()
-        .map(p -> new Point(p.x + currentTile.getX(), p.y + currentTile.getY()))
-        .filter(p -> tileNotVisited(p))
-        .map(p -> getTile(p))
-        .filter(t -> t.getIndex() == index)
-        .forEach(t -> visitTile(t,res));
+    long cluster = bit(x, y);
+    cells[cell(x, y)] = tile;
+    int top = 0;
+    stack[top++] = cell(x, y);
+    while (top > 0) {
+      int current = stack[--top];
+      for (int i = 0; i < DX.length; i++) {
+        int nx = current / height + DX[i];
+        int ny = current % height + DY[i];
+        if (nx < 0 || nx >= width || ny < 0 || ny >= height
+            || (cluster & bit(nx, ny)) != 0) {
+          continue;
+        }
+        Tile next = board.board[nx][ny];
+        if (next != null && next.getIndex() == index) {
+          cluster |= bit(nx, ny);
+          cells[cell(nx, ny)] = next;
+          stack[top++] = cell(nx, ny);
+        }
+      }
     }
-    return res;
+    return cluster;
   }
 
-  private Combination findPattern(List<Tile> points) {
-    if (points.size() <= 2) {
+  /**
+   * Find the pattern with the highest priority in the cluster.
+   * When it fits at several tiles, the first tile wins.
+   * @param cluster bitmask of the cluster.
+   * @return the combination, null if the cluster doesn't contain a pattern.
+   */
+  private Combination findPattern(long cluster) {
+    if (Long.bitCount(cluster) <= 2) {
       return null;
     }
-    List<Point> cluster = points.stream().map(tile -> tile.loc)
-        .collect(Collectors.toList());
-    for (int patternIndex = patterns.size() - 1; patternIndex >= 0; patternIndex--) {
-      Point[] pattern = patterns.get(patternIndex);
-      final int numberOfPoints = pattern.length;
-      for (Point point : cluster) {
-        List<Tile> matches = Arrays.stream(pattern)
-            .map(p -> new Point(point.x + p.x, point.y + p.y))
-            .filter(p -> cluster.contains(p))
-            .map(p -> points.get(cluster.indexOf(p)))
-            .collect(Collectors.toList());
-        if (numberOfPoints == matches.size()) {
-          return createCombination(patternIndex,matches);
+    int bestPattern = 0;
+    int bestAnchor = 0;
+    long anchors = cluster;
+    while (anchors != 0) {
+      int anchor = Long.numberOfTrailingZeros(anchors);
+      anchors &= anchors - 1;
+      int pattern = best[window(cluster, anchor)];
+      if (pattern > bestPattern) {
+        bestPattern = pattern;
+        bestAnchor = anchor;
+        if (pattern == patterns.size()) {
+          break;
         }
       }
     }
-    return null;
+    return bestPattern == 0 ? null : createCombination(bestPattern - 1, bestAnchor);
   }
 
-  private void resetChecked() {
-    this.checked = new boolean[SIZE_X][SIZE_Y];
-    for (int i = 0; i < SIZE_X; i++) {
-      for (int j = 0; j < SIZE_Y; j++) {
-        checked[i][j] = false;
+  /**
+   * Get the cells of the cluster in the window of a tile.
+   * A column of the board is a run of bits, so every column of the window is a shift.
+   * @param cluster bitmask of the cluster.
+   * @param anchor cell of the tile.
+   * @return the bits of the window, cells outside the board are 0.
+   */
+  private int window(long cluster, int anchor) {
+    int ax = anchor / height;
+    int ay = anchor % height;
+    int window = 0;
+    int offset = 0;
+    for (int i = 0; i < columnLength.length; i++) {
+      int x = ax + minDx + i;
+      if (x >= 0 && x < width) {
+        long column = (cluster >>> (x * height)) & columnMask;
+        int shift = ay + columnTop[i];
+        long bits = shift >= 0 ? column >>> shift : column << -shift;
+        window |= (int) (bits & ((1L << columnLength[i]) - 1)) << offset;
       }
+      offset += columnLength[i];
     }
+    return window;
   }
 
-  private void visitTile(Tile tile, List<Tile> res) {
-    queue.add(tile);
-    processed.put(tile, true);
-    res.add(tile);
-    checked[tile.getX()][tile.getY()] = true;
-  }
-  
-  private Combination createCombination(int patternIndex, List<Tile> tiles) {
-    Combination.Type type = getTileStateFromIndex(patternIndex);
+  private Combination createCombination(int patternIndex, int anchor) {
+    Combination.Type type = patternTypes.get(patternIndex);
+    Logger.log("INDEX: " + patternIndex);
     Logger.log(type + "");
-    Combination combination = CombinationFactory.makeCombination(type);
-    combination.setTiles(tiles);
+    int ax = anchor / height;
+    int ay = anchor % height;
+    Combination combination = combinationPool.obtain(type);
+    List<Tile> tiles = combination.getTiles();
+    for (Point p : patterns.get(patternIndex)) {
+      tiles.add(cells[cell(ax + p.x, ay + p.y)]);
+    }
     return combination;
   }
-  
-  private Combination.Type getTileStateFromIndex(int index) {
-    Logger.log("INDEX: " + index);
-    if (index == 0 || index == 1) {
-      return Combination.Type.NORMAL;
-    } else if (index == 2 || index == 3) {
-      return Combination.Type.FLAME;
-    } else if (index >= 4 && index <= 11) {
-      return Combination.Type.STAR;
-    } else if (index == 12 || index == 13) {
-      return Combination.Type.HYPERCUBE;
-    }
-    return null;
+
+  private int cell(int x, int y) {
+    return x * height + y;
   }
 
-  private Tile getTile(Point point) {
-    return board.getTileAt(point.x, point.y);
+  private long bit(int x, int y) {
+    return 1L << cell(x, y);
   }
-  
-  private boolean tileNotVisited(Point point) {
-    return (withinBoundaries(point) && !checked[point.x][point.y]);
+
+  /**
+   * Compile the patterns into the window and the table of the best pattern per window.
+   */
+  private static void compilePatterns() {
+    minDx = Integer.MAX_VALUE;
+    int maxDx = Integer.MIN_VALUE;
+    for (Point[] pattern : patterns) {
+      for (Point p : pattern) {
+        minDx = Math.min(minDx, p.x);
+        maxDx = Math.max(maxDx, p.x);
+      }
+    }
+    columnTop = new int[maxDx - minDx + 1];
+    columnLength = new int[columnTop.length];
+    int[] columnBottom = new int[columnTop.length];
+    Arrays.fill(columnTop, Integer.MAX_VALUE);
+    Arrays.fill(columnBottom, Integer.MIN_VALUE);
+    for (Point[] pattern : patterns) {
+      for (Point p : pattern) {
+        columnTop[p.x - minDx] = Math.min(columnTop[p.x - minDx], p.y);
+        columnBottom[p.x - minDx] = Math.max(columnBottom[p.x - minDx], p.y);
+      }
+    }
+    int size = 0;
+    int[] columnOffset = new int[columnTop.length];
+    for (int i = 0; i < columnTop.length; i++) {
+      columnOffset[i] = size;
+      columnLength[i] = columnBottom[i] < columnTop[i] ? 0 : columnBottom[i] - columnTop[i] + 1;
+      size += columnLength[i];
+    }
+    if (size > MAX_WINDOW) {
+      throw new IllegalStateException("The patterns use " + size + " cells, at most "
+          + MAX_WINDOW + " are supported");
+    }
+    int[] masks = new int[patterns.size()];
+    for (int i = 0; i < masks.length; i++) {
+      for (Point p : patterns.get(i)) {
+        int column = p.x - minDx;
+        masks[i] |= 1 << (columnOffset[column] + p.y - columnTop[column]);
+      }
+    }
+    best = new byte[1 << size];
+    for (int window = 0; window < best.length; window++) {
+      for (int i = masks.length - 1; i >= 0; i--) {
+        if ((window & masks[i]) == masks[i]) {
+          best[window] = (byte) (i + 1);
+          break;
+        }
+      }
+    }
   }
 
-  private static boolean withinBoundaries(Point point) {
-    return (point.x >= 0 && point.x < SIZE_X && point.y >= 0 && point.y < SIZE_Y);
+  /**
+   * Add a pattern, patterns added later have a higher priority.
+   * The first point of the pattern is the tile that becomes the special gem.
+   * @param type type of combination the pattern makes.
+   * @param points the points of the pattern relative to the first point.
+   */
+  private static void addPattern(Combination.Type type, Point... points) {
+    patterns.add(points);
+    patternTypes.add(type);
   }
 
   /**
    * Initialize all patterns in specific order.
    */
-  private void initializePatterns() {
+  private static void initializePatterns() {
     //Normal
-    patterns.add(new Point[]{new Point(0,0), new Point(0,1), new Point(0,2)});
-    patterns.add(new Point[]{new Point(0,0), new Point(1,0), new Point(2,0)});
+    addPattern(Combination.Type.NORMAL, new Point(0,0), new Point(0,1), new Point(0,2));
+    addPattern(Combination.Type.NORMAL, new Point(0,0), new Point(1,0), new Point(2,0));
 
     //Flame
-    patterns.add(new Point[]{new Point(0,0), new Point(0,1), new Point(0,2), new Point(0,3)});
-    patterns.add(new Point[]{new Point(0,0), new Point(1,0), new Point(2,0), new Point(3,0)});
+    addPattern(Combination.Type.FLAME,
+        new Point(0,0), new Point(0,1), new Point(0,2), new Point(0,3));
+    addPattern(Combination.Type.FLAME,
+        new Point(0,0), new Point(1,0), new Point(2,0), new Point(3,0));
 
     //L shape
-    patterns.add(new Point[]{new Point(0,0), new Point(1,0), new Point(2,0),
-        new Point(2,1), new Point(2,2)});
-    patterns.add(new Point[]{new Point(0,0), new Point(0,1), new Point(0,2),
-        new Point(1,2), new Point(2,2)});
-    patterns.add(new Point[]{new Point(0,0), new Point(1,0), new Point(2,0),
-        new Point(0,1), new Point(0,2)});
-    patterns.add(new Point[]{new Point(0,0), new Point(1,0), new Point(2,0),
-        new Point(2,-1), new Point(2,-2)});
-    
+    addPattern(Combination.Type.STAR, new Point(0,0), new Point(1,0), new Point(2,0),
+        new Point(2,1), new Point(2,2));
+    addPattern(Combination.Type.STAR, new Point(0,0), new Point(0,1), new Point(0,2),
+        new Point(1,2), new Point(2,2));
+    addPattern(Combination.Type.STAR, new Point(0,0), new Point(1,0), new Point(2,0),
+        new Point(0,1), new Point(0,2));
+    addPattern(Combination.Type.STAR, new Point(0,0), new Point(1,0), new Point(2,0),
+        new Point(2,-1), new Point(2,-2));
+
     //T shape
-    patterns.add(new Point[]{new Point(0,0), new Point(1,0), new Point(2,0),
-        new Point(2,1), new Point(2,-1)});
-    patterns.add(new Point[]{new Point(0,0), new Point(1,0), new Point(2,0),
-        new Point(1,1), new Point(1,2)});
-    patterns.add(new Point[]{new Point(0,0), new Point(1,0), new Point(2,0),
-        new Point(1,-1), new Point(1,-2)});
-    patterns.add(new Point[]{new Point(0,0), new Point(1,0), new Point(2,0),
-        new Point(0,-1), new Point(0,1)});
-    
+    addPattern(Combination.Type.STAR, new Point(0,0), new Point(1,0), new Point(2,0),
+        new Point(2,1), new Point(2,-1));
+    addPattern(Combination.Type.STAR, new Point(0,0), new Point(1,0), new Point(2,0),
+        new Point(1,1), new Point(1,2));
+    addPattern(Combination.Type.STAR, new Point(0,0), new Point(1,0), new Point(2,0),
+        new Point(1,-1), new Point(1,-2));
+    addPattern(Combination.Type.STAR, new Point(0,0), new Point(1,0), new Point(2,0),
+        new Point(0,-1), new Point(0,1));
+
     //Hypercube
-    patterns.add(new Point[]{new Point(0,0), new Point(0,1), new Point(0,2),
-        new Point(0,3), new Point(0,4)});
-    patterns.add(new Point[]{new Point(0,0), new Point(1,0), new Point(2,0),
-        new Point(3,0), new Point(4,0)});
+    addPattern(Combination.Type.HYPERCUBE, new Point(0,0), new Point(0,1), new Point(0,2),
+        new Point(0,3), new Point(0,4));
+    addPattern(Combination.Type.HYPERCUBE, new Point(0,0), new Point(1,0), new Point(2,0),
+        new Point(3,0), new Point(4,0));
   }
-  
+
   public Board getBoard() {
     return this.board;
   }
-  
+
+  /**
+   * Set the board to search.
+   * @param board the board.
+   */
   public void setBoard(Board board) {
+    if (board.getWidth() * board.getHeight() > MAX_CELLS) {
+      throw new IllegalArgumentException("Boards larger than " + MAX_CELLS
+          + " cells are not supported");
+    }
     this.board = board;
+    this.width = board.getWidth();
+    this.height = board.getHeight();
+    this.columnMask = height == MAX_CELLS ? -1L : (1L << height) - 1;
   }
-}
\ No newline at end of file
+}
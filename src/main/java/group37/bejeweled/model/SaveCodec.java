@@ -0,0 +1,300 @@
+package main.java.group37.bejeweled.model;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Reads and writes save files without building a JSON tree.
+ * The writer puts the codes straight from a {@link SaveState} in the file and
+ * the reader parses the numbers straight into the codes, so no boxed numbers
+ * or lists are made. It reads every file json-simple wrote, in any key order
+ * and with any white space, and skips keys it doesn't know.
+ * @author group37
+ */
+public final class SaveCodec {
+
+  private static final int BUFFER = 8192;
+
+  private final Reader in;
+  private final char[] buffer;
+  private int pos;
+  private int limit;
+
+  private SaveCodec(Reader in) {
+    this.in = in;
+    this.buffer = new char[BUFFER];
+  }
+
+  /**
+   * Write a state in the save format.
+   * @param state the state.
+   * @param out where the JSON goes, it is not closed.
+   * @throws IOException when writing fails.
+   */
+  public static void write(SaveState state, Writer out) throws IOException {
+    StringBuilder json = new StringBuilder(64 + SavedGame.SIZE * SavedGame.SIZE * 3);
+    json.append("{\"score\":").append(state.getScore());
+    json.append(",\"level\":").append(state.getLevel());
+    if (state.hasBoard()) {
+      json.append(",\"board\":[");
+      for (int row = 0; row < SavedGame.SIZE; row++) {
+        json.append(row == 0 ? "[" : ",[");
+        for (int col = 0; col < SavedGame.SIZE; col++) {
+          if (col > 0) {
+            json.append(',');
+          }
+          json.append(state.getCode(col, row));
+        }
+        json.append(']');
+      }
+      json.append(']');
+    }
+    out.append(json.append('}'));
+  }
+
+  /**
+   * Read a state from a save file.
+   * @param in the JSON, it is not closed.
+   * @return the state, without a board if the file has none.
+   * @throws IOException when reading fails or the file is not a save file.
+   */
+  public static SaveState read(Reader in) throws IOException {
+    return new SaveCodec(in).readState();
+  }
+
+  private SaveState readState() throws IOException {
+    long score = Long.MIN_VALUE;
+    long level = Long.MIN_VALUE;
+    int[] codes = null;
+    expect('{');
+    if (peek() == '}') {
+      next();
+    } else {
+      int c;
+      do {
+        String key = readString();
+        expect(':');
+        if ("score".equals(key)) {
+          score = readInt();
+        } else if ("level".equals(key)) {
+          level = readInt();
+        } else if ("board".equals(key) && peek() != 'n') {
+          codes = readBoard();
+        } else {
+          skipValue();
+        }
+        c = next();
+      } while (c == ',');
+      if (c != '}') {
+        throw unexpected(c, '}');
+      }
+    }
+    if (score == Long.MIN_VALUE || level == Long.MIN_VALUE) {
+      throw new IOException("The save has no score or level");
+    }
+    return new SaveState((int) score, (int) level, codes);
+  }
+
+  private int[] readBoard() throws IOException {
+    int[] codes = new int[SavedGame.SIZE * SavedGame.SIZE];
+    expect('[');
+    for (int row = 0; row < SavedGame.SIZE; row++) {
+      if (row > 0) {
+        expect(',');
+      }
+      expect('[');
+      for (int col = 0; col < SavedGame.SIZE; col++) {
+        if (col > 0) {
+          expect(',');
+        }
+        codes[row * SavedGame.SIZE + col] = readInt();
+      }
+      expect(']');
+    }
+    expect(']');
+    return codes;
+  }
+
+  /**
+   * Get the next character that is not white space without reading it.
+   */
+  private int peek() throws IOException {
+    while (true) {
+      if (pos == limit) {
+        limit = in.read(buffer, 0, buffer.length);
+        pos = 0;
+        if (limit <= 0) {
+          limit = 0;
+          return -1;
+        }
+      }
+      char c = buffer[pos];
+      if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+        return c;
+      }
+      pos++;
+    }
+  }
+
+  private int next() throws IOException {
+    int c = peek();
+    if (c != -1) {
+      pos++;
+    }
+    return c;
+  }
+
+  private int nextRaw() throws IOException {
+    if (pos == limit) {
+      limit = in.read(buffer, 0, buffer.length);
+      pos = 0;
+      if (limit <= 0) {
+        limit = 0;
+        throw new IOException("The save ends too soon");
+      }
+    }
+    return buffer[pos++];
+  }
+
+  private void expect(char expected) throws IOException {
+    int c = next();
+    if (c != expected) {
+      throw unexpected(c, expected);
+    }
+  }
+
+  private static IOException unexpected(int found, char expected) {
+    return new IOException("Expected '" + expected + "' but found "
+        + (found == -1 ? "the end" : "'" + (char) found + "'"));
+  }
+
+  /**
+   * Read a whole number, numbers that don't fit in an int are refused.
+   */
+  private int readInt() throws IOException {
+    int c = next();
+    boolean negative = c == '-';
+    if (negative) {
+      c = nextRaw();
+    }
+    if (c < '0' || c > '9') {
+      throw new IOException("Expected a number but found "
+          + (c == -1 ? "the end" : "'" + (char) c + "'"));
+    }
+    long max = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+    long value = c - '0';
+    for (c = peekRaw(); c >= '0' && c <= '9'; c = peekRaw()) {
+      value = value * 10 + (c - '0');
+      if (value > max) {
+        throw new IOException("The number is too large");
+      }
+      pos++;
+    }
+    if (c == '.' || c == 'e' || c == 'E') {
+      throw new IOException("Expected a whole number");
+    }
+    return (int) (negative ? -value : value);
+  }
+
+  /**
+   * Fill the buffer if it is empty, without skipping white space.
+   */
+  private int peekRaw() throws IOException {
+    if (pos == limit) {
+      limit = in.read(buffer, 0, buffer.length);
+      pos = 0;
+      if (limit <= 0) {
+        limit = 0;
+        return -1;
+      }
+    }
+    return buffer[pos];
+  }
+
+  private String readString() throws IOException {
+    expect('"');
+    StringBuilder string = new StringBuilder();
+    int c = nextRaw();
+    while (c != '"') {
+      if (c == '\\') {
+        c = nextRaw();
+        switch (c) {
+          case 'n':
+            c = '\n';
+            break;
+          case 't':
+            c = '\t';
+            break;
+          case 'r':
+            c = '\r';
+            break;
+          case 'b':
+            c = '\b';
+            break;
+          case 'f':
+            c = '\f';
+            break;
+          case 'u':
+            c = 0;
+            for (int i = 0; i < 4; i++) {
+              c = c * 16 + hexDigit(nextRaw());
+            }
+            break;
+          default:
+            break;
+        }
+      }
+      string.append((char) c);
+      c = nextRaw();
+    }
+    return string.toString();
+  }
+
+  private static int hexDigit(int c) throws IOException {
+    if (c >= '0' && c <= '9') {
+      return c - '0';
+    } else if (c >= 'a' && c <= 'f') {
+      return c - 'a' + 10;
+    } else if (c >= 'A' && c <= 'F') {
+      return c - 'A' + 10;
+    }
+    throw new IOException("Expected a hex digit but found "
+        + (c == -1 ? "the end" : "'" + (char) c + "'"));
+  }
+
+  /**
+   * Skip a value of a key that isn't part of the save format.
+   */
+  private void skipValue() throws IOException {
+    int c = peek();
+    if (c == '"') {
+      readString();
+    } else if (c == '{' || c == '[') {
+      next();
+      char close = c == '{' ? '}' : ']';
+      if (peek() == close) {
+        next();
+        return;
+      }
+      int end;
+      do {
+        if (close == '}') {
+          readString();
+          expect(':');
+        }
+        skipValue();
+        end = next();
+      } while (end == ',');
+      if (end != close) {
+        throw unexpected(end, close);
+      }
+    } else {
+      next();
+      while (peekRaw() != -1 && (Character.isLetterOrDigit(buffer[pos])
+          || buffer[pos] == '.' || buffer[pos] == '-' || buffer[pos] == '+')) {
+        pos++;
+      }
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package main.java.group37.bejeweled.model;
+
+import main.java.group37.bejeweled.board.Board;
+import main.java.group37.bejeweled.board.FlameTile;
+import main.java.group37.bejeweled.board.HypercubeTile;
+import main.java.group37.bejeweled.board.StarTile;
+import main.java.group37.bejeweled.board.Tile;
+
+import java.util.Arrays;
+
+/**
+ * A copy of everything that goes in a save file.
+ * Taking it only copies the codes of the tiles, so it is cheap enough to do on
+ * the game thread after every move. Turning it into JSON is left to the
+ * {@link SaveCodec} on the writer thread.
+ * @author group37
+ */
+public final class SaveState {
+
+  private final int score;
+  private final int level;
+  private final int[] codes;
+
+  /**
+   * Create a state.
+   * @param score the score.
+   * @param level the level.
+   * @param codes the code of every tile, row by row, null if there is no board.
+   */
+  public SaveState(int score, int level, int[] codes) {
+    this.score = score;
+    this.level = level;
+    this.codes = codes;
+  }
+
+  /**
+   * Copy the state of a game.
+   * @param board the board of the game.
+   * @param score the score.
+   * @param level the level.
+   * @return the state.
+   */
+  public static SaveState of(Board board, int score, int level) {
+    int size = SavedGame.SIZE;
+    int[] codes = new int[size * size];
+    for (int row = 0; row < size; row++) {
+      for (int col = 0; col < size; col++) {
+        codes[row * size + col] = encode(board.getTileAt(col, row));
+      }
+    }
+    return new SaveState(score, level, codes);
+  }
+
+  /**
+   * Get the code of a tile in the save format, the index of the jewel
+   * plus 10 for a star, 20 for a flame and 30 for a hypercube.
+   * @param tile the tile.
+   * @return the code.
+   */
+  static int encode(Tile tile) {
+    if (tile instanceof StarTile) {
+      return tile.getIndex() + 10;
+    }
+    if (tile instanceof FlameTile) {
+      return tile.getIndex() + 20;
+    }
+    if (tile instanceof HypercubeTile) {
+      return tile.getIndex() + 30;
+    }
+    return tile.getIndex();
+  }
+
+  public int getScore() {
+    return score;
+  }
+
+  public int getLevel() {
+    return level;
+  }
+
+  public boolean hasBoard() {
+    return codes != null;
+  }
+
+  /**
+   * Get the code of a tile.
+   * @param col the column.
+   * @param row the row.
+   * @return the code.
+   */
+  public int getCode(int col, int row) {
+    return codes[row * SavedGame.SIZE + col];
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof SaveState)) {
+      return false;
+    }
+    SaveState that = (SaveState) other;
+    return score == that.score && level == that.level && Arrays.equals(codes, that.codes);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(codes) * 31 + score * 7 + level;
+  }
+}
@@ -1,25 +1,25 @@
 package main.java.group37.bejeweled.model;
 
 import main.java.group37.bejeweled.board.Board;
-import main.java.group37.bejeweled.board.FlameTile;
-import main.java.group37.bejeweled.board.HypercubeTile;
-import main.java.group37.bejeweled.board.NormalTile;
-import main.java.group37.bejeweled.board.StarTile;
+import main.java.group37.bejeweled.board.Sprites;
 import main.java.group37.bejeweled.board.Tile;
 import main.java.group37.bejeweled.board.TileFactory;
 import main.java.group37.bejeweled.combination.Combination.Type;
+import main.java.group37.bejeweled.metrics.jfr.LoadGameEvent;
+import main.java.group37.bejeweled.metrics.jfr.SaveGameEvent;
 
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
-
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
-
-import javax.swing.ImageIcon;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.locks.ReentrantLock;
 
 
 public class SavedGame {
@@ -28,6 +28,8 @@ public class SavedGame {
   public Board board;
 
   private static SavedGame instance = new SavedGame();
+  //saving and loading wait for this lock instead of a monitor, so virtual threads don't pin
+  private final ReentrantLock lock = new ReentrantLock();
 
   private SavedGame() {}
 
@@ -54,97 +56,109 @@ public class SavedGame {
   /**
    * The status of the game gets saved in JSON format.
    */
-  @SuppressWarnings("unchecked")
-  public synchronized void saveGame(String path) {
-    Board board = game.getBoard();
-    JSONObject obj = new JSONObject();
-    obj.put("score", GameLogic.get().getScore().getScore());
-    obj.put("level", GameLogic.get().getLevel().getLevel());
+  public void saveGame(String path) {
+    SaveState state = snapshot();
+    try {
+      write(state, Paths.get(path));
+    } catch (IOException e) {
+      Logger.error("Saving the game in " + path + " failed: " + e.getMessage());
+    }
+  }
 
-    JSONArray boardArray = new JSONArray();
+  /**
+   * Copy the state of the game, must be called on the thread of the game.
+   * @return the state.
+   */
+  public SaveState snapshot() {
+    return SaveState.of(game.getBoard(), game.getLogic().getScore().getScore(),
+        game.getLogic().getLevel().getLevel());
+  }
 
-    for (int row = 0; row < SIZE; row++) {
-      JSONArray list = new JSONArray();
-      for (int col = 0; col < SIZE; col++) {
-        if (board.getTileAt(col, row) instanceof NormalTile) {
-          list.add(board.getTileAt(col, row).getIndex());
-        }
-        if (board.getTileAt(col, row) instanceof StarTile) {
-          list.add(board.getTileAt(col, row).getIndex() + 10);
-        }
-        if (board.getTileAt(col, row) instanceof FlameTile) {
-          list.add(board.getTileAt(col, row).getIndex() + 20);
-        }
-        if (board.getTileAt(col, row) instanceof HypercubeTile) {
-          list.add(board.getTileAt(col, row).getIndex() + 30);
-        }
-      }
-      boardArray.add(list);
+  /**
+   * Write a state to a save file. It is written to a temporary file that is
+   * synced to the disk and then renamed, so the old file stays whole when the
+   * game crashes in the middle of writing.
+   * @param state the state.
+   * @param path the save file.
+   * @throws IOException when writing fails, the old file is kept.
+   */
+  public void write(SaveState state, Path path) throws IOException {
+    lock.lock();
+    try {
+      SaveGameEvent event = new SaveGameEvent();
+      writeToFile(state, path);
+      event.finish(game == null ? 0 : game.getBoard().getId(), 0, SIZE * SIZE);
+    } finally {
+      lock.unlock();
     }
-    obj.put("board", boardArray);
-    writeToFile(obj, path);
   }
 
-  private void writeToFile(JSONObject obj, String path) {
-    FileWriter file;
+  private void writeToFile(SaveState state, Path path) throws IOException {
+    Path temp = path.toAbsolutePath().resolveSibling(path.getFileName() + ".tmp");
+    try (FileOutputStream file = new FileOutputStream(temp.toFile());
+        Writer writer = new OutputStreamWriter(file, StandardCharsets.UTF_8)) {
+      SaveCodec.write(state, writer);
+      writer.flush();
+      file.getFD().sync();
+    }
     try {
-      file = new FileWriter(path);
-      file.write(obj.toJSONString());
-      file.flush();
-      file.close();
-    } catch (Exception e) {
-      e.printStackTrace();
+      Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
     }
   }
 
   /**
    * The reader method.
    */
-  public synchronized void loadGame(String path) {
-    JSONObject obj = parseJsonFromFile(path);
-    if (obj == null ) {
+  public void loadGame(String path) {
+    lock.lock();
+    try {
+      readGame(path);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void readGame(String path) {
+    LoadGameEvent event = new LoadGameEvent();
+    SaveState state = readFromFile(path);
+    if (state == null) {
       return;
     }
-    getScore(obj);
-    getLevel(obj);
+    GameLogic.get().getScore().setScore(state.getScore());
+    Logger.log(" Read Score: " + state.getScore());
+    GameLogic.get().getLevel().setLevel(state.getLevel());
+    Logger.log("Read Level: " + state.getLevel());
 
-    Tile[][] newBoard = new Tile[SIZE][SIZE];
-    if (getBoard(obj,newBoard)) {
-      game.getBoard().board = newBoard;
+    if (state.hasBoard()) {
+      game.getBoard().board = getBoard(state);
     } else {
       game.generateRandomBoard();
     }
+    game.getHistory().reset(game);
+    event.finish(game.getBoard().getId(), 0, game.getBoard().getSize());
   }
 
   /**
-   * Load JSON datd from file and parse the data into a JSON object.
-   * @return object with parsed data from JSON file.
+   * Load the state of a game from a save file.
+   * @param path the save file.
+   * @return the state, null if the file can't be read.
    */
-  protected JSONObject parseJsonFromFile(String path) {
-    JSONParser parser = new JSONParser();
-    JSONObject obj = null;
-    try {
-      obj = (JSONObject) parser.parse(new FileReader(path));
-    } catch (FileNotFoundException e) {
-      e.printStackTrace();
+  protected SaveState readFromFile(String path) {
+    try (Reader reader = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+      return SaveCodec.read(reader);
     } catch (IOException e) {
-      e.printStackTrace();
-    } catch (ParseException e) {
-      e.printStackTrace();
+      Logger.error("Loading the game from " + path + " failed: " + e.getMessage());
+      return null;
     }
-    return obj;
   }
 
-  private boolean getBoard(JSONObject obj,Tile[][] bd) {
-    JSONArray tiles = (JSONArray) obj.get("board");
-    if (tiles == null) {
-      return false;
-    }
-    int index = 0;
+  private Tile[][] getBoard(SaveState state) {
+    Tile[][] bd = new Tile[SIZE][SIZE];
     for (int row = 0; row < SIZE; row++) {
-      JSONArray rowJ = (JSONArray) tiles.get(row);
       for (int col = 0; col < SIZE; col++) {
-        int newIndex = ((Long)rowJ.get(col)).intValue();
+        int newIndex = state.getCode(col, row);
         if (newIndex < 10) {
           bd[col][row] = TileFactory.generateTile(Type.NORMAL,col,row);
         } else if (newIndex >= 10 && newIndex < 20) {
@@ -154,27 +168,11 @@ public class SavedGame {
         } else if (newIndex >= 30) {
           bd[col][row] = TileFactory.generateTile(Type.HYPERCUBE,col,row);
         }
-        index = newIndex % 10;
+        int index = newIndex % 10;
         bd[col][row].setIndex(index);
-        bd[col][row].setImage(new ImageIcon(bd[col][row].paths[index]));
+        bd[col][row].setImage(Sprites.get(bd[col][row].paths[index]));
       }
     }
-    return true;
-  }
-  
-  private int getScore(JSONObject obj) {
-    Long score = (Long) obj.get("score");
-    Integer score1 = new Integer(score.intValue());
-    GameLogic.get().getScore().setScore(score1);
-    Logger.log(" Read Score: " + score);
-    return score1;
-  }
-
-  private int getLevel(JSONObject obj) {
-    Long level = (Long) obj.get("level");
-    Integer level1 = new Integer(level.intValue());
-    GameLogic.get().getLevel().setLevel(level1);
-    Logger.log("Read Level: " + level);
-    return level1;
+    return bd;
   }
-}
\ No newline at end of file
+}
@@ -6,6 +6,11 @@ import main.java.group37.bejeweled.board.HypercubeTile;
 import main.java.group37.bejeweled.board.StarTile;
 import main.java.group37.bejeweled.board.Tile;
 import main.java.group37.bejeweled.combination.Combination;
+import main.java.group37.bejeweled.metrics.GameMetrics;
+import main.java.group37.bejeweled.metrics.InputTrace;
+import main.java.group37.bejeweled.metrics.InputTrace.Stage;
+import main.java.group37.bejeweled.metrics.GameMetrics.Phase;
+import main.java.group37.bejeweled.metrics.jfr.SwapEvent;
 import main.java.group37.bejeweled.view.Animation;
 import main.java.group37.bejeweled.view.Main;
 
@@ -24,7 +29,8 @@ import java.util.stream.Collectors;
 public class SwapHandler {
 
   private Board board;
-  public List<Tile> swapTiles;
+  private List<Point> dragged;
+  private final InputQueue queue = new InputQueue(InputQueue.CAPACITY, InputQueue.EXPIRY);
   private Tile[] swappedTiles;
   private PatternFinder finder;
   private Main main;
@@ -32,6 +38,14 @@ public class SwapHandler {
   private static SwapHandler instance = new SwapHandler();
 
   private SwapHandler() {}
+
+  /**
+   * Create a swap handler for a game that is not bound to the GUI.
+   * @param board a board object.
+   */
+  public SwapHandler(Board board) {
+    setRefrences(board, null);
+  }
   
   public static SwapHandler get() {
     return instance;
@@ -45,27 +59,95 @@ public class SwapHandler {
     this.board = board;
     this.main = main;
     
-    swapTiles = new ArrayList<Tile>();
+    dragged = new ArrayList<Point>();
     swappedTiles = new Tile[2];
+    queue.clear();
     
     finder = new PatternFinder(board);
   }
   
   /**
-   * Add tile to swapTiles based on location from the mouseEvent.
+   * Add the location of a tile the mouse was dragged over. The first two
+   * locations of a drag are the swap the player wants to make.
    * @param loc location of tile
    */
   public void addTile(Point loc) {
-    int col = loc.x;
-    int row = loc.y;
-    if (!swapTiles.contains(board.getTileAt(col, row))) {
-      swapTiles.add(board.getTileAt(col, row));
-      main.setFocus(loc);
-      if (swapTiles.size() == 2 && canSwap()) {              
-        swapTiles(swapTiles);
-        swapTiles.clear();
+    if (dragged.size() == 2 || dragged.contains(loc)) {
+      return;
+    }
+    InputTrace.get().mark(Stage.ADD_TILE);
+    dragged.add(loc);
+    main.setFocus(loc);
+    if (dragged.size() == 2) {
+      Point p0 = dragged.get(0);
+      submit(new Move(p0.x, p0.y, loc.x, loc.y));
+    }
+  }
+
+  /**
+   * Forget the locations of the drag, called when the mouse is released.
+   */
+  public void release() {
+    dragged.clear();
+  }
+
+  /**
+   * Make a swap the player wants. While the board is animated the swap is
+   * queued, and checked against the board when the move has settled.
+   * @param move the swap.
+   */
+  public void submit(Move move) {
+    if (main != null && main.animations.isRunning()) {
+      queue.offer(move, System.nanoTime());
+      Logger.log("Queued swap " + move);
+    } else {
+      execute(move);
+    }
+  }
+
+  /**
+   * Make the first queued swap that is still allowed, called when the last
+   * cascade of a move has ended.
+   */
+  public void settled() {
+    InputQueue.Intent intent = queue.poll(System.nanoTime());
+    while (intent != null) {
+      //the player waited for the swap since the drag
+      InputTrace.get().input(intent.getTime());
+      if (execute(intent.getMove())) {
+        Logger.log("Made queued swap " + intent.getMove() + " after "
+            + (System.nanoTime() - intent.getTime()) / 1000000 + " ms");
+        return;
       }
+      intent = queue.poll(System.nanoTime());
+    }
+  }
+
+  /**
+   * Forget the queued swaps, when the game ends.
+   */
+  public void clearQueue() {
+    queue.clear();
+  }
+
+  public InputQueue getQueue() {
+    return queue;
+  }
+
+  /**
+   * Swap the tiles of a move if that is allowed on the current board.
+   * @param move the swap.
+   * @return true iff the tiles are swapped.
+   */
+  private boolean execute(Move move) {
+    Tile t0 = board.getTileAt(move.getX0(), move.getY0());
+    Tile t1 = board.getTileAt(move.getX1(), move.getY1());
+    if (!canSwap(t0, t1)) {
+      return false;
     }
+    InputTrace.get().mark(Stage.VALIDATED);
+    swapTiles(Arrays.asList(t0, t1));
+    return true;
   }
   
   /**
@@ -88,25 +170,29 @@ public class SwapHandler {
   }
   
   /**
-   * Swap two tiles if it result in a sequence of 3 of more tiles with the same color.
+   * Check if t0 and t1 may be swapped.
+   * @param t0 first tile to swap.
+   * @param t1 second tile to swap.
+   * @return true iff the swap is allowed.
    */
-  public boolean canSwap() {
-    Tile t0 = board.getTileAt(swapTiles.get(0).getX(), swapTiles.get(0).getY());
-    Tile t1 = board.getTileAt(swapTiles.get(1).getX(), swapTiles.get(1).getY());
-
-    if (t0 instanceof HypercubeTile || t1 instanceof HypercubeTile) {
-      return true;
-    }
-
-    if (!createsCombination(t0,t1)) {
-      return false;
-    }
+  public boolean canSwap(Tile t0, Tile t1) {
+    long start = System.nanoTime();
+    boolean res = isValidSwap(t0, t1);
+    GameMetrics.get().record(Phase.SWAP_VALIDATION, System.nanoTime() - start);
+    return res;
+  }
 
+  private boolean isValidSwap(Tile t0, Tile t1) {
     if (!isNeighbour(t0,t1)) {
       Logger.error("t0 and t1 are not neighbours.");
       return false;
     }
-    return true;
+
+    if (t0 instanceof HypercubeTile || t1 instanceof HypercubeTile) {
+      return true;
+    }
+
+    return createsCombination(t0,t1);
   }
   
   /**
@@ -169,7 +255,7 @@ public class SwapHandler {
       }
     }
     
-    GameLogic.get().addTiles(res,list);
+    GameLogic.addTiles(res,list);
   }
   
   
@@ -223,11 +309,6 @@ public class SwapHandler {
     return tiles;
   }
   
-  public List<Tile> getSwapTiles() {
-    return swapTiles;
-  }
-  
-
   /**
    * Check if tile t0 and t1 can create a valid combination.
    * @param t0 tile 1
@@ -247,9 +328,12 @@ public class SwapHandler {
    * @param swapTiles the list of (two) tiles that should be swapped.
    */
   public void swapTiles(List<Tile> swapTiles) {
+    SwapEvent event = new SwapEvent();
+    InputTrace.get().mark(Stage.SWAP_STARTED);
     main.animations.setType(Animation.Type.SWAP);
     main.animations.setSwapTiles(swapTiles.get(0),swapTiles.get(1));
     main.animations.start();
     Logger.log("Swap tiles: " + swapTiles.get(0).getLoc() + ", " + swapTiles.get(1).getLoc());
+    event.finish(board.getId(), 0, swapTiles.size());
   }
 }
\ No newline at end of file
@@ -0,0 +1,181 @@
+package main.java.group37.bejeweled.replay;
+
+import main.java.group37.bejeweled.board.BoardLayer;
+import main.java.group37.bejeweled.board.Geometry;
+import main.java.group37.bejeweled.board.SpriteSet;
+import main.java.group37.bejeweled.board.Sprites;
+import main.java.group37.bejeweled.board.Tile;
+import main.java.group37.bejeweled.model.Game;
+import main.java.group37.bejeweled.model.Logger;
+import main.java.group37.bejeweled.model.Move;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Paints a recorded game into a numbered sequence of PNG files, without a
+ * window, so it also runs with -Djava.awt.headless=true. The game is replayed
+ * and painted on the calling thread, one frame for the board at the start and
+ * one after every move. The frames are written by a pool of threads. Only a
+ * fixed number of frame images exist; when all of them wait to be written
+ * the replay waits, so a long game does not fill the memory.
+ * @author group37
+ */
+public class ReplayExporter {
+
+  private final Geometry geometry;
+  private final int threads;
+  private final int buffers;
+
+  /**
+   * Create an exporter with one writer per available processor.
+   * @param geometry the size of the frames.
+   */
+  public ReplayExporter(Geometry geometry) {
+    this(geometry, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Create an exporter.
+   * @param geometry the size of the frames.
+   * @param threads number of threads that write frames.
+   */
+  public ReplayExporter(Geometry geometry, int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("threads must be at least 1");
+    }
+    this.geometry = geometry;
+    this.threads = threads;
+    this.buffers = 2 * threads;
+  }
+
+  /**
+   * Paint a game into the files frame-00000.png, frame-00001.png and so on.
+   * The export stops at the first move that is not legal.
+   * @param game the recorded game.
+   * @param directory where the files are written, it is created if needed.
+   * @return the number of frames that were written.
+   * @throws IOException if a frame could not be written.
+   */
+  public int export(SubmittedGame game, File directory) throws IOException {
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new IOException("Cannot create " + directory);
+    }
+    Sprites.loadAll();
+    SpriteSet sprites = SpriteSet.of(geometry);
+    BoardLayer layer = new BoardLayer();
+    BlockingQueue<BufferedImage> free = new ArrayBlockingQueue<BufferedImage>(buffers);
+    for (int i = 0; i < buffers; i++) {
+      free.add(new BufferedImage(geometry.getWidth(), geometry.getHeight(),
+          BufferedImage.TYPE_INT_RGB));
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<?>> writes = new ArrayList<Future<?>>();
+    Game replay = new Game(game.getSeed());
+    try {
+      writes.add(write(executor, free, paint(free.take(), layer, replay, sprites),
+          frame(directory, 0)));
+      for (Move move : game.getMoves()) {
+        if (!replay.makeMove(move)) {
+          Logger.error("Replay of " + game.getId() + " stopped at an illegal move");
+          break;
+        }
+        writes.add(write(executor, free, paint(free.take(), layer, replay, sprites),
+            frame(directory, writes.size())));
+      }
+      for (Future<?> write : writes) {
+        write.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Export of " + game.getId() + " was interrupted");
+    } catch (ExecutionException e) {
+      throw new IOException("Export of " + game.getId() + " failed", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+    return writes.size();
+  }
+
+  private static BufferedImage paint(BufferedImage image, BoardLayer layer, Game game,
+      SpriteSet sprites) {
+    Graphics2D graphics = image.createGraphics();
+    layer.paint(graphics, game.getBoard(), sprites);
+    graphics.dispose();
+    return image;
+  }
+
+  private static Future<?> write(ExecutorService executor, BlockingQueue<BufferedImage> free,
+      BufferedImage image, File file) {
+    return executor.submit(() -> {
+        try {
+          ImageIO.write(image, "png", file);
+        } finally {
+          free.add(image);
+        }
+        return null;
+      });
+  }
+
+  private static File frame(File directory, int number) {
+    return new File(directory, String.format("frame-%05d.png", number));
+  }
+
+  /**
+   * Export a game played by the hint bot.
+   * @param args seed, number of moves and the directory of the frames.
+   * @throws IOException if a frame could not be written.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 3) {
+      System.out.println("Usage: ReplayExporter <seed> <moves> <directory> [width height]");
+      return;
+    }
+    long seed = Long.parseLong(args[0]);
+    Geometry geometry = Geometry.DESIGN;
+    if (args.length >= 5) {
+      geometry = Geometry.of(Integer.parseInt(args[3]), Integer.parseInt(args[4]));
+    }
+    long start = System.nanoTime();
+    int frames = new ReplayExporter(geometry).export(
+        bot(seed, Integer.parseInt(args[1])), new File(args[2]));
+    System.out.println(String.format("%d frames in %.1f s", frames,
+        (System.nanoTime() - start) / 1e9));
+  }
+
+  /**
+   * Play a game by always making the move of the hint.
+   * @param seed seed of the game.
+   * @param moves maximum number of moves.
+   * @return the recorded game.
+   */
+  public static SubmittedGame bot(long seed, int moves) {
+    Game game = new Game(seed);
+    List<Move> played = new ArrayList<Move>();
+    for (int i = 0; i < moves; i++) {
+      List<Tile> hint = game.getLogic().getHint();
+      if (hint == null) {
+        break;
+      }
+      Move move = new Move(hint.get(0).getX(), hint.get(0).getY(),
+          hint.get(1).getX(), hint.get(1).getY());
+      if (!game.makeMove(move)) {
+        break;
+      }
+      played.add(move);
+    }
+    return new SubmittedGame("bot" + seed, seed, played, game.getLogic().getScore().getScore());
+  }
+}
@@ -0,0 +1,129 @@
+package main.java.group37.bejeweled.replay;
+
+import main.java.group37.bejeweled.model.Game;
+import main.java.group37.bejeweled.model.Logger;
+import main.java.group37.bejeweled.model.Move;
+import main.java.group37.bejeweled.replay.VerificationResult.Status;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Re-simulates submitted games without the GUI and checks the claimed scores.
+ * Every worker thread takes submissions from a shared queue until it is empty,
+ * each submission is replayed on its own {@link Game}.
+ * @author group37
+ */
+public class ScoreVerifier {
+
+  private final int threads;
+
+  /**
+   * Create a verifier with one worker per available processor.
+   */
+  public ScoreVerifier() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Create a verifier.
+   * @param threads number of worker threads.
+   */
+  public ScoreVerifier(int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("threads must be at least 1");
+    }
+    this.threads = threads;
+  }
+
+  /**
+   * Replay a single submission and compare the score.
+   * @param submission the submitted game.
+   * @return the result of the verification.
+   */
+  public static VerificationResult verify(SubmittedGame submission) {
+    Game game = new Game(submission.getSeed());
+    int played = 0;
+    try {
+      for (Move move : submission.getMoves()) {
+        if (!game.makeMove(move)) {
+          return new VerificationResult(submission, Status.ILLEGAL_MOVE, score(game), played);
+        }
+        played++;
+      }
+    } catch (RuntimeException e) {
+      Logger.error("Replay of " + submission.getId() + " failed: " + e);
+      return new VerificationResult(submission, Status.ERROR, score(game), played);
+    }
+    int score = score(game);
+    Status status = Status.ACCEPTED;
+    if (score != submission.getClaimedScore()) {
+      status = Status.WRONG_SCORE;
+    }
+    return new VerificationResult(submission, status, score, played);
+  }
+
+  private static int score(Game game) {
+    return game.getLogic().getScore().getScore();
+  }
+
+  /**
+   * Verify all submissions in parallel.
+   * @param submissions the submitted games.
+   * @return report with all results and the throughput.
+   */
+  public VerificationReport verifyAll(Collection<SubmittedGame> submissions) {
+    return verifyAll(new ConcurrentLinkedQueue<SubmittedGame>(submissions));
+  }
+
+  /**
+   * Verify submissions from the queue in parallel until the queue is empty.
+   * @param queue a thread safe queue with submitted games.
+   * @return report with all results and the throughput.
+   */
+  public VerificationReport verifyAll(Queue<SubmittedGame> queue) {
+    long start = System.nanoTime();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    //the workers add every result right away, so a worker that fails loses nothing
+    Queue<VerificationResult> results = new ConcurrentLinkedQueue<VerificationResult>();
+    List<Future<?>> workers = new ArrayList<Future<?>>();
+    for (int i = 0; i < threads; i++) {
+      workers.add(executor.submit(() -> drain(queue, results)));
+    }
+    try {
+      for (Future<?> worker : workers) {
+        try {
+          worker.get();
+        } catch (ExecutionException e) {
+          Logger.error("Score verification worker failed: " + e.getCause());
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      executor.shutdownNow();
+    }
+    return new VerificationReport(new ArrayList<VerificationResult>(results),
+        System.nanoTime() - start);
+  }
+
+  private static void drain(Queue<SubmittedGame> queue, Queue<VerificationResult> results) {
+    SubmittedGame submission = queue.poll();
+    while (submission != null) {
+      try {
+        results.add(verify(submission));
+      } catch (RuntimeException e) {
+        Logger.error("Replay of " + submission.getId() + " failed: " + e);
+        results.add(new VerificationResult(submission, Status.ERROR, 0, 0));
+      }
+      submission = queue.poll();
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package main.java.group37.bejeweled.replay;
+
+import main.java.group37.bejeweled.model.Move;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A game submitted for the leaderboard: the seed of the board,
+ * the moves the player made and the score the player claims.
+ * @author group37
+ */
+public class SubmittedGame {
+
+  private final String id;
+  private final long seed;
+  private final List<Move> moves;
+  private final int claimedScore;
+
+  /**
+   * Create a submitted game.
+   * @param id identifier of the submission.
+   * @param seed seed the game was started with.
+   * @param moves the moves in the order they were played.
+   * @param claimedScore the score the player claims to have reached.
+   */
+  public SubmittedGame(String id, long seed, List<Move> moves, int claimedScore) {
+    this.id = id;
+    this.seed = seed;
+    this.moves = Collections.unmodifiableList(new ArrayList<Move>(moves));
+    this.claimedScore = claimedScore;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  public List<Move> getMoves() {
+    return moves;
+  }
+
+  public int getClaimedScore() {
+    return claimedScore;
+  }
+}
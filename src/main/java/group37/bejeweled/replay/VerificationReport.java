@@ -0,0 +1,80 @@
+package main.java.group37.bejeweled.replay;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Results of a batch of verifications and the throughput of the batch.
+ * @author group37
+ */
+public class VerificationReport {
+
+  private final List<VerificationResult> results;
+  private final long elapsedNanos;
+
+  /**
+   * Create a report.
+   * @param results the results of all verified games.
+   * @param elapsedNanos wall clock time the batch took.
+   */
+  public VerificationReport(List<VerificationResult> results, long elapsedNanos) {
+    this.results = Collections.unmodifiableList(results);
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  public List<VerificationResult> getResults() {
+    return results;
+  }
+
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Get the number of games that were verified.
+   * @return the number of games.
+   */
+  public int getVerified() {
+    return results.size();
+  }
+
+  /**
+   * Get the number of games with a correct score.
+   * @return the number of accepted games.
+   */
+  public int getAccepted() {
+    int accepted = 0;
+    for (VerificationResult result : results) {
+      if (result.isAccepted()) {
+        accepted++;
+      }
+    }
+    return accepted;
+  }
+
+  /**
+   * Get the number of games that were rejected.
+   * @return the number of rejected games.
+   */
+  public int getRejected() {
+    return getVerified() - getAccepted();
+  }
+
+  /**
+   * Throughput of the batch.
+   * @return games verified per second.
+   */
+  public double getGamesPerSecond() {
+    if (elapsedNanos <= 0) {
+      return 0;
+    }
+    return results.size() * 1e9 / elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    return "Verified " + getVerified() + " games (" + getAccepted() + " accepted, "
+        + getRejected() + " rejected) in " + (elapsedNanos / 1000000) + " ms, "
+        + String.format("%.1f", getGamesPerSecond()) + " games/s";
+  }
+}
@@ -0,0 +1,61 @@
+package main.java.group37.bejeweled.replay;
+
+/**
+ * Outcome of re-simulating a single submitted game.
+ * @author group37
+ */
+public class VerificationResult {
+
+  /**
+   * enum Status tells why a submission was accepted or rejected.
+   */
+  public enum Status {
+    ACCEPTED, WRONG_SCORE, ILLEGAL_MOVE, ERROR;
+  }
+
+  private final SubmittedGame game;
+  private final Status status;
+  private final int computedScore;
+  private final int movesPlayed;
+
+  /**
+   * Create a verification result.
+   * @param game the submitted game.
+   * @param status the outcome.
+   * @param computedScore score reached by the re-simulation.
+   * @param movesPlayed number of moves that were replayed successfully.
+   */
+  public VerificationResult(SubmittedGame game, Status status, int computedScore,
+      int movesPlayed) {
+    this.game = game;
+    this.status = status;
+    this.computedScore = computedScore;
+    this.movesPlayed = movesPlayed;
+  }
+
+  public SubmittedGame getGame() {
+    return game;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public int getComputedScore() {
+    return computedScore;
+  }
+
+  public int getMovesPlayed() {
+    return movesPlayed;
+  }
+
+  public boolean isAccepted() {
+    return status == Status.ACCEPTED;
+  }
+
+  @Override
+  public String toString() {
+    return game.getId() + ": " + status + " (claimed " + game.getClaimedScore()
+        + ", computed " + computedScore + ", moves " + movesPlayed + ")";
+  }
+}
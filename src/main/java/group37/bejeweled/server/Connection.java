@@ -0,0 +1,150 @@
+package main.java.group37.bejeweled.server;
+
+import main.java.group37.bejeweled.model.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A client connected to the game server.
+ * Reading and writing happen on the selector thread of the connection,
+ * frames can be sent from any thread.
+ * @author group37
+ */
+class Connection {
+
+  private final SocketChannel channel;
+  private final SelectorLoop loop;
+  private final GameServer server;
+  private final ByteBuffer in = ByteBuffer.allocate(2 * Protocol.MAX_FRAME);
+  private final Queue<ByteBuffer> out = new ConcurrentLinkedQueue<ByteBuffer>();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean();
+  private final Set<Integer> sessions = ConcurrentHashMap.<Integer>newKeySet();
+  private SelectionKey key;
+  private volatile boolean closed;
+
+  Connection(SocketChannel channel, SelectorLoop loop, GameServer server) {
+    this.channel = channel;
+    this.loop = loop;
+    this.server = server;
+  }
+
+  void setKey(SelectionKey key) {
+    this.key = key;
+  }
+
+  /**
+   * Read what is available and hand every complete frame to the server.
+   * The payload passed to the server is only valid during the call.
+   */
+  void read() {
+    try {
+      if (channel.read(in) < 0) {
+        close();
+        return;
+      }
+      in.flip();
+      while (in.remaining() >= 4) {
+        int length = in.getInt(in.position());
+        if (length < 1 || length > Protocol.MAX_FRAME) {
+          throw new IOException("Bad frame length " + length);
+        }
+        if (in.remaining() < 4 + length) {
+          break;
+        }
+        in.getInt();
+        byte type = in.get();
+        ByteBuffer payload = in.slice();
+        payload.limit(length - 1);
+        in.position(in.position() + length - 1);
+        server.dispatch(this, type, payload);
+      }
+      in.compact();
+    } catch (IOException e) {
+      Logger.error("Connection failed: " + e.getMessage());
+      close();
+    } catch (RuntimeException e) {
+      //a bad message only ends its own connection, not the selector thread
+      Logger.error("Message of connection failed: " + e);
+      close();
+    }
+  }
+
+  /**
+   * Queue a frame, it is written by the selector thread.
+   * @param frame the frame.
+   */
+  void send(ByteBuffer frame) {
+    if (closed) {
+      return;
+    }
+    out.add(frame);
+    if (flushScheduled.compareAndSet(false, true)) {
+      loop.execute(this::flush);
+    }
+  }
+
+  /**
+   * Write the queued frames, when the socket is full the rest is written
+   * when the selector reports it is writable again.
+   */
+  void flush() {
+    if (closed) {
+      return;
+    }
+    try {
+      ByteBuffer frame = out.peek();
+      while (frame != null) {
+        channel.write(frame);
+        if (frame.hasRemaining()) {
+          key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+          return;
+        }
+        out.poll();
+        frame = out.peek();
+      }
+      key.interestOps(SelectionKey.OP_READ);
+      flushScheduled.set(false);
+      if (!out.isEmpty() && flushScheduled.compareAndSet(false, true)) {
+        loop.execute(this::flush);
+      }
+    } catch (IOException e) {
+      Logger.error("Connection failed: " + e.getMessage());
+      close();
+    }
+  }
+
+  /**
+   * Close the connection and end its sessions.
+   */
+  void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (key != null) {
+      key.cancel();
+    }
+    try {
+      channel.close();
+    } catch (IOException e) {
+      Logger.error("Closing connection failed: " + e.getMessage());
+    }
+    server.connectionClosed(this);
+  }
+
+  boolean isClosed() {
+    return closed;
+  }
+
+  Set<Integer> getSessions() {
+    return sessions;
+  }
+}
@@ -0,0 +1,67 @@
+package main.java.group37.bejeweled.server;
+
+import main.java.group37.bejeweled.board.CompactBoard;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Applies the deltas written by {@link DeltaEncoder} to a compact board.
+ * @author group37
+ */
+public final class DeltaDecoder {
+
+  private DeltaDecoder() {}
+
+  /**
+   * Apply the delta of a move to the board from before the move.
+   * @param delta the delta, an empty delta changes nothing.
+   * @param board the board.
+   */
+  public static void apply(ByteBuffer delta, CompactBoard board) {
+    if (!delta.hasRemaining()) {
+      return;
+    }
+    int c0 = delta.get();
+    int c1 = delta.get();
+    int code = board.getCell(c0);
+    board.setCell(c0, board.getCell(c1));
+    board.setCell(c1, code);
+
+    int cascades = delta.get() & 0xff;
+    for (int i = 0; i < cascades; i++) {
+      applyCascade(delta, board);
+    }
+  }
+
+  private static void applyCascade(ByteBuffer delta, CompactBoard board) {
+    long removeMask = delta.getLong();
+    int specials = delta.get();
+    for (int i = 0; i < specials; i++) {
+      int cell = delta.get();
+      board.setCell(cell, delta.get());
+    }
+
+    int height = board.getHeight();
+    int packed = 0;
+    boolean half = false;
+    for (int x = 0; x < board.getWidth(); x++) {
+      //let the tiles that stay fall down
+      int to = height - 1;
+      for (int y = height - 1; y >= 0; y--) {
+        if ((removeMask & 1L << (x * height + y)) == 0) {
+          board.set(x, to--, board.get(x, y));
+        }
+      }
+      //fill the top of the column with the new cells
+      for (int y = 0; y <= to; y++) {
+        if (!half) {
+          packed = delta.get();
+          board.set(x, y, packed >> 4 & 0xf);
+        } else {
+          board.set(x, y, packed & 0xf);
+        }
+        half = !half;
+      }
+    }
+  }
+}
@@ -0,0 +1,143 @@
+package main.java.group37.bejeweled.server;
+
+import main.java.group37.bejeweled.board.Board;
+import main.java.group37.bejeweled.board.Tile;
+import main.java.group37.bejeweled.combination.Combination.Type;
+import main.java.group37.bejeweled.model.CascadeListener;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Writes the steps of a move as a compact delta while the game logic resolves it.
+ * A delta is the swap followed by a record for every cascade:
+ * <pre>
+ *   byte  first cell of the swap
+ *   byte  second cell of the swap
+ *   byte  number of cascades
+ *   per cascade:
+ *     long  remove mask, a bit for every deleted cell
+ *     byte  number of special gems made
+ *     per special gem: byte cell, byte code
+ *     the codes of the new cells, two per byte
+ * </pre>
+ * The tiles of a column fall down by the number of deleted cells below them,
+ * so the column shifts follow from the remove mask. The new cells are the top
+ * cells of every column, as many as were deleted in it, column by column from the
+ * top row down. Cells are numbered x * height + y, as in the compact board.
+ * @author group37
+ */
+public class DeltaEncoder implements CascadeListener {
+
+  private final Board board;
+  private final int height;
+  private ByteBuffer out = ByteBuffer.allocate(512);
+  private int cascadesPosition;
+  private int cascades;
+  private long removeMask;
+
+  /**
+   * Create an encoder for the moves on a board.
+   * @param board the board, at most 64 cells.
+   */
+  public DeltaEncoder(Board board) {
+    if (board.getSize() > 64) {
+      throw new IllegalArgumentException("Boards larger than 64 cells are not supported");
+    }
+    this.board = board;
+    this.height = board.getHeight();
+  }
+
+  /**
+   * Start the delta of a new move, the previous delta is discarded.
+   */
+  public void begin() {
+    out.clear();
+    cascades = 0;
+  }
+
+  @Override
+  public void swapped(Tile t0, Tile t1) {
+    ensure(3);
+    out.put((byte) cell(t0.getX(), t0.getY())).put((byte) cell(t1.getX(), t1.getY()));
+    cascadesPosition = out.position();
+    out.put((byte) 0);
+  }
+
+  @Override
+  public void tilesDeleted(List<Tile> tiles) {
+    removeMask = 0L;
+    int specials = 0;
+    for (Tile tile : tiles) {
+      if (tile.getNextType() == Type.NORMAL) {
+        removeMask |= 1L << cell(tile.getX(), tile.getY());
+      } else {
+        specials++;
+      }
+    }
+    ensure(9 + 2 * specials + board.getSize() / 2 + 1);
+    out.putLong(removeMask);
+    out.put((byte) specials);
+    for (Tile tile : tiles) {
+      if (tile.getNextType() != Type.NORMAL) {
+        out.put((byte) cell(tile.getX(), tile.getY()));
+        out.put((byte) (tile.getIndex() + 10 * tile.getNextType().ordinal()));
+      }
+    }
+  }
+
+  @Override
+  public void tilesRefilled() {
+    int half = -1;
+    for (int x = 0; x < board.getWidth(); x++) {
+      int removed = Long.bitCount(removeMask & columnMask(x));
+      for (int y = 0; y < removed; y++) {
+        int code = board.getTileAt(x, y).getIndex();
+        if (half < 0) {
+          half = code;
+        } else {
+          out.put((byte) (half << 4 | code));
+          half = -1;
+        }
+      }
+    }
+    if (half >= 0) {
+      out.put((byte) (half << 4));
+    }
+    cascades++;
+    out.put(cascadesPosition, (byte) cascades);
+  }
+
+  /**
+   * Get the length of the delta of the last move.
+   * @return number of bytes, 0 if the move was not played.
+   */
+  public int length() {
+    return out.position();
+  }
+
+  /**
+   * Get the delta of the last move.
+   * @return the bytes, only the first {@link #length()} bytes are part of the delta.
+   */
+  public byte[] array() {
+    return out.array();
+  }
+
+  private long columnMask(int x) {
+    return ((1L << height) - 1) << (x * height);
+  }
+
+  private int cell(int x, int y) {
+    return x * height + y;
+  }
+
+  private void ensure(int bytes) {
+    if (out.remaining() < bytes) {
+      ByteBuffer larger = ByteBuffer.allocate(2 * out.capacity() + bytes);
+      out.flip();
+      larger.put(out);
+      out = larger;
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package main.java.group37.bejeweled.server;
+
+import main.java.group37.bejeweled.board.CompactBoard;
+import main.java.group37.bejeweled.model.Move;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A blocking client for the game server.
+ * It keeps a copy of the board of each of its sessions, the results of the
+ * moves are applied to it. A client must only be used by one thread.
+ * @author group37
+ */
+public class GameClient implements Closeable {
+
+  private final SocketChannel channel;
+  private final ByteBuffer header = ByteBuffer.allocate(4);
+  private final Map<Integer, CompactBoard> boards = new HashMap<Integer, CompactBoard>();
+  private final Map<Integer, Integer> scores = new HashMap<Integer, Integer>();
+
+  /**
+   * Connect to a server.
+   * @param host the host of the server.
+   * @param port the port of the server.
+   * @throws IOException when the connection fails.
+   */
+  public GameClient(String host, int port) throws IOException {
+    channel = SocketChannel.open(new InetSocketAddress(host, port));
+    channel.socket().setTcpNoDelay(true);
+  }
+
+  /**
+   * Start a new game.
+   * @param seed seed of the game.
+   * @return the id of the session.
+   * @throws IOException when the server can't be reached or answers with an error.
+   */
+  public int newGame(long seed) throws IOException {
+    write(Protocol.newGame(seed));
+    ByteBuffer payload = read(Protocol.STATE);
+    int id = payload.getInt();
+    scores.put(id, payload.getInt());
+    payload.getInt();
+    boards.put(id, Protocol.readBoard(payload));
+    return id;
+  }
+
+  /**
+   * Swap two tiles, the copy of the board is updated with the result.
+   * @param session the session id.
+   * @param move the move.
+   * @return the result of the move.
+   * @throws IOException when the server can't be reached or answers with an error.
+   */
+  public MoveResult swap(int session, Move move) throws IOException {
+    write(Protocol.swap(session, move));
+    MoveResult result = Protocol.readResult(read(Protocol.RESULT));
+    CompactBoard board = boards.get(session);
+    if (board != null) {
+      result.applyTo(board);
+    }
+    scores.put(session, result.getScore());
+    return result;
+  }
+
+  /**
+   * Stop a game.
+   * @param session the session id.
+   * @throws IOException when the server can't be reached.
+   */
+  public void endGame(int session) throws IOException {
+    write(Protocol.endGame(session));
+    boards.remove(session);
+    scores.remove(session);
+  }
+
+  /**
+   * Get the copy of the board of a session.
+   * @param session the session id.
+   * @return the board, null for an unknown session.
+   */
+  public CompactBoard getBoard(int session) {
+    return boards.get(session);
+  }
+
+  /**
+   * Get the last score of a session.
+   * @param session the session id.
+   * @return the score.
+   */
+  public int getScore(int session) {
+    return scores.get(session);
+  }
+
+  private void write(ByteBuffer frame) throws IOException {
+    while (frame.hasRemaining()) {
+      channel.write(frame);
+    }
+  }
+
+  private ByteBuffer read(byte expected) throws IOException {
+    header.clear();
+    fill(header);
+    ByteBuffer frame = ByteBuffer.allocate(header.getInt(0));
+    fill(frame);
+    byte type = frame.get();
+    if (type == Protocol.ERROR) {
+      frame.getInt();
+      throw new IOException(Protocol.readError(frame));
+    }
+    if (type != expected) {
+      throw new IOException("Unexpected message " + type);
+    }
+    return frame;
+  }
+
+  private void fill(ByteBuffer buf) throws IOException {
+    while (buf.hasRemaining()) {
+      if (channel.read(buf) < 0) {
+        throw new IOException("Connection closed by server");
+      }
+    }
+    buf.flip();
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
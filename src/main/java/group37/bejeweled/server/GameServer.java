@@ -0,0 +1,283 @@
+package main.java.group37.bejeweled.server;
+
+import main.java.group37.bejeweled.metrics.Histogram;
+import main.java.group37.bejeweled.model.Logger;
+import main.java.group37.bejeweled.model.Move;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A TCP server that hosts many games at the same time.
+ * A few selector threads do the network IO, the moves are played by a pool of
+ * worker threads or by a thread per session, see {@link SessionMode}. Either way
+ * a session runs its moves one at a time, so sessions never need a lock of their own.
+ * @author group37
+ */
+public class GameServer {
+
+  private final int requestedPort;
+  private final int selectorThreads;
+  private final int workerThreads;
+  private final SessionMode mode;
+  private final Map<Integer, GameSession> sessions = new ConcurrentHashMap<Integer, GameSession>();
+  private final AtomicInteger nextSession = new AtomicInteger();
+  private final Histogram moveLatency = new Histogram("SERVER_MOVE", "ns");
+  private ServerSocketChannel serverChannel;
+  private SelectorLoop[] loops;
+  private ExecutorService workers;
+  private ScheduledExecutorService ticker;
+  private long tickMillis = 50;
+  private int nextLoop;
+
+  /**
+   * Create a server with two selector threads and a worker per processor.
+   * @param port the port to listen on, 0 for any free port.
+   */
+  public GameServer(int port) {
+    this(port, 2, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Create a server.
+   * @param port the port to listen on, 0 for any free port.
+   * @param selectorThreads number of threads doing the network IO.
+   * @param workerThreads number of threads playing the moves.
+   */
+  public GameServer(int port, int selectorThreads, int workerThreads) {
+    this(port, selectorThreads, workerThreads, SessionMode.SHARED_POOL);
+  }
+
+  /**
+   * Create a server.
+   * @param port the port to listen on, 0 for any free port.
+   * @param selectorThreads number of threads doing the network IO.
+   * @param workerThreads number of threads creating sessions, and playing the
+   *     moves in SHARED_POOL mode.
+   * @param mode how the moves of the sessions are run.
+   */
+  public GameServer(int port, int selectorThreads, int workerThreads, SessionMode mode) {
+    if (selectorThreads < 1 || workerThreads < 1) {
+      throw new IllegalArgumentException("The server needs at least one thread of each kind");
+    }
+    this.requestedPort = port;
+    this.selectorThreads = selectorThreads;
+    this.workerThreads = workerThreads;
+    this.mode = mode;
+  }
+
+  /**
+   * Start listening on localhost.
+   * @throws IOException when the port can't be opened.
+   */
+  public void start() throws IOException {
+    workers = Executors.newFixedThreadPool(workerThreads, daemonThreads("game-worker-"));
+    ticker = Executors.newSingleThreadScheduledExecutor(daemonThreads("game-spectators-"));
+    serverChannel = ServerSocketChannel.open();
+    serverChannel.bind(new InetSocketAddress("localhost", requestedPort));
+    serverChannel.configureBlocking(false);
+    loops = new SelectorLoop[selectorThreads];
+    for (int i = 0; i < selectorThreads; i++) {
+      loops[i] = new SelectorLoop(this, "game-selector-" + i);
+      loops[i].start();
+    }
+    loops[0].listen(serverChannel);
+    Logger.log("Game server listening on port " + getPort());
+  }
+
+  /**
+   * Stop the server, all connections and sessions are closed.
+   */
+  public void stop() {
+    try {
+      serverChannel.close();
+    } catch (IOException e) {
+      Logger.error("Closing server failed: " + e.getMessage());
+    }
+    for (SelectorLoop loop : loops) {
+      loop.stop();
+    }
+    workers.shutdownNow();
+    ticker.shutdownNow();
+    for (GameSession session : sessions.values()) {
+      session.close();
+    }
+    sessions.clear();
+  }
+
+  /**
+   * Get the port the server listens on.
+   * @return the port.
+   */
+  public int getPort() {
+    return serverChannel.socket().getLocalPort();
+  }
+
+  /**
+   * Get the number of running sessions.
+   * @return the number of sessions.
+   */
+  public int getSessionCount() {
+    return sessions.size();
+  }
+
+  public SessionMode getMode() {
+    return mode;
+  }
+
+  /**
+   * Set the time between two frames of the spectator feeds, for feeds started later.
+   * @param millis the time in milliseconds.
+   */
+  public void setSpectatorTick(long millis) {
+    this.tickMillis = millis;
+  }
+
+  /**
+   * Watch a session.
+   * @param sessionId the id of the session.
+   * @param capacity number of frames the spectator can queue.
+   * @return the spectator.
+   */
+  public Spectator spectate(int sessionId, int capacity) {
+    GameSession session = sessions.get(sessionId);
+    if (session == null) {
+      throw new IllegalArgumentException("No session " + sessionId);
+    }
+    Spectator spectator = new Spectator(capacity);
+    session.spectate(spectator, ticker, tickMillis);
+    return spectator;
+  }
+
+  /**
+   * Get the time from reading a swap until its result was queued for sending.
+   * @return histogram in nanoseconds.
+   */
+  public Histogram getMoveLatency() {
+    return moveLatency;
+  }
+
+  /**
+   * Accept the waiting connections and divide them over the selector threads.
+   */
+  void accept() {
+    try {
+      SocketChannel channel = serverChannel.accept();
+      while (channel != null) {
+        loops[nextLoop++ % loops.length].register(channel);
+        channel = serverChannel.accept();
+      }
+    } catch (IOException e) {
+      Logger.error("Accepting connection failed: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Handle a frame from a client, called on the selector thread.
+   * @param connection the connection the frame came from.
+   * @param type the type of the frame.
+   * @param payload the payload, only valid during this call.
+   */
+  void dispatch(Connection connection, byte type, ByteBuffer payload) {
+    long start = System.nanoTime();
+    int size = Protocol.payloadSize(type);
+    if (size >= 0 && payload.remaining() < size) {
+      connection.send(Protocol.error(0, "Message " + type + " needs " + size + " bytes, got "
+          + payload.remaining()));
+      return;
+    }
+    switch (type) {
+      case Protocol.NEW_GAME:
+        newGame(connection, payload.getLong());
+        break;
+      case Protocol.SWAP:
+        swap(connection, payload.getInt(), Protocol.readMove(payload), start);
+        break;
+      case Protocol.END_GAME:
+        endGame(connection, payload.getInt());
+        break;
+      default:
+        connection.send(Protocol.error(0, "Unknown message " + type));
+    }
+  }
+
+  private void newGame(Connection connection, long seed) {
+    int id = nextSession.incrementAndGet();
+    workers.execute(() -> {
+      GameSession session = new GameSession(id, seed, connection, createExecutor(id));
+      sessions.put(id, session);
+      connection.getSessions().add(id);
+      if (connection.isClosed()) {
+        connectionClosed(connection);
+        return;
+      }
+      connection.send(Protocol.state(session));
+    });
+  }
+
+  private SessionExecutor createExecutor(int id) {
+    if (mode == SessionMode.THREAD_PER_SESSION) {
+      return new SessionThread("game-session-" + id);
+    }
+    return new SerialExecutor(workers);
+  }
+
+  private void swap(Connection connection, int id, Move move, long start) {
+    GameSession session = sessions.get(id);
+    if (session == null || session.getOwner() != connection) {
+      connection.send(Protocol.error(id, "No session " + id));
+      return;
+    }
+    session.execute(() -> {
+      try {
+        connection.send(Protocol.result(session.play(move)));
+      } catch (RuntimeException e) {
+        Logger.error("Move in session " + id + " failed: " + e);
+        connection.send(Protocol.error(id, "Move failed"));
+      }
+      moveLatency.record(System.nanoTime() - start);
+    });
+  }
+
+  private void endGame(Connection connection, int id) {
+    GameSession session = sessions.get(id);
+    if (session != null && session.getOwner() == connection) {
+      sessions.remove(id);
+      connection.getSessions().remove(id);
+      session.close();
+    }
+  }
+
+  /**
+   * End the sessions of a closed connection.
+   * @param connection the connection.
+   */
+  void connectionClosed(Connection connection) {
+    for (Integer id : connection.getSessions()) {
+      GameSession session = sessions.remove(id);
+      if (session != null) {
+        session.close();
+      }
+    }
+    connection.getSessions().clear();
+  }
+
+  private static ThreadFactory daemonThreads(String prefix) {
+    AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
@@ -0,0 +1,136 @@
+package main.java.group37.bejeweled.server;
+
+import main.java.group37.bejeweled.board.CompactBoard;
+import main.java.group37.bejeweled.model.Game;
+import main.java.group37.bejeweled.model.Move;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A game hosted by the server.
+ * The game runs without the GUI, the state that is sent to the client is kept
+ * as a compact board. All moves of a session run on its executor one at a time.
+ * @author group37
+ */
+public class GameSession {
+
+  private final int id;
+  private final Object owner;
+  private final Game game;
+  private final CompactBoard state;
+  private final SessionExecutor executor;
+  private final DeltaEncoder encoder;
+  private volatile SpectatorFeed feed;
+  //guarded by lock, a feed is never started after the session was closed. Not a
+  //monitor: starting a feed can park, which would pin the carrier of a virtual thread
+  private final ReentrantLock lock = new ReentrantLock();
+  private boolean closed;
+
+  /**
+   * Create a session.
+   * @param id the id of the session.
+   * @param seed seed of the game.
+   * @param owner the connection that started the session.
+   * @param executor runs the moves of this session one at a time.
+   */
+  public GameSession(int id, long seed, Object owner, SessionExecutor executor) {
+    this.id = id;
+    this.owner = owner;
+    this.executor = executor;
+    this.game = new Game(seed);
+    this.state = CompactBoard.of(game.getBoard());
+    this.encoder = new DeltaEncoder(game.getBoard());
+    game.getLogic().setCascadeListener(encoder);
+  }
+
+  /**
+   * Play a move and encode the changes it made as a delta.
+   * Must only be called from the executor of this session.
+   * @param move the move.
+   * @return the result, only valid until the next move of this session.
+   */
+  public MoveResult play(Move move) {
+    encoder.begin();
+    if (!game.makeMove(move)) {
+      return new MoveResult(id, false, false, getScore(), getLevel(), encoder.array(), 0);
+    }
+    MoveResult result = new MoveResult(id, true, !game.possibleMove(), getScore(), getLevel(),
+        encoder.array(), encoder.length());
+    result.applyTo(state);
+    if (feed != null) {
+      feed.publish(result);
+    }
+    return result;
+  }
+
+  /**
+   * Let a spectator watch this session. The feed is started the first time.
+   * @param spectator the spectator.
+   * @param ticker the thread that sends the frames to the spectators.
+   * @param tickMillis time between two frames.
+   */
+  public void spectate(Spectator spectator, ScheduledExecutorService ticker, long tickMillis) {
+    execute(() -> {
+      lock.lock();
+      try {
+        if (closed) {
+          return;
+        }
+        if (feed == null) {
+          feed = new SpectatorFeed(id, state, game.getLogic().getScore(),
+              game.getLogic().getLevel(), ticker, tickMillis);
+        }
+        feed.subscribe(spectator);
+      } finally {
+        lock.unlock();
+      }
+    });
+  }
+
+  /**
+   * Run a task on the executor of this session.
+   * @param task the task.
+   */
+  public void execute(Runnable task) {
+    executor.execute(task);
+  }
+
+  /**
+   * End the session, its executor and spectator feed stop.
+   */
+  public void close() {
+    SpectatorFeed started;
+    lock.lock();
+    try {
+      closed = true;
+      started = feed;
+    } finally {
+      lock.unlock();
+    }
+    executor.close();
+    if (started != null) {
+      started.close();
+    }
+  }
+
+  public int getId() {
+    return id;
+  }
+
+  public Object getOwner() {
+    return owner;
+  }
+
+  public CompactBoard getState() {
+    return state;
+  }
+
+  public int getScore() {
+    return game.getLogic().getScore().getScore();
+  }
+
+  public int getLevel() {
+    return game.getLogic().getLevel().getLevel();
+  }
+}
@@ -0,0 +1,81 @@
+package main.java.group37.bejeweled.server;
+
+import main.java.group37.bejeweled.board.CompactBoard;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The answer of the server to a swap: the delta of the move and the new score.
+ * @author group37
+ */
+public class MoveResult {
+
+  private final int sessionId;
+  private final boolean valid;
+  private final boolean gameOver;
+  private final int score;
+  private final int level;
+  private final byte[] delta;
+  private final int length;
+
+  /**
+   * Create a move result.
+   * @param sessionId the session the move was played in.
+   * @param valid true iff the swap was allowed.
+   * @param gameOver true iff there are no moves left.
+   * @param score score after the move.
+   * @param level level after the move.
+   * @param delta the delta written by a {@link DeltaEncoder}.
+   * @param length number of bytes of the delta.
+   */
+  public MoveResult(int sessionId, boolean valid, boolean gameOver, int score, int level,
+      byte[] delta, int length) {
+    this.sessionId = sessionId;
+    this.valid = valid;
+    this.gameOver = gameOver;
+    this.score = score;
+    this.level = level;
+    this.delta = delta;
+    this.length = length;
+  }
+
+  /**
+   * Apply the delta to a copy of the board from before the move.
+   * @param board the board.
+   */
+  public void applyTo(CompactBoard board) {
+    DeltaDecoder.apply(ByteBuffer.wrap(delta, 0, length), board);
+  }
+
+  public int getSessionId() {
+    return sessionId;
+  }
+
+  public boolean isValid() {
+    return valid;
+  }
+
+  public boolean isGameOver() {
+    return gameOver;
+  }
+
+  public int getScore() {
+    return score;
+  }
+
+  public int getLevel() {
+    return level;
+  }
+
+  /**
+   * Get the delta of the move.
+   * @return the bytes, only the first {@link #getDeltaLength()} bytes are part of the delta.
+   */
+  public byte[] getDelta() {
+    return delta;
+  }
+
+  public int getDeltaLength() {
+    return length;
+  }
+}
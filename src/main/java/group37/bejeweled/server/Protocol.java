@@ -0,0 +1,234 @@
+package main.java.group37.bejeweled.server;
+
+import main.java.group37.bejeweled.board.CompactBoard;
+import main.java.group37.bejeweled.model.Move;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * The messages between the game server and its clients.
+ * Every message is a frame: an int with the length of the rest of the frame,
+ * a byte with the type of the message and the payload.
+ * @author group37
+ */
+public final class Protocol {
+
+  public static final int MAX_FRAME = 4096;
+
+  //client to server
+  public static final byte NEW_GAME = 1;
+  public static final byte SWAP = 2;
+  public static final byte END_GAME = 3;
+
+  //server to client
+  public static final byte STATE = 17;
+  public static final byte RESULT = 18;
+  public static final byte SPECTATOR_STATE = 19;
+  public static final byte SPECTATOR_BATCH = 20;
+  public static final byte ERROR = 31;
+
+  private Protocol() {}
+
+  /**
+   * Ask for a new game.
+   * @param seed seed of the game.
+   * @return the frame.
+   */
+  public static ByteBuffer newGame(long seed) {
+    ByteBuffer buf = frame(NEW_GAME, 8);
+    buf.putLong(seed);
+    return done(buf);
+  }
+
+  /**
+   * Swap two tiles.
+   * @param session the session id.
+   * @param move the move.
+   * @return the frame.
+   */
+  public static ByteBuffer swap(int session, Move move) {
+    ByteBuffer buf = frame(SWAP, 8);
+    buf.putInt(session);
+    buf.put((byte) move.getX0()).put((byte) move.getY0());
+    buf.put((byte) move.getX1()).put((byte) move.getY1());
+    return done(buf);
+  }
+
+  /**
+   * Stop a game.
+   * @param session the session id.
+   * @return the frame.
+   */
+  public static ByteBuffer endGame(int session) {
+    ByteBuffer buf = frame(END_GAME, 4);
+    buf.putInt(session);
+    return done(buf);
+  }
+
+  /**
+   * Get the size of the payload of a message from a client.
+   * @param type the type of the message.
+   * @return the number of bytes, -1 for a type that clients do not send.
+   */
+  public static int payloadSize(byte type) {
+    switch (type) {
+      case NEW_GAME:
+      case SWAP:
+        return 8;
+      case END_GAME:
+        return 4;
+      default:
+        return -1;
+    }
+  }
+
+  /**
+   * Read the move of a SWAP payload, after the session id.
+   * @param payload the payload.
+   * @return the move.
+   */
+  public static Move readMove(ByteBuffer payload) {
+    return new Move(payload.get(), payload.get(), payload.get(), payload.get());
+  }
+
+  /**
+   * The full state of a session, sent when a game starts.
+   * @param session the session.
+   * @return the frame.
+   */
+  public static ByteBuffer state(GameSession session) {
+    CompactBoard board = session.getState();
+    ByteBuffer buf = frame(STATE, 14 + board.getSize());
+    buf.putInt(session.getId()).putInt(session.getScore()).putInt(session.getLevel());
+    buf.put((byte) board.getWidth()).put((byte) board.getHeight());
+    for (int i = 0; i < board.getSize(); i++) {
+      buf.put((byte) board.getCell(i));
+    }
+    return done(buf);
+  }
+
+  /**
+   * Read the board of a STATE payload, after the id, score and level.
+   * @param payload the payload.
+   * @return the board.
+   */
+  public static CompactBoard readBoard(ByteBuffer payload) {
+    CompactBoard board = new CompactBoard(payload.get(), payload.get());
+    for (int i = 0; i < board.getSize(); i++) {
+      board.setCell(i, payload.get());
+    }
+    return board;
+  }
+
+  /**
+   * The delta of a move and the new score.
+   * @param result the result of the move.
+   * @return the frame.
+   */
+  public static ByteBuffer result(MoveResult result) {
+    ByteBuffer buf = frame(RESULT, 15 + result.getDeltaLength());
+    buf.putInt(result.getSessionId());
+    buf.put((byte) ((result.isValid() ? 1 : 0) | (result.isGameOver() ? 2 : 0)));
+    buf.putInt(result.getScore()).putInt(result.getLevel());
+    buf.putShort((short) result.getDeltaLength());
+    buf.put(result.getDelta(), 0, result.getDeltaLength());
+    return done(buf);
+  }
+
+  /**
+   * Read a RESULT payload.
+   * @param payload the payload.
+   * @return the result.
+   */
+  public static MoveResult readResult(ByteBuffer payload) {
+    int session = payload.getInt();
+    int flags = payload.get();
+    int score = payload.getInt();
+    int level = payload.getInt();
+    byte[] delta = new byte[payload.getShort()];
+    payload.get(delta);
+    return new MoveResult(session, (flags & 1) != 0, (flags & 2) != 0, score, level,
+        delta, delta.length);
+  }
+
+  /**
+   * The full state of a game for its spectators.
+   * @param session the session id.
+   * @param sequence number of the tick.
+   * @param score the score.
+   * @param level the level.
+   * @param board the board.
+   * @return the frame.
+   */
+  public static ByteBuffer spectatorState(int session, long sequence, int score, int level,
+      CompactBoard board) {
+    ByteBuffer buf = frame(SPECTATOR_STATE, 22 + board.getSize());
+    buf.putInt(session).putLong(sequence).putInt(score).putInt(level);
+    buf.put((byte) board.getWidth()).put((byte) board.getHeight());
+    for (int i = 0; i < board.getSize(); i++) {
+      buf.put((byte) board.getCell(i));
+    }
+    return done(buf);
+  }
+
+  /**
+   * The deltas of all moves of a tick with the score and level after the last one.
+   * @param session the session id.
+   * @param sequence number of the tick.
+   * @param score the score.
+   * @param level the level.
+   * @param deltas the deltas of the moves.
+   * @return the frame.
+   */
+  public static ByteBuffer spectatorBatch(int session, long sequence, int score, int level,
+      List<byte[]> deltas) {
+    int size = 22;
+    for (byte[] delta : deltas) {
+      size += 2 + delta.length;
+    }
+    ByteBuffer buf = frame(SPECTATOR_BATCH, size);
+    buf.putInt(session).putLong(sequence).putInt(score).putInt(level);
+    buf.putShort((short) deltas.size());
+    for (byte[] delta : deltas) {
+      buf.putShort((short) delta.length).put(delta);
+    }
+    return done(buf);
+  }
+
+  /**
+   * An error, for example a swap in a session that doesn't exist.
+   * @param session the session id, 0 if there is none.
+   * @param message what went wrong.
+   * @return the frame.
+   */
+  public static ByteBuffer error(int session, String message) {
+    byte[] text = message.getBytes(StandardCharsets.UTF_8);
+    ByteBuffer buf = frame(ERROR, 6 + text.length);
+    buf.putInt(session).putShort((short) text.length).put(text);
+    return done(buf);
+  }
+
+  /**
+   * Read the message of an ERROR payload, after the session id.
+   * @param payload the payload.
+   * @return the message.
+   */
+  public static String readError(ByteBuffer payload) {
+    byte[] text = new byte[payload.getShort()];
+    payload.get(text);
+    return new String(text, StandardCharsets.UTF_8);
+  }
+
+  private static ByteBuffer frame(byte type, int payload) {
+    ByteBuffer buf = ByteBuffer.allocate(5 + payload);
+    buf.putInt(1 + payload).put(type);
+    return buf;
+  }
+
+  private static ByteBuffer done(ByteBuffer buf) {
+    buf.flip();
+    return buf;
+  }
+}
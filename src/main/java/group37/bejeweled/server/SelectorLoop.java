@@ -0,0 +1,148 @@
+package main.java.group37.bejeweled.server;
+
+import main.java.group37.bejeweled.model.Logger;
+
+import java.io.IOException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A thread with a selector that does the network IO of its connections.
+ * Other threads hand it work with {@link #execute(Runnable)}.
+ * @author group37
+ */
+class SelectorLoop implements Runnable {
+
+  private final GameServer server;
+  private final Selector selector;
+  private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+  private final Thread thread;
+  private volatile boolean running = true;
+
+  SelectorLoop(GameServer server, String name) throws IOException {
+    this.server = server;
+    this.selector = Selector.open();
+    this.thread = new Thread(this, name);
+    thread.setDaemon(true);
+  }
+
+  void start() {
+    thread.start();
+  }
+
+  /**
+   * Run a task on the selector thread.
+   * @param task the task.
+   */
+  void execute(Runnable task) {
+    tasks.add(task);
+    selector.wakeup();
+  }
+
+  /**
+   * Accept new connections with this loop.
+   * @param channel the server channel.
+   */
+  void listen(ServerSocketChannel channel) {
+    execute(() -> {
+      try {
+        channel.register(selector, SelectionKey.OP_ACCEPT);
+      } catch (IOException e) {
+        Logger.error("Listening failed: " + e.getMessage());
+      }
+    });
+  }
+
+  /**
+   * Let this loop do the IO of a new connection.
+   * @param channel the channel of the connection.
+   */
+  void register(SocketChannel channel) {
+    execute(() -> {
+      Connection connection = new Connection(channel, this, server);
+      try {
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        connection.setKey(channel.register(selector, SelectionKey.OP_READ, connection));
+      } catch (IOException e) {
+        Logger.error("Registering connection failed: " + e.getMessage());
+        connection.close();
+      }
+    });
+  }
+
+  @Override
+  public void run() {
+    try {
+      while (running) {
+        selector.select();
+        Runnable task = tasks.poll();
+        while (task != null) {
+          task.run();
+          task = tasks.poll();
+        }
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+          SelectionKey key = keys.next();
+          keys.remove();
+          handle(key);
+        }
+      }
+    } catch (IOException | ClosedSelectorException e) {
+      if (running) {
+        Logger.error("Selector failed: " + e.getMessage());
+      }
+    } finally {
+      closeAll();
+    }
+  }
+
+  private void handle(SelectionKey key) {
+    if (!key.isValid()) {
+      return;
+    }
+    if (key.isAcceptable()) {
+      server.accept();
+      return;
+    }
+    Connection connection = (Connection) key.attachment();
+    if (key.isReadable()) {
+      connection.read();
+    }
+    if (key.isValid() && key.isWritable()) {
+      connection.flush();
+    }
+  }
+
+  private void closeAll() {
+    for (SelectionKey key : selector.keys()) {
+      if (key.attachment() instanceof Connection) {
+        ((Connection) key.attachment()).close();
+      }
+    }
+    try {
+      selector.close();
+    } catch (IOException e) {
+      Logger.error("Closing selector failed: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Stop the loop, all its connections are closed.
+   */
+  void stop() {
+    running = false;
+    selector.wakeup();
+    try {
+      thread.join(1000);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
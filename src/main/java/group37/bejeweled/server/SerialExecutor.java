@@ -0,0 +1,53 @@
+package main.java.group37.bejeweled.server;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs tasks one at a time in the order they were submitted, on the threads of
+ * a shared executor. Every session gets one, so a session behaves as if it had
+ * its own thread without the server needing a thread per session.
+ * @author group37
+ */
+public class SerialExecutor implements SessionExecutor {
+
+  private final Executor executor;
+  private final Queue<Runnable> tasks = new ArrayDeque<Runnable>();
+  private Runnable active;
+
+  /**
+   * Create a serial executor.
+   * @param executor the shared executor that runs the tasks.
+   */
+  public SerialExecutor(Executor executor) {
+    this.executor = executor;
+  }
+
+  @Override
+  public synchronized void execute(Runnable task) {
+    tasks.add(() -> {
+      try {
+        task.run();
+      } finally {
+        scheduleNext();
+      }
+    });
+    if (active == null) {
+      scheduleNext();
+    }
+  }
+
+  /**
+   * Tasks that were already submitted still run, they are short.
+   */
+  @Override
+  public void close() {}
+
+  private synchronized void scheduleNext() {
+    active = tasks.poll();
+    if (active != null) {
+      executor.execute(active);
+    }
+  }
+}
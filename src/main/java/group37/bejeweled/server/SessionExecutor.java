@@ -0,0 +1,15 @@
+package main.java.group37.bejeweled.server;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Runs the tasks of one session one at a time, in the order they were submitted.
+ * @author group37
+ */
+public interface SessionExecutor extends Executor {
+
+  /**
+   * Stop running tasks, called when the session ends.
+   */
+  void close();
+}
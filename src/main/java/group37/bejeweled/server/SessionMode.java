@@ -0,0 +1,17 @@
+package main.java.group37.bejeweled.server;
+
+/**
+ * enum SessionMode tells how the game server runs the moves of its sessions.
+ * @author group37
+ */
+public enum SessionMode {
+  /**
+   * The moves of all sessions share a fixed pool of worker threads.
+   */
+  SHARED_POOL,
+  /**
+   * Every session has its own thread that waits for moves on its own queue.
+   * The threads are virtual threads when the JVM supports them.
+   */
+  THREAD_PER_SESSION;
+}
@@ -0,0 +1,90 @@
+package main.java.group37.bejeweled.server;
+
+import main.java.group37.bejeweled.model.Logger;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A thread that runs the moves of one session, it blocks on its own queue
+ * until the next move arrives.
+ * On a JVM with virtual threads (Java 21 and later) the thread is virtual, so
+ * a session that waits costs no platform thread. Older JVMs get platform threads.
+ * @author group37
+ */
+public class SessionThread implements SessionExecutor, Runnable {
+
+  private static final ThreadFactory FACTORY = createFactory();
+  private static final boolean VIRTUAL = !(FACTORY instanceof PlatformThreads);
+
+  private final BlockingQueue<Runnable> inbox = new LinkedBlockingQueue<Runnable>();
+  private final Thread thread;
+  private volatile boolean running = true;
+
+  /**
+   * Create and start a session thread.
+   * @param name name of the thread.
+   */
+  public SessionThread(String name) {
+    thread = FACTORY.newThread(this);
+    thread.setName(name);
+    thread.start();
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    inbox.add(task);
+  }
+
+  @Override
+  public void run() {
+    while (running) {
+      try {
+        inbox.take().run();
+      } catch (InterruptedException e) {
+        return;
+      } catch (RuntimeException e) {
+        Logger.error("Task of " + thread.getName() + " failed: " + e);
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    running = false;
+    thread.interrupt();
+  }
+
+  /**
+   * Check whether the session threads are virtual threads.
+   * @return true iff this JVM supports virtual threads.
+   */
+  public static boolean isVirtual() {
+    return VIRTUAL;
+  }
+
+  /**
+   * Get the factory of virtual threads with reflection, the code is compiled
+   * for Java 8 where Thread.ofVirtual() doesn't exist.
+   * @return a factory for virtual threads, or for daemon platform threads.
+   */
+  private static ThreadFactory createFactory() {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      return (ThreadFactory) Class.forName("java.lang.Thread$Builder")
+          .getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return new PlatformThreads();
+    }
+  }
+
+  private static class PlatformThreads implements ThreadFactory {
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable);
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package main.java.group37.bejeweled.server;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Someone watching a game. The feed of the game puts a frame in the bounded
+ * queue of the spectator every tick. When the spectator doesn't keep up, the
+ * oldest frame is dropped and the next frame is the full state of the game,
+ * so a slow spectator never holds up the game or the other spectators.
+ * @author group37
+ */
+public class Spectator {
+
+  private final BlockingQueue<ByteBuffer> frames;
+  private final AtomicLong dropped = new AtomicLong();
+  private volatile boolean needsState = true;
+  private volatile boolean closed;
+
+  /**
+   * Create a spectator.
+   * @param capacity number of frames the queue holds.
+   */
+  public Spectator(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be at least 1");
+    }
+    this.frames = new ArrayBlockingQueue<ByteBuffer>(capacity);
+  }
+
+  /**
+   * Get the next frame without waiting.
+   * @return the frame, null if there is none.
+   */
+  public ByteBuffer poll() {
+    return frames.poll();
+  }
+
+  /**
+   * Get the next frame.
+   * @param timeout how long to wait.
+   * @param unit unit of the timeout.
+   * @return the frame, null if there was none in time.
+   * @throws InterruptedException when the thread is interrupted while waiting.
+   */
+  public ByteBuffer poll(long timeout, TimeUnit unit) throws InterruptedException {
+    return frames.poll(timeout, unit);
+  }
+
+  /**
+   * Stop watching, the feed forgets the spectator at its next tick.
+   */
+  public void close() {
+    closed = true;
+    frames.clear();
+  }
+
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Get the number of frames that were dropped because the queue was full.
+   * @return number of dropped frames.
+   */
+  public long getDropped() {
+    return dropped.get();
+  }
+
+  /**
+   * Check whether the next frame must be the full state, because the
+   * spectator just started watching or missed a frame.
+   * @return true iff the spectator needs the full state.
+   */
+  boolean needsState() {
+    return needsState;
+  }
+
+  /**
+   * Put the moves of a tick in the queue. When the queue is full the oldest frame
+   * is dropped instead and the spectator needs the full state.
+   * @param batch the frame, shared with the other spectators.
+   */
+  void deliverBatch(ByteBuffer batch) {
+    if (!frames.offer(batch.duplicate())) {
+      dropOldest();
+      needsState = true;
+    }
+  }
+
+  /**
+   * Put the full state in the queue, dropping the oldest frames to make room.
+   * @param state the frame, shared with the other spectators.
+   */
+  void deliverState(ByteBuffer state) {
+    needsState = false;
+    ByteBuffer frame = state.duplicate();
+    while (!frames.offer(frame)) {
+      dropOldest();
+    }
+  }
+
+  private void dropOldest() {
+    if (frames.poll() != null) {
+      dropped.incrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package main.java.group37.bejeweled.server;
+
+import main.java.group37.bejeweled.board.CompactBoard;
+import main.java.group37.bejeweled.model.Level;
+import main.java.group37.bejeweled.model.Logger;
+import main.java.group37.bejeweled.model.Score;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Observable;
+import java.util.Observer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the moves of one game to its spectators.
+ * The thread of the game only queues the delta of every move and the newest
+ * score and level. Once per tick the feed thread puts everything that happened
+ * in one frame and gives it to every spectator, so the spectators never slow
+ * down the moves of the player.
+ * @author group37
+ */
+@SuppressWarnings("deprecation")
+public class SpectatorFeed implements Observer {
+
+  private final int sessionId;
+  private final CompactBoard board;
+  private final Queue<byte[]> pending = new ConcurrentLinkedQueue<byte[]>();
+  private final List<Spectator> spectators = new CopyOnWriteArrayList<Spectator>();
+  private final List<byte[]> batch = new ArrayList<byte[]>();
+  private final ScheduledFuture<?> ticks;
+  private volatile int score;
+  private volatile int level;
+  private volatile boolean scoreChanged;
+  private int sentScore;
+  private int sentLevel;
+  private long sequence;
+
+  /**
+   * Create a feed, must be called on the thread of the game.
+   * @param sessionId the id of the session.
+   * @param state the board of the game, it is copied.
+   * @param score the score of the game, it is observed.
+   * @param level the level of the game, it is observed.
+   * @param ticker the thread that sends the frames.
+   * @param tickMillis time between two frames.
+   */
+  public SpectatorFeed(int sessionId, CompactBoard state, Score score, Level level,
+      ScheduledExecutorService ticker, long tickMillis) {
+    this.sessionId = sessionId;
+    this.board = new CompactBoard(state.getWidth(), state.getHeight());
+    board.copyFrom(state);
+    this.score = score.getScore();
+    this.level = level.getLevel();
+    this.sentScore = this.score;
+    this.sentLevel = this.level;
+    score.registerObserver(this);
+    level.registerObserver(this);
+    this.ticks = ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Start sending frames to a spectator, the first frame is the full state.
+   * @param spectator the spectator.
+   */
+  public void subscribe(Spectator spectator) {
+    spectators.add(spectator);
+  }
+
+  /**
+   * Get the number of spectators.
+   * @return the number of spectators.
+   */
+  public int getSpectatorCount() {
+    return spectators.size();
+  }
+
+  /**
+   * Queue the delta of a move, called on the thread of the game.
+   * @param result the result of the move.
+   */
+  public void publish(MoveResult result) {
+    if (result.getDeltaLength() > 0) {
+      pending.add(Arrays.copyOf(result.getDelta(), result.getDeltaLength()));
+    }
+  }
+
+  /**
+   * Remember the newest score or level, the observers are told many times per
+   * move but the spectators only get the value at the end of the tick.
+   */
+  @Override
+  public void update(Observable observable, Object arg) {
+    if (observable instanceof Score) {
+      score = ((Score) observable).getScore();
+    } else if (observable instanceof Level) {
+      level = ((Level) observable).getLevel();
+    }
+    scoreChanged = true;
+  }
+
+  /**
+   * Send everything that happened since the last tick, runs on the feed thread.
+   */
+  void tick() {
+    try {
+      sendFrames();
+    } catch (RuntimeException e) {
+      //an exception would cancel the ticks of this feed
+      Logger.error("Spectator feed of session " + sessionId + " failed: " + e);
+    }
+  }
+
+  private void sendFrames() {
+    batch.clear();
+    byte[] delta = pending.poll();
+    while (delta != null) {
+      DeltaDecoder.apply(ByteBuffer.wrap(delta), board);
+      batch.add(delta);
+      delta = pending.poll();
+    }
+    boolean changed = !batch.isEmpty();
+    if (scoreChanged) {
+      scoreChanged = false;
+      changed |= score != sentScore || level != sentLevel;
+      sentScore = score;
+      sentLevel = level;
+    }
+    if (changed) {
+      sequence++;
+    }
+    ByteBuffer frame = null;
+    ByteBuffer state = null;
+    for (Spectator spectator : spectators) {
+      if (spectator.isClosed()) {
+        spectators.remove(spectator);
+        continue;
+      }
+      if (changed && !spectator.needsState()) {
+        if (frame == null) {
+          frame = Protocol.spectatorBatch(sessionId, sequence, sentScore, sentLevel, batch);
+        }
+        spectator.deliverBatch(frame);
+      }
+      if (spectator.needsState()) {
+        if (state == null) {
+          state = Protocol.spectatorState(sessionId, sequence, sentScore, sentLevel, board);
+        }
+        spectator.deliverState(state);
+      }
+    }
+  }
+
+  /**
+   * Stop sending frames, called when the game ends.
+   */
+  public void close() {
+    ticks.cancel(false);
+    spectators.clear();
+  }
+}
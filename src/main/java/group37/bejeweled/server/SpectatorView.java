@@ -0,0 +1,86 @@
+package main.java.group37.bejeweled.server;
+
+import main.java.group37.bejeweled.board.CompactBoard;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The game as a spectator sees it, built from the frames of a {@link SpectatorFeed}.
+ * A batch that doesn't follow the previous frame is skipped, the feed sends the
+ * full state after a spectator missed a frame.
+ * @author group37
+ */
+public class SpectatorView {
+
+  private CompactBoard board;
+  private int score;
+  private int level;
+  private long sequence = -1;
+  private int moves;
+
+  /**
+   * Apply a frame.
+   * @param frame the frame, as taken from the spectator.
+   * @return true iff the frame was applied.
+   */
+  public boolean apply(ByteBuffer frame) {
+    frame.getInt();
+    byte type = frame.get();
+    frame.getInt();
+    long seq = frame.getLong();
+    if (type == Protocol.SPECTATOR_STATE) {
+      readScore(frame);
+      board = Protocol.readBoard(frame);
+      sequence = seq;
+      return true;
+    }
+    if (type != Protocol.SPECTATOR_BATCH || board == null || seq != sequence + 1) {
+      return false;
+    }
+    readScore(frame);
+    int deltas = frame.getShort();
+    for (int i = 0; i < deltas; i++) {
+      int length = frame.getShort();
+      ByteBuffer delta = frame.slice();
+      delta.limit(length);
+      DeltaDecoder.apply(delta, board);
+      frame.position(frame.position() + length);
+    }
+    moves += deltas;
+    sequence = seq;
+    return true;
+  }
+
+  private void readScore(ByteBuffer frame) {
+    score = frame.getInt();
+    level = frame.getInt();
+  }
+
+  /**
+   * Get the board.
+   * @return the board, null before the first full state.
+   */
+  public CompactBoard getBoard() {
+    return board;
+  }
+
+  public int getScore() {
+    return score;
+  }
+
+  public int getLevel() {
+    return level;
+  }
+
+  public long getSequence() {
+    return sequence;
+  }
+
+  /**
+   * Get the number of moves applied from batches.
+   * @return the number of moves.
+   */
+  public int getMoves() {
+    return moves;
+  }
+}
@@ -1,31 +1,48 @@
 package main.java.group37.bejeweled.view;
 
+import main.java.group37.bejeweled.board.BoardPanel;
+import main.java.group37.bejeweled.board.FlameTile;
+import main.java.group37.bejeweled.board.HypercubeTile;
+import main.java.group37.bejeweled.board.NormalTile;
+import main.java.group37.bejeweled.board.StarTile;
 import main.java.group37.bejeweled.board.Tile;
+import main.java.group37.bejeweled.metrics.jfr.AnimationEvent;
+import main.java.group37.bejeweled.model.AutoSaver;
 import main.java.group37.bejeweled.model.Game;
+import main.java.group37.bejeweled.model.GameLogic;
+import main.java.group37.bejeweled.model.Logger;
+import main.java.group37.bejeweled.model.SwapHandler;
 
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.util.ArrayList;
 import java.util.List;
 
-import javax.swing.Timer;
-
 
 /**
  * Class that carries out the disappearing of combinations,
  * gems falling down and new gems filling the board.
+ * The animations of a cascade run on one {@link Timeline}: the columns start
+ * dropping while the removed tiles are still shrinking. The board itself is
+ * only changed when every track of the cascade has ended, after which the
+ * removal of the next cascade starts right away. Removed special gems leave
+ * sparks that keep flying while the game goes on.
  * @author group37
  */
-public class Animation implements ActionListener{
+public class Animation {
+  public static final int TICK = 4;
+
   protected Game game;
   protected Main main;
-  protected Timer timer;
-  protected int frame;
+  protected Timeline timeline;
 
-  private IAnimation state = null;
-  
-  private DropAnimation dropAnimation;
+  private AnimationEvent event = null;
+  private int pending;
+  private int animatedTiles;
+
+  private List<Tile> tilesToDrop;
   private SwapAnimation swapAnimation;
   private RemoveAnimation removeAnimation;
+  private final ParticleSystem particles = new ParticleSystem(ParticleSystem.CAPACITY);
+  private final Sparks sparks = new Sparks();
 
   public static enum Type{
     SWAP,REMOVE,DROP;
@@ -41,28 +58,155 @@ public class Animation implements ActionListener{
   public Animation(Game game, Main board) {
     this.game = game;
     this.main = board;
-    this.timer = new Timer(10,this);
-    this.frame = 0;
+    this.timeline = new Timeline(board::repaint, TICK);
     this.type = Type.SWAP;
 
-    dropAnimation = new DropAnimation(this);
     swapAnimation = new SwapAnimation(this);
     removeAnimation = new RemoveAnimation(this);
-    this.setType(this.type);
   }
   
   /**
    * Start animation.
    */
   public void start() {
-    this.state.start();
+    this.event = new AnimationEvent(type.name());
+    if (type == Type.SWAP) {
+      pending = 1;
+      animatedTiles = 2;
+      timeline.add(swapAnimation, 0);
+    } else if (type == Type.REMOVE) {
+      pending = 1;
+      animatedTiles = removeAnimation.tiles.size();
+      explode(removeAnimation.tiles);
+      removeAnimation.start();
+      timeline.add(removeAnimation, 0);
+      startDrops(RemoveAnimation.FRAMES / 2 * RemoveAnimation.PERIOD);
+    } else if (type == Type.DROP) {
+      pending = 0;
+      animatedTiles = 0;
+      startDrops(0);
+      if (pending == 0) {
+        cascadeEnded();
+      }
+    }
   }
 
   /**
-   * Mouse event listeners.
+   * Let the removed tiles of a cascade give sparks. Special gems burst in
+   * their own shape, the other gems only give a few sparks when a special gem
+   * exploded with them.
+   * @param tiles the removed tiles.
    */
-  public void actionPerformed(ActionEvent event) {
-    state.performAction();
+  private void explode(List<Tile> tiles) {
+    boolean special = false;
+    for (Tile tile : tiles) {
+      float cx = BoardPanel.LOCATION.x + (tile.getX() + 0.5f) * Tile.spaceX;
+      float cy = BoardPanel.LOCATION.y + (tile.getY() + 0.5f) * Tile.spaceY;
+      if (tile instanceof FlameTile) {
+        particles.burst(cx, cy, 400, 6, tile.getIndex());
+      } else if (tile instanceof StarTile) {
+        particles.cross(cx, cy, 600, 14, tile.getIndex());
+      } else if (tile instanceof HypercubeTile) {
+        particles.burst(cx, cy, 800, 9, -1);
+      } else {
+        continue;
+      }
+      special = true;
+    }
+    if (special) {
+      for (Tile tile : tiles) {
+        if (tile instanceof NormalTile) {
+          particles.burst(BoardPanel.LOCATION.x + (tile.getX() + 0.5f) * Tile.spaceX,
+              BoardPanel.LOCATION.y + (tile.getY() + 0.5f) * Tile.spaceY, 24, 3,
+              tile.getIndex());
+        }
+      }
+    }
+    if (particles.getCount() > 0 && !sparks.running) {
+      sparks.running = true;
+      timeline.add(sparks, 0);
+    }
+  }
+
+  /**
+   * Start one drop track for every column with falling tiles. A tile that is
+   * also removed is not dropped, it disappears before it would land.
+   * @param delay time until the tiles start falling in milliseconds.
+   */
+  private void startDrops(long delay) {
+    if (tilesToDrop == null) {
+      return;
+    }
+    List<Tile> removed = type == Type.REMOVE ? removeAnimation.tiles : new ArrayList<Tile>();
+    List<List<Tile>> columns = new ArrayList<List<Tile>>();
+    for (int x = 0; x < game.getBoard().getWidth(); x++) {
+      columns.add(new ArrayList<Tile>());
+    }
+    for (Tile tile : tilesToDrop) {
+      if (!removed.contains(tile) && !columns.get(tile.getX()).contains(tile)) {
+        columns.get(tile.getX()).add(tile);
+      }
+    }
+    for (List<Tile> column : columns) {
+      if (!column.isEmpty()) {
+        Logger.log("Start DROP animation of column " + column.get(0).getX());
+        pending++;
+        animatedTiles += column.size();
+        timeline.add(new DropAnimation(this, column), delay);
+      }
+    }
+  }
+
+  /**
+   * Called by a track when it ends.
+   */
+  void trackEnded() {
+    if (--pending > 0) {
+      return;
+    }
+    if (type == Type.SWAP) {
+      phaseEnded();
+      swapAnimation.resolve();
+      if (pending == 0) {
+        moveEnded();
+      }
+    } else {
+      cascadeEnded();
+    }
+  }
+
+  /**
+   * Every tile of the cascade is in place, so the board is changed.
+   */
+  private void cascadeEnded() {
+    Logger.log("END drop animations");
+    phaseEnded();
+    GameLogic.get().dropTiles();
+    if (!game.possibleMove()) {
+      SwapHandler.get().clearQueue();
+      main.getStatusPanel().endGame();
+    } else if (pending == 0) {
+      //no new cascade was started, so the move is done
+      game.getHistory().record(game);
+      AutoSaver.get().moveMade();
+      moveEnded();
+    }
+  }
+
+  /**
+   * The board has settled, make the swap the player queued during the move.
+   */
+  private void moveEnded() {
+    if (!Panel.getGameOver()) {
+      SwapHandler.get().settled();
+    }
+  }
+
+  private void phaseEnded() {
+    if (event != null) {
+      event.finish(game.getBoard().getId(), game.getLogic().getCascadeDepth(), animatedTiles);
+      event = null;
+    }
   }
 
   /**
@@ -79,13 +223,6 @@ public class Animation implements ActionListener{
    */
   public void setType(Type type) {
     this.type = type;
-    if (type == Type.DROP) {
-      this.state = dropAnimation;
-    } else if (type == Type.SWAP) {
-      this.state = swapAnimation;
-    } else if (type == Type.REMOVE) {
-      this.state = removeAnimation;
-    }
   }
   
   /**
@@ -93,15 +230,15 @@ public class Animation implements ActionListener{
    * @param tilesToDrop list with tiles.
    */
   public void setDropTiles(List<Tile> tilesToDrop) {
-    this.dropAnimation.tilesToDrop = tilesToDrop;
+    this.tilesToDrop = tilesToDrop;
   }
   
   /**
    * Reset the level of the previous dropping tiles.
    */
   public void resetLevelDropTiles() {
-    if (this.dropAnimation.tilesToDrop != null) {
-      this.dropAnimation.tilesToDrop.forEach(tile -> tile.setLevel(0));
+    if (this.tilesToDrop != null) {
+      this.tilesToDrop.forEach(tile -> tile.setLevel(0));
     }
   }
   
@@ -122,12 +259,48 @@ public class Animation implements ActionListener{
   public void setRemoveTiles(List<Tile> tiles) {
     this.removeAnimation.tiles = tiles;
   }
-  
-  public interface IAnimation{
-    public void start();
-    
-    public void performAction();
-    
-    public void end();
-  }
-}
\ No newline at end of file
+
+  /**
+   * Check if an animation is running. Sparks do not count, the player can
+   * swap while they fly.
+   * @return true iff a track of a move did not end yet.
+   */
+  public boolean isRunning() {
+    return pending > 0;
+  }
+
+  public ParticleSystem getParticles() {
+    return particles;
+  }
+
+  /**
+   * Moves the sparks at 60 frames per second until they are all gone.
+   */
+  private class Sparks implements Timeline.Track {
+    private boolean running;
+
+    @Override
+    public int getFrames() {
+      return ParticleSystem.LIFE;
+    }
+
+    @Override
+    public int getPeriod() {
+      return 16;
+    }
+
+    @Override
+    public void frame(int frame) {
+      particles.update();
+    }
+
+    @Override
+    public void end() {
+      if (particles.getCount() > 0) {
+        timeline.add(this, 0);
+      } else {
+        running = false;
+      }
+    }
+  }
+}
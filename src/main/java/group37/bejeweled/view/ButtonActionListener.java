@@ -2,6 +2,7 @@ package main.java.group37.bejeweled.view;
 
 import main.java.group37.bejeweled.Launcher;
 import main.java.group37.bejeweled.board.Tile;
+import main.java.group37.bejeweled.model.AutoSaver;
 import main.java.group37.bejeweled.model.GameLogic;
 import main.java.group37.bejeweled.model.Logger;
 import main.java.group37.bejeweled.model.SavedGame;
@@ -9,6 +10,7 @@ import main.java.group37.bejeweled.model.SavedGame;
 import java.awt.BorderLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
@@ -33,11 +35,11 @@ public class ButtonActionListener implements ActionListener{
 
   @Override
   public void actionPerformed(ActionEvent event) {
-    if (event.getSource() == panel.saveGame) {
+    if (panel != null && event.getSource() == panel.saveGame) {
       Logger.log("Save Game clicked");
       handleSaveGame();
     }
-    if (event.getSource() == panel.quit) {
+    if (panel != null && event.getSource() == panel.quit) {
       Logger.log("Quit Game clicked");
       handleQuitGame();
     }
@@ -53,7 +55,7 @@ public class ButtonActionListener implements ActionListener{
       Logger.log("Load Game clicked");
       handleLoadGame();
     }
-    if (event.getSource() == panel.hint) {
+    if (panel != null && event.getSource() == panel.hint) {
       Logger.log("Hint clicked");
       handleHint();
     }
@@ -85,7 +87,8 @@ public class ButtonActionListener implements ActionListener{
       path = getCurrentDate() + ".json";
     }
     
-    SavedGame.getInstance().saveGame(path);
+    //only the copy of the board is made here, the file is written in the background
+    AutoSaver.get().save(Paths.get(path));
     
     Logger.log("Saved in: " + path + " in SavedGames");  
   }
@@ -1,55 +1,50 @@
 package main.java.group37.bejeweled.view;
 
 import main.java.group37.bejeweled.board.Tile;
-import main.java.group37.bejeweled.model.GameLogic;
-import main.java.group37.bejeweled.model.Logger;
 
 import java.util.List;
 
 /**
- * Class for handling the animation for droping the tiles.
+ * Class for handling the animation for droping the tiles of one column.
  * @author group37
  */
-public class DropAnimation implements Animation.IAnimation{
-  
+public class DropAnimation implements Timeline.Track {
+  public static final int FRAMES = 23;
+  public static final int PERIOD = 4;
+
   protected List<Tile> tilesToDrop;
   private Animation animation;
 
-  public DropAnimation(Animation animation) {
+  /**
+   * Create the drop animation of a column.
+   * @param animation the animations of the game.
+   * @param tilesToDrop the tiles that fall in the column.
+   */
+  public DropAnimation(Animation animation, List<Tile> tilesToDrop) {
     this.animation = animation;
+    this.tilesToDrop = tilesToDrop;
   }
 
   @Override
-  public void start() {
-    if (this.tilesToDrop != null) {
-      Logger.log("Start DROP animation");
-      animation.timer.setDelay(4);
-      animation.timer.start();
-    }
+  public int getFrames() {
+    return FRAMES;
   }
 
   @Override
-  public void performAction() {
-    animation.frame++;
-    if (animation.frame > 22) {
-      end();
-    }
+  public int getPeriod() {
+    return PERIOD;
+  }
+
+  @Override
+  public void frame(int frame) {
     int speed = 1;
     for (Tile tile: this.tilesToDrop) {
       tile.updateTranslation(0, speed * tile.getLevel());
     }
-    animation.main.repaint();
   }
 
   @Override
   public void end() {
-    Logger.log("END drop animations");
-    animation.timer.stop();
-    animation.frame = 0;
-
-    GameLogic.get().dropTiles();
-    if (!animation.game.possibleMove()) {
-      animation.main.getStatusPanel().endGame();
-    }
+    animation.trackEnded();
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,101 @@
+package main.java.group37.bejeweled.view;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * The characters of one font and color painted once next to each other in an
+ * image. Text is painted by copying the characters out of that image, so no
+ * text is laid out while painting.
+ * @author group37
+ */
+public class GlyphAtlas {
+
+  //room between the characters, so an antialiased edge does not reach the next one
+  private static final int GAP = 4;
+
+  private final String characters;
+  private final BufferedImage image;
+  private final int[] offsets;
+  private final int[] widths;
+  private final int height;
+
+  /**
+   * Paint the characters of the atlas.
+   * @param font the font.
+   * @param color the color of the text.
+   * @param characters the characters that can be painted.
+   */
+  public GlyphAtlas(Font font, Color color, String characters) {
+    this.characters = characters;
+    this.offsets = new int[characters.length()];
+    this.widths = new int[characters.length()];
+    Graphics2D measure = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+    FontMetrics metrics = measure.getFontMetrics(font);
+    measure.dispose();
+    int width = 0;
+    for (int i = 0; i < characters.length(); i++) {
+      offsets[i] = width;
+      widths[i] = metrics.charWidth(characters.charAt(i));
+      width += widths[i] + GAP;
+    }
+    this.height = metrics.getHeight();
+    this.image = new BufferedImage(Math.max(1, width), height, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D graphics = image.createGraphics();
+    graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+        RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+    graphics.setFont(font);
+    graphics.setColor(color);
+    for (int i = 0; i < characters.length(); i++) {
+      graphics.drawString(characters.substring(i, i + 1), offsets[i], metrics.getAscent());
+    }
+    graphics.dispose();
+  }
+
+  /**
+   * Paint a text, characters that are not in the atlas are left out.
+   * @param graphics where the text is painted.
+   * @param text the text.
+   * @param px left side of the text.
+   * @param py top of the text.
+   * @return the width of the painted text.
+   */
+  public int draw(Graphics graphics, CharSequence text, int px, int py) {
+    int x = px;
+    for (int i = 0; i < text.length(); i++) {
+      int glyph = characters.indexOf(text.charAt(i));
+      if (glyph >= 0) {
+        int sx = offsets[glyph];
+        graphics.drawImage(image, x, py, x + widths[glyph], py + height,
+            sx, 0, sx + widths[glyph], height, null);
+        x += widths[glyph];
+      }
+    }
+    return x - px;
+  }
+
+  /**
+   * Get the width of a text.
+   * @param text the text.
+   * @return the width in pixels.
+   */
+  public int width(CharSequence text) {
+    int width = 0;
+    for (int i = 0; i < text.length(); i++) {
+      int glyph = characters.indexOf(text.charAt(i));
+      if (glyph >= 0) {
+        width += widths[glyph];
+      }
+    }
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+}
@@ -1,16 +1,33 @@
 package main.java.group37.bejeweled.view;
 
+import main.java.group37.bejeweled.Startup;
 import main.java.group37.bejeweled.board.BoardPanel;
+import main.java.group37.bejeweled.board.Geometry;
+import main.java.group37.bejeweled.board.SpriteSet;
+import main.java.group37.bejeweled.board.Sprites;
+import main.java.group37.bejeweled.metrics.GameMetrics;
+import main.java.group37.bejeweled.metrics.GameMetrics.Phase;
+import main.java.group37.bejeweled.metrics.InputTrace;
 import main.java.group37.bejeweled.model.Game;
 import main.java.group37.bejeweled.model.GameLogic;
 import main.java.group37.bejeweled.model.Logger;
 import main.java.group37.bejeweled.model.SavedGame;
+import main.java.group37.bejeweled.model.SwapHandler;
 
+import java.awt.EventQueue;
 import java.awt.Graphics;
+import java.awt.Image;
 import java.awt.Point;
+import java.awt.event.ActionEvent;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
 
-import javax.swing.ImageIcon;
+import javax.swing.AbstractAction;
+import javax.swing.JComponent;
 import javax.swing.JPanel;
+import javax.swing.KeyStroke;
 
 @SuppressWarnings("serial")
 
@@ -20,10 +37,7 @@ import javax.swing.JPanel;
  */
 public class Main extends JPanel {
 
-  public static final Point LOCATION = new Point(241,40);
-  public static final int SPACE_X = 65;
-  public static final int SPACE_Y = 65;
-  
+  //the focus and the hint are cells of the board
   private Point focus = null;
   private Point t0 = null;
   private Point t1 = null;
@@ -32,6 +46,8 @@ public class Main extends JPanel {
   public Animation animations;
   protected Game game;
   private Panel statuspanel;
+  private final MetricsOverlay overlay = new MetricsOverlay();
+  private SpriteSet sprites;
 
   /**
    * Initialize the board and create the mouse event listeners.
@@ -48,12 +64,66 @@ public class Main extends JPanel {
     Logger.log("# Start new game");
     this.addMouseListener(new MouseListener(this));
     this.addMouseMotionListener(new MouseMotionListener(this));
+    this.addComponentListener(new ComponentAdapter() {
+        @Override
+        public void componentResized(ComponentEvent event) {
+          resized();
+        }
+      });
+    getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW)
+        .put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "overlay");
+    getActionMap().put("overlay", new AbstractAction() {
+        @Override
+        public void actionPerformed(ActionEvent event) {
+          overlay.setVisible(!overlay.isVisible());
+          repaint();
+        }
+      });
     
     GameLogic.get().init(panel);
+    game.getHistory().reset(game);
+    if (!(panel instanceof StatusPanelTime)) {
+      bindHistory();
+    }
     
     SavedGame.getInstance().setGame(game);
   }
 
+  /**
+   * Undo a move with ctrl+Z and redo it with ctrl+Y, only in normal mode.
+   */
+  private void bindHistory() {
+    getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(
+        KeyStroke.getKeyStroke(KeyEvent.VK_Z, InputEvent.CTRL_DOWN_MASK), "undo");
+    getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(
+        KeyStroke.getKeyStroke(KeyEvent.VK_Y, InputEvent.CTRL_DOWN_MASK), "redo");
+    getActionMap().put("undo", new AbstractAction() {
+        @Override
+        public void actionPerformed(ActionEvent event) {
+          if (!animations.isRunning() && !Panel.getGameOver()
+              && game.getHistory().undo(game)) {
+            historyChanged();
+          }
+        }
+      });
+    getActionMap().put("redo", new AbstractAction() {
+        @Override
+        public void actionPerformed(ActionEvent event) {
+          if (!animations.isRunning() && !Panel.getGameOver()
+              && game.getHistory().redo(game)) {
+            historyChanged();
+          }
+        }
+      });
+  }
+
+  private void historyChanged() {
+    Logger.log("Restored move " + game.getHistory().size());
+    SwapHandler.get().clearQueue();
+    focus = null;
+    repaint();
+  }
+
   /**
    * Gets the game.
    * @return game, the game.
@@ -74,9 +144,7 @@ public class Main extends JPanel {
    * @param loc location of the mouse event
    */
   public void setFocus(Point loc) {
-    int ix = loc.x * SPACE_X + LOCATION.x;
-    int iy = loc.y * SPACE_Y + LOCATION.y;
-    focus = new Point(ix,iy);
+    focus = loc;
     repaint();
   }
   
@@ -86,12 +154,8 @@ public class Main extends JPanel {
    * @param t11 second tile that can be swapped with the first one.
    */
   public void setFocusHint(Point t00, Point t11) {
-    int ix = t00.x * SPACE_X + LOCATION.x;
-    int iy = t00.y * SPACE_Y + LOCATION.y;
-    int jx = t11.x * SPACE_X + LOCATION.x;
-    int jy = t11.y * SPACE_Y + LOCATION.y;
-    t0 = new Point(ix,iy);
-    t1 = new Point(jx, jy);
+    t0 = t00;
+    t1 = t11;
     repaint();
   }
 
@@ -101,10 +165,37 @@ public class Main extends JPanel {
    * @param iy y-coordinate of the mouse event
    * @return point calculated based on the x,y coordinates from x and y.
    */
-  public static Point getColAndRow(int ix,int iy) {
-    int col = (ix - LOCATION.x) / SPACE_X;
-    int row = (iy - LOCATION.y) / SPACE_Y;
-    return new Point(col,row);
+  public Point getColAndRow(int ix,int iy) {
+    return getSprites().getGeometry().toCell(ix, iy);
+  }
+
+  /**
+   * Get the images for the size of the panel. The first time they are made
+   * right away, after a resize the old images are used until the new ones
+   * are ready.
+   * @return the images.
+   */
+  private SpriteSet getSprites() {
+    if (sprites == null) {
+      sprites = SpriteSet.of(Geometry.of(getWidth(), getHeight()));
+    }
+    return sprites;
+  }
+
+  /**
+   * Resample the images for the new size of the panel on the background thread.
+   */
+  private void resized() {
+    Geometry geometry = Geometry.of(getWidth(), getHeight());
+    if (sprites != null && sprites.getGeometry().equals(geometry)) {
+      return;
+    }
+    SpriteSet.prepare(geometry, ready -> EventQueue.invokeLater(() -> {
+        if (ready.getGeometry().equals(Geometry.of(getWidth(), getHeight()))) {
+          sprites = ready;
+          repaint();
+        }
+      }));
   }
 
 
@@ -113,23 +204,32 @@ public class Main extends JPanel {
    */
   @Override
   public void paintComponent(Graphics graphics) {
+    long start = System.nanoTime();
     super.paintComponent(graphics);
-    ImageIcon boardImage  = new ImageIcon("src/img/board.png");
-    ImageIcon focusImage = new ImageIcon("src/img/focus.png");
-    ImageIcon focusHintImage = new ImageIcon("src/img/focusHint.png");
+    SpriteSet sprites = getSprites();
+    Geometry geometry = sprites.getGeometry();
+    Image focusImage = sprites.get(Sprites.get(Sprites.FOCUS).getImage());
+    Image focusHintImage = sprites.get(Sprites.get(Sprites.FOCUS_HINT).getImage());
     
-    graphics.drawImage(boardImage.getImage(), 0, 0, this.getWidth(), this.getHeight(), null);
-    boardPanel.paintComponent(graphics);
+    boardPanel.paintBoard(graphics, sprites);
+    animations.getParticles().paint(graphics, geometry);
     
     if (focus != null) {
-      graphics.drawImage(focusImage.getImage(), focus.x, focus.y,SPACE_X,SPACE_Y, null);
+      graphics.drawImage(focusImage, geometry.cellX(focus.x), geometry.cellY(focus.y), null);
     }
     if (t0 != null && t1 != null) {
-      graphics.drawImage(focusHintImage.getImage(), t0.x, t0.y,SPACE_X,SPACE_Y, null);
-      graphics.drawImage(focusHintImage.getImage(), t1.x, t1.y,SPACE_X,SPACE_Y, null);
+      graphics.drawImage(focusHintImage, geometry.cellX(t0.x), geometry.cellY(t0.y), null);
+      graphics.drawImage(focusHintImage, geometry.cellX(t1.x), geometry.cellY(t1.y), null);
     }
     t0 = null;
-    t1 = null;   
+    t1 = null;
+    Startup.mark(Startup.Stage.FIRST_BOARD);   
+    long render = System.nanoTime() - start;
+    GameMetrics.get().record(Phase.FRAME_RENDER, render);
+    if (overlay.isVisible()) {
+      overlay.paint(graphics, render, animations);
+    }
+    InputTrace.get().frameShown(System.nanoTime());
   }
 
   public Panel getStatusPanel() {
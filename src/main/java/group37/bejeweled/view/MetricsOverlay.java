@@ -0,0 +1,60 @@
+package main.java.group37.bejeweled.view;
+
+import main.java.group37.bejeweled.metrics.GameMetrics;
+import main.java.group37.bejeweled.metrics.GameMetrics.Phase;
+import main.java.group37.bejeweled.metrics.Histogram;
+
+import java.awt.Color;
+import java.awt.Graphics;
+
+/**
+ * Shows the time of the last frame, the input latency and the running animation
+ * in the corner of the board. It is switched on with F3, or from the start with
+ * -Dbejeweled.overlay=true.
+ * @author group37
+ */
+public class MetricsOverlay {
+  public static final String PROPERTY = "bejeweled.overlay";
+
+  private static final Color BACKGROUND = new Color(0, 0, 0, 160);
+  private static final int LINE = 16;
+
+  private boolean visible = Boolean.getBoolean(PROPERTY);
+  private long lastFrame;
+  private long interval;
+
+  public boolean isVisible() {
+    return visible;
+  }
+
+  public void setVisible(boolean visible) {
+    this.visible = visible;
+  }
+
+  /**
+   * Paint the overlay.
+   * @param graphics where the overlay is painted.
+   * @param render time it took to paint the frame, in nanoseconds.
+   * @param animation the animations of the game.
+   */
+  public void paint(Graphics graphics, long render, Animation animation) {
+    long now = System.nanoTime();
+    if (lastFrame != 0) {
+      interval = now - lastFrame;
+    }
+    lastFrame = now;
+    Histogram latency = GameMetrics.get().getLatency(Phase.INPUT_LATENCY);
+    String[] lines = {
+        String.format("frame %.2f ms, %.1f ms apart", render / 1e6, interval / 1e6),
+        String.format("input p50 %.1f p90 %.1f p99 %.1f ms",
+            latency.getP50() / 1e6, latency.getP90() / 1e6, latency.getP99() / 1e6),
+        "swaps " + latency.getCount() + ", animation "
+            + (animation.isRunning() ? animation.getType().name() : "IDLE")};
+    graphics.setColor(BACKGROUND);
+    graphics.fillRect(4, 4, 228, lines.length * LINE + 8);
+    graphics.setColor(Color.WHITE);
+    for (int i = 0; i < lines.length; i++) {
+      graphics.drawString(lines[i], 10, 20 + i * LINE);
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package main.java.group37.bejeweled.view;
 
 import main.java.group37.bejeweled.board.Tile;
+import main.java.group37.bejeweled.metrics.InputTrace;
 import main.java.group37.bejeweled.model.Game;
 import main.java.group37.bejeweled.model.Logger;
 import main.java.group37.bejeweled.model.SwapHandler;
@@ -33,7 +34,8 @@ public class MouseListener extends MouseAdapter{
   @Override
   public void mouseClicked(MouseEvent event) {
     if (Panel.getGameOver() == false) {
-      Point loc = Main.getColAndRow(event.getX(),event.getY());
+      InputTrace.get().mouseEvent(event.getWhen());
+      Point loc = main.getColAndRow(event.getX(),event.getY());
       int col = loc.x;
       int row = loc.y;
       if (!main.getGame().getBoard().validBorders(col, row)) {
@@ -50,10 +52,10 @@ public class MouseListener extends MouseAdapter{
   }
 
   /**
-   * Clears the list of tiles to be swapped when the mouse is released.
+   * Ends the drag of a swap when the mouse is released.
    */
   @Override
   public void mouseReleased(MouseEvent event) {
-    SwapHandler.get().getSwapTiles().clear();
+    SwapHandler.get().release();
   }  
 }
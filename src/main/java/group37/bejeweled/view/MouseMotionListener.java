@@ -1,5 +1,6 @@
 package main.java.group37.bejeweled.view;
 
+import main.java.group37.bejeweled.metrics.InputTrace;
 import main.java.group37.bejeweled.model.SwapHandler;
 
 import java.awt.Point;
@@ -27,7 +28,8 @@ public class MouseMotionListener extends MouseAdapter{
   @Override
   public void mouseDragged(MouseEvent event) {
     if (Panel.getGameOver() == false) {
-      Point loc = Main.getColAndRow(event.getX(),event.getY());
+      InputTrace.get().mouseEvent(event.getWhen());
+      Point loc = main.getColAndRow(event.getX(),event.getY());
       int col = loc.x;
       int row = loc.y;
 
@@ -1,6 +1,8 @@
 package main.java.group37.bejeweled.view;
 
 import main.java.group37.bejeweled.Launcher;
+import main.java.group37.bejeweled.leaderboard.Leaderboards;
+import main.java.group37.bejeweled.model.GameLogic;
 import main.java.group37.bejeweled.model.Game;
 import main.java.group37.bejeweled.model.Level;
 import main.java.group37.bejeweled.model.Logger;
@@ -29,6 +31,7 @@ public abstract class Panel extends JPanel implements Observer {
   protected JButton hint = new JButton("Hint");
   private ButtonActionListener actionListener;
   protected JLabel timeLabel = new JLabel("Time: 60");
+  protected StatusHud hud = new StatusHud(timeLabel, scoreLabel, levelLabel);
   protected static boolean gameover;
   
   protected HideComponentBehaviour hcb;
@@ -45,15 +48,6 @@ public abstract class Panel extends JPanel implements Observer {
     setBorder(BorderFactory.createEmptyBorder(10, 40, 10, 10));
     setOpaque(false);
 
-    scoreLabel.setFont(new Font("Euphemia UCAS",Font.PLAIN,30));
-    scoreLabel.setForeground(new Color(192,192,192));
-
-    levelLabel.setFont(new Font("Euphemia UCAS",Font.PLAIN,30));
-    levelLabel.setForeground(new Color(192,192,192));
-    
-    timeLabel.setFont(new Font("Euphemia UCAS",Font.PLAIN,30));
-    timeLabel.setForeground(new Color(192,192,192));
-    
     quit.addActionListener(actionListener);
     StartScreen.buttonLayout(quit);  
     saveGame.addActionListener(actionListener);
@@ -63,10 +57,8 @@ public abstract class Panel extends JPanel implements Observer {
 
     Box box = Box.createVerticalBox();
     box.add(Box.createVerticalGlue());
-    box.add(timeLabel);
-    
-    box.add(scoreLabel);
-    box.add(levelLabel);
+    //the labels keep the texts, the hud shows them
+    box.add(hud);
     box.add(Box.createVerticalStrut(5));
     box.add(quit);
     box.add(Box.createVerticalStrut(3));
@@ -94,6 +86,7 @@ public abstract class Panel extends JPanel implements Observer {
   public void endGame() {
     Logger.log("End Game");
     gameover = true;
+    submitScore();
 
     JLabel label = new JLabel("<html>No More Combinations!<br>Press Quit</html>", JLabel.CENTER);
     label.setForeground(Color.WHITE);
@@ -114,6 +107,24 @@ public abstract class Panel extends JPanel implements Observer {
     Launcher.launcher.getContentPane().repaint();
   }
   
+  /**
+   * Get the leaderboard the score of this game goes to.
+   * @return the mode of the game.
+   */
+  protected Leaderboards.Mode getMode() {
+    return Leaderboards.Mode.NORMAL;
+  }
+
+  /**
+   * Put the score of the finished game on the leaderboard.
+   */
+  protected void submitScore() {
+    int score = GameLogic.get().getScore().getScore();
+    if (Leaderboards.get().submit(getMode(), System.getProperty("user.name"), score)) {
+      Logger.log("New best score " + score);
+    }
+  }
+
   public void setGame(Game game) {
     this.game = game;
   }
@@ -130,6 +141,7 @@ public abstract class Panel extends JPanel implements Observer {
    */
   public void setScore(int score) {
     this.scoreLabel.setText("Score: " + Integer.toString(score));
+    hud.changed();
   }
 
   /**
@@ -139,6 +151,7 @@ public abstract class Panel extends JPanel implements Observer {
    */
   public void setLevel(int level) {
     this.levelLabel.setText("Level: " + Integer.toString(level));
+    hud.changed();
   }
 
   /**
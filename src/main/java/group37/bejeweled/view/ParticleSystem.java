@@ -0,0 +1,226 @@
+package main.java.group37.bejeweled.view;
+
+import main.java.group37.bejeweled.board.Geometry;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The sparks of exploding special gems.
+ * All particles live in a few arrays that are made once, one array per property,
+ * so a frame allocates nothing and a dead particle is replaced by the last one.
+ * The particles are sorted by color and level of fading before they are painted,
+ * so the color of the graphics only changes a few dozen times per frame. When the pool
+ * fills up every burst gets fewer particles, and when it is full no particles
+ * are added until others have died.
+ * Positions are in the units of the 800x600 layout, speeds in units per frame.
+ * @author group37
+ */
+public class ParticleSystem {
+  public static final int CAPACITY = 4096;
+  public static final int LIFE = 48;
+
+  private static final Color[] PALETTE = {new Color(60, 170, 255), new Color(70, 220, 70),
+      new Color(255, 160, 40), new Color(210, 80, 230), new Color(255, 60, 60),
+      new Color(240, 240, 240), new Color(255, 230, 60)};
+  private static final int FADES = 4;
+  private static final int BUCKETS = PALETTE.length * FADES;
+  private static final float GRAVITY = 0.15f;
+  private static final float DRAG = 0.96f;
+
+  //one color per palette entry and fade level, made once
+  private static final Color[][] SHADES = new Color[PALETTE.length][FADES];
+
+  static {
+    for (int color = 0; color < PALETTE.length; color++) {
+      for (int fade = 0; fade < FADES; fade++) {
+        Color base = PALETTE[color];
+        SHADES[color][fade] = new Color(base.getRed(), base.getGreen(), base.getBlue(),
+            255 * (fade + 1) / FADES);
+      }
+    }
+  }
+
+  private final int capacity;
+  private final float[] x;
+  private final float[] y;
+  private final float[] vx;
+  private final float[] vy;
+  private final short[] life;
+  private final byte[] color;
+  //the particles sorted by color and fading, and where every color starts
+  private final int[] order;
+  private final int[] starts = new int[BUCKETS + 1];
+  private final Random random = new Random();
+  private int count;
+  private long dropped;
+
+  /**
+   * Create an empty particle system.
+   * @param capacity the maximum number of particles.
+   */
+  public ParticleSystem(int capacity) {
+    this.capacity = capacity;
+    this.x = new float[capacity];
+    this.y = new float[capacity];
+    this.vx = new float[capacity];
+    this.vy = new float[capacity];
+    this.life = new short[capacity];
+    this.color = new byte[capacity];
+    this.order = new int[capacity];
+  }
+
+  /**
+   * Add a burst of particles flying in all directions.
+   * @param cx x of the center.
+   * @param cy y of the center.
+   * @param particles the number of particles when the pool is empty.
+   * @param speed the highest speed.
+   * @param index the color of the gem, negative for all colors.
+   * @return the number of particles that were added.
+   */
+  public int burst(float cx, float cy, int particles, float speed, int index) {
+    int added = budget(particles);
+    for (int i = 0; i < added; i++) {
+      double angle = random.nextDouble() * 2 * Math.PI;
+      float velocity = speed * (0.3f + 0.7f * random.nextFloat());
+      add(cx, cy, (float) Math.cos(angle) * velocity, (float) Math.sin(angle) * velocity, index);
+    }
+    return added;
+  }
+
+  /**
+   * Add particles that fly along a row and a column, for a star gem.
+   * @param cx x of the center.
+   * @param cy y of the center.
+   * @param particles the number of particles when the pool is empty.
+   * @param speed the highest speed.
+   * @param index the color of the gem.
+   * @return the number of particles that were added.
+   */
+  public int cross(float cx, float cy, int particles, float speed, int index) {
+    int added = budget(particles);
+    for (int i = 0; i < added; i++) {
+      float velocity = speed * (0.2f + 0.8f * random.nextFloat()) * (i % 2 == 0 ? 1 : -1);
+      float spread = (random.nextFloat() - 0.5f) * speed * 0.1f;
+      if (i % 4 < 2) {
+        add(cx, cy, velocity, spread - GRAVITY * LIFE / 2, index);
+      } else {
+        add(cx, cy, spread, velocity, index);
+      }
+    }
+    return added;
+  }
+
+  /**
+   * Get the number of particles a burst gets, fewer when the pool fills up.
+   */
+  private int budget(int particles) {
+    int free = capacity - count;
+    int added = Math.min(free, (int) ((long) particles * free / capacity));
+    dropped += particles - added;
+    return added;
+  }
+
+  private void add(float px, float py, float speedX, float speedY, int index) {
+    x[count] = px;
+    y[count] = py;
+    vx[count] = speedX;
+    vy[count] = speedY;
+    life[count] = (short) (LIFE - random.nextInt(LIFE / 4));
+    color[count] = (byte) (index >= 0 ? index % PALETTE.length : random.nextInt(PALETTE.length));
+    count++;
+  }
+
+  /**
+   * Move all particles one frame and forget the particles that died.
+   */
+  public void update() {
+    int i = 0;
+    while (i < count) {
+      if (--life[i] <= 0) {
+        count--;
+        x[i] = x[count];
+        y[i] = y[count];
+        vx[i] = vx[count];
+        vy[i] = vy[count];
+        life[i] = life[count];
+        color[i] = color[count];
+        continue;
+      }
+      x[i] += vx[i];
+      y[i] += vy[i];
+      vx[i] *= DRAG;
+      vy[i] = vy[i] * DRAG + GRAVITY;
+      i++;
+    }
+  }
+
+  /**
+   * Paint all particles.
+   * @param graphics where the particles are painted.
+   * @param geometry the size of the panel.
+   */
+  public void paint(Graphics graphics, Geometry geometry) {
+    if (count == 0) {
+      return;
+    }
+    float scale = (float) geometry.getScale();
+    int left = geometry.getBackgroundX();
+    int top = geometry.getBackgroundY();
+    int size = Math.max(1, Math.round(3 * scale));
+    Arrays.fill(starts, 0);
+    for (int i = 0; i < count; i++) {
+      starts[bucket(i) + 1]++;
+    }
+    for (int b = 0; b < BUCKETS; b++) {
+      starts[b + 1] += starts[b];
+    }
+    for (int i = 0; i < count; i++) {
+      order[starts[bucket(i)]++] = i;
+    }
+    //every start moved to the end of its bucket, which is the start of the next
+    int from = 0;
+    for (int b = 0; b < BUCKETS; b++) {
+      int to = starts[b];
+      if (to > from) {
+        graphics.setColor(SHADES[b / FADES][b % FADES]);
+        for (int n = from; n < to; n++) {
+          int i = order[n];
+          graphics.fillRect(left + (int) (x[i] * scale), top + (int) (y[i] * scale), size,
+              size);
+        }
+      }
+      from = to;
+    }
+  }
+
+  private int bucket(int particle) {
+    return color[particle] * FADES + life[particle] * FADES / (LIFE + 1);
+  }
+
+  /**
+   * Forget all particles.
+   */
+  public void clear() {
+    count = 0;
+  }
+
+  public int getCount() {
+    return count;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Get the number of particles that were not added because the pool was filling up.
+   * @return the number of particles.
+   */
+  public long getDropped() {
+    return dropped;
+  }
+}
@@ -1,16 +1,17 @@
 package main.java.group37.bejeweled.view;
 
 import main.java.group37.bejeweled.board.Tile;
-import main.java.group37.bejeweled.view.Animation.Type;
 
-import java.awt.Point;
 import java.util.List;
 
 /**
  * Class for handling the animation for removing tiles.
  * @author group37
  */
-public class RemoveAnimation implements Animation.IAnimation{
+public class RemoveAnimation implements Timeline.Track {
+  public static final int FRAMES = 32;
+  public static final int PERIOD = 1;
+
   private Animation animation;
   protected List<Tile> tiles;
 
@@ -18,44 +19,43 @@ public class RemoveAnimation implements Animation.IAnimation{
     this.animation = animation;
   }
 
-  @Override
-  public void start() {
-    animation.frame = 0;
+  /**
+   * Put the tiles back in their place before they start shrinking.
+   */
+  void start() {
     for (Tile t: this.tiles) {
-      t.translation = new Point(0,0);
+      t.resetD();
       t.size = 0;
     }
-    animation.timer.setDelay(1);
-    animation.timer.start();
   }
 
   @Override
-  public void performAction() {
-    animation.frame++;
+  public int getFrames() {
+    return FRAMES;
+  }
+
+  @Override
+  public int getPeriod() {
+    return PERIOD;
+  }
+
+  @Override
+  public void frame(int frame) {
     int speed = 1;
-    if (animation.frame > 32) {
-      end(); 
-    } else {
-      for (Tile t: this.tiles) {
-        t.translation.x += speed;
-        t.translation.y += speed;
-        t.size += 2 * speed;
-      }
+    for (Tile t: this.tiles) {
+      t.translation.x += speed;
+      t.translation.y += speed;
+      t.size += 2 * speed;
     }
-    animation.main.repaint();
   }
 
   @Override
   public void end() {
-    animation.timer.stop();
-    animation.frame = 0;
     for (Tile t: this.tiles) {
       t.remove = true;
-      t.translation = new Point(0,0);
+      t.resetD();
       t.size = 0;
     }
-
-    animation.setType(Type.DROP);
-    animation.start();
+    animation.trackEnded();
   }
 }
@@ -1,5 +1,8 @@
 package main.java.group37.bejeweled.view;
 
+import main.java.group37.bejeweled.Startup;
+import main.java.group37.bejeweled.board.Sprites;
+
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
@@ -8,7 +11,6 @@ import java.awt.Graphics;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
-import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JPanel;
 
@@ -27,7 +29,6 @@ public class StartScreen extends JPanel {
   protected JButton timeMode = new JButton("Time Mode");
   
   private ButtonActionListener actionListener;
-  private StatusPanel statusPanel;
   public StartScreen startscreen;
   
   /**
@@ -35,7 +36,6 @@ public class StartScreen extends JPanel {
    */
   public StartScreen() {
     startscreen = this;
-    statusPanel = new StatusPanel();
     init();
   }
   
@@ -43,7 +43,8 @@ public class StartScreen extends JPanel {
    * Init method for setting up the startscreen.
    */
   public void init() {
-    this.actionListener = new ButtonActionListener(statusPanel);
+    //the status panel of a game is only made when a game is started
+    this.actionListener = new ButtonActionListener(null);
     setLayout(new BorderLayout());
     setBorder(BorderFactory.createEmptyBorder(10, 40, 10, 10));
     setOpaque(false);
@@ -68,6 +69,13 @@ public class StartScreen extends JPanel {
     
   }
   
+  /**
+   * Start a new game as if the button was clicked, must be called on the event thread.
+   */
+  public void startNewGame() {
+    newGame.doClick();
+  }
+
   /**
    * method for the button layout.
    */
@@ -87,9 +95,9 @@ public class StartScreen extends JPanel {
   @Override
   public void paintComponent(Graphics graphics) {
     super.paintComponent(graphics);
-    ImageIcon boardImage  = new ImageIcon("src/img/board.png");
-    
-    graphics.drawImage(boardImage.getImage(), 0, 0, this.getWidth(), this.getHeight(), null);
+    graphics.drawImage(Sprites.get(Sprites.BOARD).getImage(), 0, 0, this.getWidth(),
+        this.getHeight(), null);
+    Startup.mark(Startup.Stage.FIRST_FRAME);
   
   }
 
@@ -0,0 +1,116 @@
+package main.java.group37.bejeweled.view;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.Timer;
+
+/**
+ * Shows the time, score and level in a region of fixed size.
+ * The labels of the status panel keep the texts, but they are not shown. A
+ * change of a text only repaints this region, at most once per frame, so a
+ * cascade that changes the score many times does not lay out the window or
+ * repaint the board.
+ * @author group37
+ */
+@SuppressWarnings("serial")
+public class StatusHud extends JComponent {
+  public static final Font FONT = new Font("Euphemia UCAS", Font.PLAIN, 30);
+  public static final Color COLOR = new Color(192, 192, 192);
+  public static final int FRAME = 16;
+
+  private static final String CHARACTERS = "0123456789 :-ScoreLvlTim";
+  private static GlyphAtlas atlas;
+
+  private final JLabel[] lines;
+  private final AtomicBoolean dirty = new AtomicBoolean();
+  private final Timer timer;
+  private long repaints;
+
+  /**
+   * Create a hud.
+   * @param lines the labels with the texts, a hidden label is left out.
+   */
+  public StatusHud(JLabel... lines) {
+    this.lines = lines;
+    this.timer = new Timer(FRAME, event -> {
+        dirty.set(false);
+        repaints++;
+        repaint();
+      });
+    timer.setRepeats(false);
+    setAlignmentX(LEFT_ALIGNMENT);
+    setOpaque(false);
+  }
+
+  /**
+   * Get the characters of the hud, they are painted the first time.
+   * @return the atlas.
+   */
+  public static synchronized GlyphAtlas getAtlas() {
+    if (atlas == null) {
+      atlas = new GlyphAtlas(FONT, COLOR, CHARACTERS);
+    }
+    return atlas;
+  }
+
+  /**
+   * Called when the text of a label changed, from any thread.
+   */
+  public void changed() {
+    if (dirty.compareAndSet(false, true)) {
+      timer.start();
+    }
+  }
+
+  /**
+   * Get the number of times the hud was repainted because a text changed.
+   * @return the number of repaints.
+   */
+  public long getRepaints() {
+    return repaints;
+  }
+
+  /**
+   * Get the size of the hud, it only changes when a label is hidden or shown.
+   * @return room for the longest score on every shown line.
+   */
+  @Override
+  public Dimension getPreferredSize() {
+    GlyphAtlas glyphs = getAtlas();
+    int shown = 0;
+    for (JLabel line : lines) {
+      if (line.isVisible()) {
+        shown++;
+      }
+    }
+    return new Dimension(glyphs.width("Score: 00000000"), shown * glyphs.getHeight());
+  }
+
+  @Override
+  public Dimension getMinimumSize() {
+    return getPreferredSize();
+  }
+
+  @Override
+  public Dimension getMaximumSize() {
+    return getPreferredSize();
+  }
+
+  @Override
+  protected void paintComponent(Graphics graphics) {
+    GlyphAtlas glyphs = getAtlas();
+    int y = 0;
+    for (JLabel line : lines) {
+      if (line.isVisible()) {
+        glyphs.draw(graphics, line.getText(), 0, y);
+        y += glyphs.getHeight();
+      }
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package main.java.group37.bejeweled.view;
 
 import main.java.group37.bejeweled.Launcher;
+import main.java.group37.bejeweled.leaderboard.Leaderboards;
 import main.java.group37.bejeweled.model.Logger;
 
 import java.awt.Color;
@@ -35,6 +36,7 @@ public class StatusPanelTime extends Panel {
     public void run() {
       updateTime();
       timeLabel.setText("Time: " + time);
+      hud.changed();
       if (time == 0) {
         Panel.gameover = true;
         endGameTimer();
@@ -57,6 +59,7 @@ public class StatusPanelTime extends Panel {
    */
   public void endGameTimer() {
     Logger.log("End Game");
+    submitScore();
 
     JLabel label = new JLabel("<html>You are out of time!<br>Press Quit</html>", JLabel.CENTER);
     label.setForeground(Color.WHITE);
@@ -78,6 +81,11 @@ public class StatusPanelTime extends Panel {
     Logger.log("End game - out of time");
   }
 
+  @Override
+  protected Leaderboards.Mode getMode() {
+    return Leaderboards.Mode.TIME;
+  }
+
   @Override
   public void hide() {
     hcb.hide(saveGame);   
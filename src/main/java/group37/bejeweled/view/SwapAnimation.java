@@ -1,15 +1,17 @@
 package main.java.group37.bejeweled.view;
 
-import main.java.group37.bejeweled.board.HypercubeTile;
 import main.java.group37.bejeweled.board.Tile;
+import main.java.group37.bejeweled.metrics.InputTrace;
 import main.java.group37.bejeweled.model.GameLogic;
-import main.java.group37.bejeweled.model.SwapHandler;
 
 /**
  * Class for handing the swap animation of two tiles.
  * @author group37
  */
-public class SwapAnimation implements Animation.IAnimation{
+public class SwapAnimation implements Timeline.Track {
+  public static final int FRAMES = 16;
+  public static final int PERIOD = 10;
+
   protected Tile t0;
   protected Tile t1;
   private Animation animation;
@@ -19,54 +21,52 @@ public class SwapAnimation implements Animation.IAnimation{
   }
 
   @Override
-  public void start() {
-    animation.timer.setDelay(10);
-    animation.timer.start();
+  public int getFrames() {
+    return FRAMES;
   }
 
   @Override
-  public void performAction() {
-    animation.frame++;
+  public int getPeriod() {
+    return PERIOD;
+  }
+
+  @Override
+  public void frame(int frame) {
+    if (frame == 1) {
+      InputTrace.get().mark(InputTrace.Stage.MOVED);
+    }
     int speed = 4;
-    if (animation.frame > 16) {
-      end();
-    } else {
-      int direction = 1;
-      if (t0.getX() == t1.getX()) {
-        if (t0.getY() < t1.getY()) { 
-          direction = 1; 
-        } else { 
-          direction = -1;
-        }
-        t0.updateTranslation(0,speed * direction);
-        t1.updateTranslation(0,-speed * direction);
-      } else {                
-        if (t0.getX() < t1.getX()) { 
-          direction = 1;
-        } else {
-          direction = -1;
-        }
-        t0.updateTranslation(speed * direction, 0);
-        t1.updateTranslation(-speed * direction, 0);
+    int direction = 1;
+    if (t0.getX() == t1.getX()) {
+      if (t0.getY() < t1.getY()) { 
+        direction = 1; 
+      } else { 
+        direction = -1;
       }
-    }    
-    animation.main.repaint(); 
+      t0.updateTranslation(0,speed * direction);
+      t1.updateTranslation(0,-speed * direction);
+    } else {                
+      if (t0.getX() < t1.getX()) { 
+        direction = 1;
+      } else {
+        direction = -1;
+      }
+      t0.updateTranslation(speed * direction, 0);
+      t1.updateTranslation(-speed * direction, 0);
+    }
   }
 
   @Override
   public void end() {
-    animation.timer.stop();
-    animation.frame = 0;
+    animation.trackEnded();
+  }
 
+  /**
+   * Switch the tiles on the board and delete the combinations they made.
+   */
+  void resolve() {
     t0.resetD();
     t1.resetD();
-    SwapHandler.get().swappedTiles(t0,t1);
-    if (t0 instanceof HypercubeTile) {
-      GameLogic.get().deleteTiles(SwapHandler.get().getTilesToDeleteHypercube(t1,t0));
-    } else if (t1 instanceof HypercubeTile) {
-      GameLogic.get().deleteTiles(SwapHandler.get().getTilesToDeleteHypercube(t0,t1));
-    } else {
-      GameLogic.get().deleteChains();
-    }
+    GameLogic.get().resolveSwap(t0,t1);
   }
-}
\ No newline at end of file
+}
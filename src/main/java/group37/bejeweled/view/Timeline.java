@@ -0,0 +1,160 @@
+package main.java.group37.bejeweled.view;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.Timer;
+
+/**
+ * Runs several animation tracks at the same time with one Swing timer.
+ * Every track has its own number of frames and time per frame. The frames are
+ * counted from the time the track started, so a track that falls behind runs the
+ * missed frames at the next tick and always takes the same time. The board is
+ * repainted once per tick, however many tracks changed it. Time is taken from
+ * {@link System#nanoTime()}, so a change of the wall clock doesn't skip or stall frames.
+ * @author group37
+ */
+public class Timeline {
+
+  private final List<Entry> entries = new ArrayList<Entry>();
+  private final List<Entry> added = new ArrayList<Entry>();
+  private final Runnable onFrame;
+  private final Timer timer;
+
+  /**
+   * Create a timeline.
+   * @param onFrame called after every tick in which a frame was run.
+   * @param tickMillis time between two ticks, 0 when the owner calls
+   *     {@link #advance(long)} itself.
+   */
+  public Timeline(Runnable onFrame, int tickMillis) {
+    this.onFrame = onFrame;
+    if (tickMillis > 0) {
+      this.timer = new Timer(tickMillis, event -> advance(now()));
+    } else {
+      this.timer = null;
+    }
+  }
+
+  /**
+   * Get the current time of the timeline.
+   * @return the time in milliseconds, from a monotonic clock.
+   */
+  public static long now() {
+    return System.nanoTime() / 1000000;
+  }
+
+  /**
+   * Start a track.
+   * @param track the track.
+   * @param delayMillis time until the first frame of the track.
+   */
+  public void add(Track track, long delayMillis) {
+    add(track, delayMillis, now());
+  }
+
+  /**
+   * Start a track.
+   * @param track the track.
+   * @param delayMillis time until the first frame of the track.
+   * @param now the current time in milliseconds, from {@link #now()}.
+   */
+  public void add(Track track, long delayMillis, long now) {
+    added.add(new Entry(track, now + delayMillis));
+    if (timer != null && !timer.isRunning()) {
+      timer.start();
+    }
+  }
+
+  /**
+   * Check if there are tracks that did not end yet.
+   * @return true iff a track is running.
+   */
+  public boolean isRunning() {
+    return !entries.isEmpty() || !added.isEmpty();
+  }
+
+  /**
+   * Get the number of tracks that did not end yet.
+   * @return the number of tracks.
+   */
+  public int getTrackCount() {
+    return entries.size() + added.size();
+  }
+
+  /**
+   * Run the frames of all tracks that are due and end the tracks that are done.
+   * A track that is started while ending another track runs from the next tick.
+   * @param now the current time in milliseconds, from {@link #now()}.
+   */
+  public void advance(long now) {
+    entries.addAll(added);
+    added.clear();
+    boolean changed = false;
+    List<Entry> ended = new ArrayList<Entry>();
+    for (Entry entry : entries) {
+      if (now < entry.start) {
+        continue;
+      }
+      int frames = entry.track.getFrames();
+      long due = Math.min(frames, (now - entry.start) / entry.track.getPeriod());
+      while (entry.frame < due) {
+        entry.track.frame(++entry.frame);
+        changed = true;
+      }
+      if (entry.frame == frames) {
+        ended.add(entry);
+      }
+    }
+    entries.removeAll(ended);
+    if (changed) {
+      onFrame.run();
+    }
+    for (Entry entry : ended) {
+      entry.track.end();
+    }
+    if (timer != null && !isRunning()) {
+      timer.stop();
+    }
+  }
+
+  private static class Entry {
+    private final Track track;
+    private final long start;
+    private int frame;
+
+    private Entry(Track track, long start) {
+      this.track = track;
+      this.start = start;
+    }
+  }
+
+  /**
+   * One animation on a timeline.
+   */
+  public interface Track {
+
+    /**
+     * Get the number of frames.
+     * @return the number of frames.
+     */
+    public int getFrames();
+
+    /**
+     * Get the time of one frame.
+     * @return the time in milliseconds, at least 1.
+     */
+    public int getPeriod();
+
+    /**
+     * Run a frame.
+     * @param frame the number of the frame, from 1 up to the number of frames.
+     */
+    public void frame(int frame);
+
+    /**
+     * Called after the last frame.
+     */
+    public void end();
+  }
+}
@@ -0,0 +1,78 @@
+package test.java.group37.bejeweled;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import main.java.group37.bejeweled.Startup;
+import main.java.group37.bejeweled.board.Sprites;
+import main.java.group37.bejeweled.board.Tile;
+import main.java.group37.bejeweled.metrics.GameMetrics;
+import main.java.group37.bejeweled.metrics.GameMetrics.Phase;
+import main.java.group37.bejeweled.model.Game;
+import main.java.group37.bejeweled.model.Move;
+
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * Tests for the Startup class.
+ * @author group37
+ */
+public class StartupTest {
+
+  private static long recorded() {
+    long count = 0;
+    for (Phase phase : Phase.values()) {
+      count += GameMetrics.get().getLatency(phase).getCount();
+    }
+    return count;
+  }
+
+  /**
+   * Test that the warm up loads every image and leaves the metrics alone.
+   */
+  @Test
+  public void warmUpTest() {
+    long before = recorded();
+    Startup.warmUp();
+    for (String path : Sprites.all()) {
+      assertTrue(path, Sprites.get(path).getIconWidth() > 0);
+    }
+    assertEquals(before, recorded());
+    assertTrue(GameMetrics.get().isRecording());
+  }
+
+  /**
+   * Test that a move made while unrecorded is left out of the metrics.
+   */
+  @Test
+  public void unrecordedTest() {
+    Game game = new Game(0);
+    long before = recorded();
+    long moves = GameMetrics.get().getMoves();
+    GameMetrics.get().unrecorded(() -> assertTrue(game.makeMove(hint(game))));
+    assertEquals(before, recorded());
+    assertEquals(moves, GameMetrics.get().getMoves());
+    assertTrue(game.makeMove(hint(game)));
+    assertTrue(recorded() > before);
+    assertEquals(moves + 1, GameMetrics.get().getMoves());
+  }
+
+  private static Move hint(Game game) {
+    List<Tile> hint = game.getLogic().getHint();
+    return new Move(hint.get(0).getX(), hint.get(0).getY(),
+        hint.get(1).getX(), hint.get(1).getY());
+  }
+
+  /**
+   * Test that the preload thread warms up and then runs the next work.
+   * @throws InterruptedException when the thread is interrupted while waiting.
+   */
+  @Test
+  public void preloadTest() throws InterruptedException {
+    boolean[] ran = new boolean[1];
+    Startup.preload(() -> ran[0] = true).join();
+    assertTrue(ran[0]);
+  }
+}
@@ -0,0 +1,100 @@
+package test.java.group37.bejeweled.board;
+
+import static org.junit.Assert.assertEquals;
+
+import main.java.group37.bejeweled.board.Board;
+import main.java.group37.bejeweled.board.BoardLayer;
+import main.java.group37.bejeweled.board.BoardPanel;
+import main.java.group37.bejeweled.board.Geometry;
+import main.java.group37.bejeweled.board.SpriteSet;
+import main.java.group37.bejeweled.board.Sprites;
+import main.java.group37.bejeweled.board.Tile;
+import main.java.group37.bejeweled.board.TileFactory;
+import main.java.group37.bejeweled.combination.Combination.Type;
+import main.java.group37.bejeweled.model.Game;
+
+import org.junit.Test;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Tests for the BoardLayer class.
+ * @author group37
+ */
+public class BoardLayerTest {
+
+  private static final int WIDTH = 800;
+  private static final int HEIGHT = 600;
+
+  private static BufferedImage paint(Board board, BoardLayer layer) {
+    BufferedImage canvas = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = canvas.createGraphics();
+    if (layer == null) {
+      graphics.drawImage(Sprites.get(Sprites.BOARD).getImage(), 0, 0, WIDTH, HEIGHT, null);
+      for (int y = 0; y < board.getHeight(); y++) {
+        for (int x = 0; x < board.getWidth(); x++) {
+          board.getTileAt(x, y).paintComponent(graphics,
+              BoardPanel.LOCATION.x + x * Tile.spaceX, BoardPanel.LOCATION.y + y * Tile.spaceY);
+        }
+      }
+    } else {
+      layer.paint(graphics, board, SpriteSet.of(Geometry.DESIGN));
+    }
+    graphics.dispose();
+    return canvas;
+  }
+
+  private static void assertSamePixels(BufferedImage expected, BufferedImage actual) {
+    for (int y = 0; y < HEIGHT; y++) {
+      for (int x = 0; x < WIDTH; x++) {
+        assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+      }
+    }
+  }
+
+  /**
+   * Test that the layers look the same as painting every tile.
+   */
+  @Test
+  public void samePixelsTest() {
+    Board board = new Game(4).getBoard();
+    BoardLayer layer = new BoardLayer();
+    assertSamePixels(paint(board, null), paint(board, layer));
+    board.getTileAt(3, 5).size = 20;
+    assertSamePixels(paint(board, null), paint(board, layer));
+  }
+
+  /**
+   * Test that the cached layer is only painted again when a still tile changes.
+   */
+  @Test
+  public void rebuildTest() {
+    Board board = new Game(5).getBoard();
+    BoardLayer layer = new BoardLayer();
+    paint(board, layer);
+    paint(board, layer);
+    assertEquals(1L, layer.getRebuilds());
+    //a tile starts moving, it leaves the cached layer
+    Tile moving = board.getTileAt(2, 2);
+    moving.translation.setLocation(0, 5);
+    paint(board, layer);
+    assertEquals(2L, layer.getRebuilds());
+    for (int step = 6; step < 30; step++) {
+      moving.translation.setLocation(0, step);
+      paint(board, layer);
+    }
+    assertEquals(2L, layer.getRebuilds());
+    //a new tile is placed
+    board.setTileAt(TileFactory.generateTile(Type.NORMAL, 0, 0), 0, 0);
+    paint(board, layer);
+    assertEquals(3L, layer.getRebuilds());
+    //a tile gets another image
+    board.getTileAt(0, 0).setImage(Sprites.get(Sprites.FOCUS));
+    paint(board, layer);
+    assertEquals(4L, layer.getRebuilds());
+    layer.invalidate();
+    paint(board, layer);
+    assertEquals(5L, layer.getRebuilds());
+  }
+}
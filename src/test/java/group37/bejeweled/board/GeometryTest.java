@@ -0,0 +1,76 @@
+package test.java.group37.bejeweled.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import main.java.group37.bejeweled.board.BoardPanel;
+import main.java.group37.bejeweled.board.Geometry;
+import main.java.group37.bejeweled.board.SpriteSet;
+import main.java.group37.bejeweled.board.Sprites;
+
+import org.junit.Test;
+
+import java.awt.Image;
+import java.awt.Point;
+
+/**
+ * Tests for the Geometry and SpriteSet classes.
+ * @author group37
+ */
+public class GeometryTest {
+
+  /**
+   * Test that the default window has the layout of the background.
+   */
+  @Test
+  public void designTest() {
+    Geometry geometry = Geometry.DESIGN;
+    assertEquals(65, geometry.getCell());
+    assertEquals(BoardPanel.LOCATION.x, geometry.cellX(0));
+    assertEquals(BoardPanel.LOCATION.y, geometry.cellY(0));
+    assertEquals(new Point(0, 0), geometry.toCell(241, 40));
+    assertEquals(new Point(7, 7), geometry.toCell(241 + 8 * 65 - 1, 40 + 8 * 65 - 1));
+    assertEquals(new Point(-1, 0), geometry.toCell(240, 40));
+  }
+
+  /**
+   * Test that a wide screen scales the layout to its height and centers it.
+   */
+  @Test
+  public void scaleTest() {
+    Geometry geometry = Geometry.of(3840, 2160);
+    assertEquals(3.6, geometry.getScale(), 1e-9);
+    assertEquals(234, geometry.getCell());
+    assertEquals(2880, geometry.getBackgroundWidth());
+    assertEquals(480, geometry.getBackgroundX());
+    assertEquals(0, geometry.getBackgroundY());
+    assertEquals(480 + 868, geometry.cellX(0));
+    for (int col = 0; col < 8; col++) {
+      assertEquals(new Point(col, 3), geometry.toCell(geometry.cellX(col) + 100,
+          geometry.cellY(3) + 233));
+    }
+  }
+
+  /**
+   * Test that the sprites are resampled to the size of a cell once per cell size.
+   */
+  @Test
+  public void spritesTest() {
+    Image gem = Sprites.get("src/img/gemRed.png").getImage();
+    SpriteSet sprites = SpriteSet.of(Geometry.of(1280, 720));
+    assertEquals(78, sprites.get(gem).getWidth());
+    assertEquals(78, sprites.get(gem).getHeight());
+    assertEquals(960, sprites.getBackground().getWidth());
+    assertEquals(720, sprites.getBackground().getHeight());
+    assertEquals(40, sprites.get(gem, 40).getWidth());
+    assertSame(sprites.get(gem, 40), sprites.get(gem, 40));
+    assertSame(sprites, SpriteSet.of(Geometry.of(1280, 720)));
+    //a higher window has the same scale, it only moves the board down
+    SpriteSet higher = SpriteSet.of(Geometry.of(960, 800));
+    assertNotSame(sprites, higher);
+    assertSame(sprites.get(gem), higher.get(gem));
+    assertSame(sprites.getBackground(), higher.getBackground());
+    assertEquals(40, higher.getGeometry().getBackgroundY());
+  }
+}
@@ -0,0 +1,79 @@
+package test.java.group37.bejeweled.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import main.java.group37.bejeweled.board.Sprites;
+import main.java.group37.bejeweled.board.Tile;
+import main.java.group37.bejeweled.board.TileFactory;
+import main.java.group37.bejeweled.combination.Combination.Type;
+
+import org.junit.Test;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+
+/**
+ * Tests for the Sprites class.
+ * @author group37
+ */
+public class SpritesTest {
+
+  /**
+   * Test that an image is loaded once and shared.
+   */
+  @Test
+  public void sharedTest() {
+    assertSame(Sprites.get(Sprites.BOARD), Sprites.get(Sprites.BOARD));
+    Tile tile = TileFactory.generateTile(Type.STAR, 0, 0);
+    assertSame(Sprites.get(tile.paths[tile.getIndex()]), tile.getImage());
+  }
+
+  /**
+   * Test that every size of an image is scaled once.
+   */
+  @Test
+  public void scaledTest() {
+    Image image = Sprites.get(Sprites.FOCUS).getImage();
+    BufferedImage frame = Sprites.scaled(image, 33, 33);
+    assertEquals(33, frame.getWidth());
+    assertEquals(33, frame.getHeight());
+    assertSame(frame, Sprites.scaled(image, 33, 33));
+    assertEquals(20, Sprites.scaled(image, 33, 20).getHeight());
+    assertNull(Sprites.scaled(image, 0, 0));
+    assertNull(Sprites.scaled(image, 1000, 1000));
+  }
+
+  /**
+   * Test that a tile is painted at every step of the remove animation.
+   */
+  @Test
+  public void paintTest() {
+    BufferedImage canvas = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D graphics = canvas.createGraphics();
+    Tile tile = TileFactory.generateTile(Type.NORMAL, 0, 0);
+    for (int size = 0; size <= Tile.spaceX; size += 2) {
+      tile.size = size;
+      tile.paintComponent(graphics, 0, 0);
+    }
+    graphics.dispose();
+    tile.size = 0;
+    assertSame(Sprites.scaled(tile.getImage().getImage(), Tile.spaceX, Tile.spaceY),
+        Sprites.scaled(tile.getImage().getImage(), Tile.spaceX, Tile.spaceY));
+  }
+
+  /**
+   * Test that every image of the game is loaded.
+   */
+  @Test
+  public void loadAllTest() {
+    Sprites.loadAll();
+    assertEquals(3 + 4 * 7, Sprites.all().size());
+    for (String path : Sprites.all()) {
+      assertTrue(path, Sprites.get(path).getIconWidth() > 0);
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package test.java.group37.bejeweled.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import main.java.group37.bejeweled.board.FlameTile;
+import main.java.group37.bejeweled.board.NormalTile;
+import main.java.group37.bejeweled.board.Tile;
+import main.java.group37.bejeweled.board.TilePool;
+import main.java.group37.bejeweled.combination.Combination.Type;
+
+import org.junit.Test;
+
+/**
+ * Tests for the TilePool class.
+ * @author group37
+ */
+public class TilePoolTest {
+
+  /**
+   * Test that a recycled tile is reused and reset.
+   */
+  @Test
+  public void recycleTest() {
+    TilePool pool = new TilePool();
+    Tile tile = new NormalTile(2, 3);
+    tile.delete = true;
+    tile.remove = true;
+    tile.setLevel(2);
+    tile.updateTranslation(5, 5);
+    tile.setNextType(Type.STAR);
+    pool.recycle(tile);
+    assertEquals(1, pool.available(Type.NORMAL));
+
+    Tile reused = pool.obtain(Type.NORMAL, 4, 5);
+    assertSame(tile, reused);
+    assertEquals(4, reused.getX());
+    assertEquals(5, reused.getY());
+    assertFalse(reused.delete);
+    assertFalse(reused.remove);
+    assertEquals(0, reused.getLevel());
+    assertEquals(0, reused.getTranslation().x);
+    assertEquals(Type.NORMAL, reused.getNextType());
+  }
+
+  /**
+   * Test that tiles are only reused for the same type.
+   */
+  @Test
+  public void typeTest() {
+    TilePool pool = new TilePool();
+    pool.recycle(new FlameTile(0, 0));
+    assertEquals(0, pool.available(Type.NORMAL));
+    assertTrue(pool.obtain(Type.NORMAL, 0, 0) instanceof NormalTile);
+    assertTrue(pool.obtain(Type.FLAME, 1, 1) instanceof FlameTile);
+    assertEquals(0, pool.available(Type.FLAME));
+  }
+}
@@ -0,0 +1,146 @@
+package test.java.group37.bejeweled.importer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import main.java.group37.bejeweled.importer.ImportReport;
+import main.java.group37.bejeweled.importer.SaveImporter;
+import main.java.group37.bejeweled.importer.SaveTable;
+import main.java.group37.bejeweled.model.SaveCodec;
+import main.java.group37.bejeweled.model.SaveState;
+import main.java.group37.bejeweled.model.SavedGame;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Tests for the SaveImporter and SaveTable classes.
+ * @author group37
+ */
+public class SaveImporterTest {
+
+  private Path dir;
+
+  /**
+   * Create a folder for the saves.
+   * @throws IOException when the folder can't be created.
+   */
+  @Before
+  public void setUp() throws IOException {
+    dir = Files.createTempDirectory("saves");
+  }
+
+  /**
+   * Remove the saves and the table.
+   * @throws IOException when a file can't be removed.
+   */
+  @After
+  public void tearDown() throws IOException {
+    Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+          throws IOException {
+        Files.delete(file);
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult postVisitDirectory(Path directory, IOException e)
+          throws IOException {
+        Files.delete(directory);
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  private static SaveState state(Random random, int badCode) {
+    int[] codes = new int[SavedGame.SIZE * SavedGame.SIZE];
+    for (int i = 0; i < codes.length; i++) {
+      codes[i] = random.nextInt(4) * 10 + random.nextInt(7);
+    }
+    codes[5] = badCode < 0 ? codes[5] : badCode;
+    int score = random.nextInt(20000);
+    return new SaveState(score, score / 1000 + 1, codes);
+  }
+
+  private static void write(Path file, SaveState state) throws IOException {
+    try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      SaveCodec.write(state, writer);
+    }
+  }
+
+  /**
+   * Test that all valid saves of a tree end up in the table and the others are rejected.
+   * @throws IOException when the saves can't be written.
+   */
+  @Test
+  public void importTest() throws IOException {
+    Random random = new Random(1);
+    Map<String, SaveState> saves = new HashMap<String, SaveState>();
+    for (int d = 0; d < 3; d++) {
+      Path sub = Files.createDirectories(dir.resolve("in").resolve("d" + d).resolve("e"));
+      for (int i = 0; i < 300; i++) {
+        Path file = (i % 2 == 0 ? sub : sub.getParent()).resolve("save" + i + ".json");
+        SaveState state = state(random, -1);
+        write(file, state);
+        saves.put(dir.resolve("in").relativize(file).toString(), state);
+      }
+    }
+    Path in = dir.resolve("in");
+    write(in.resolve("code.json"), state(random, 37));
+    write(in.resolve("level.json"), new SaveState(10, 5, new int[SaveTable.CELLS]));
+    Files.write(in.resolve("broken.json"), "{\"score\":1,\"level\":1,\"board\":[[1,2"
+        .getBytes(StandardCharsets.UTF_8));
+    Files.write(in.resolve("escape.json"), "{\"score\":1,\"level\":1,\"name\":\"\\u12g4\"}"
+        .getBytes(StandardCharsets.UTF_8));
+    Files.write(in.resolve("notes.txt"), "not a save".getBytes(StandardCharsets.UTF_8));
+
+    Path output = dir.resolve("saves.table");
+    ImportReport report = new SaveImporter(4).importAll(in, output);
+    assertEquals(900, report.getImported());
+    assertEquals(4, report.getRejects().size());
+    assertTrue(report.getRejects().get(0).startsWith("broken.json\t"));
+    assertTrue(report.getRejects().get(2).startsWith("escape.json\t"));
+    assertTrue(report.getBytes() > 0);
+
+    SaveTable table = SaveTable.read(output);
+    assertEquals(900, table.getRows());
+    for (int row = 0; row < table.getRows(); row++) {
+      SaveState expected = saves.get(table.getPath(row));
+      assertEquals(expected.getScore(), table.getScore(row));
+      assertEquals(expected.getLevel(), table.getLevel(row));
+      for (int cell = 0; cell < SaveTable.CELLS; cell++) {
+        int col = cell % SavedGame.SIZE;
+        int boardRow = cell / SavedGame.SIZE;
+        assertEquals(expected.getCode(col, boardRow), table.getCode(row, col, boardRow));
+      }
+    }
+  }
+
+  /**
+   * Test the checks of a save.
+   */
+  @Test
+  public void validateTest() {
+    Random random = new Random(2);
+    assertEquals(null, SaveImporter.validate(state(random, -1)));
+    assertEquals("tile code 37 at 5,0", SaveImporter.validate(state(random, 37)));
+    assertEquals("tile code 8 at 5,0", SaveImporter.validate(state(random, 8)));
+    assertEquals("no board", SaveImporter.validate(new SaveState(0, 1, null)));
+    assertEquals("level 3 doesn't match score 999",
+        SaveImporter.validate(new SaveState(999, 3, new int[SaveTable.CELLS])));
+  }
+}
@@ -0,0 +1,199 @@
+package test.java.group37.bejeweled.leaderboard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import main.java.group37.bejeweled.leaderboard.Leaderboard;
+import main.java.group37.bejeweled.leaderboard.LeaderboardEntry;
+import main.java.group37.bejeweled.leaderboard.Leaderboards;
+
+import org.junit.Test;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests for the Leaderboard and Leaderboards classes.
+ * @author group37
+ */
+public class LeaderboardTest {
+
+  /**
+   * Test the ranks and the top entries, equal scores share a rank.
+   */
+  @Test
+  public void rankTest() {
+    Leaderboard board = new Leaderboard();
+    board.submit("a", 500, 1);
+    board.submit("b", 1500, 2);
+    board.submit("c", 505, 3);
+    board.submit("d", 500, 0);
+    assertEquals(1L, board.getRank("b"));
+    assertEquals(2L, board.getRank("c"));
+    assertEquals(3L, board.getRank("d"));
+    assertEquals(3L, board.getRank("a"));
+    assertEquals(0L, board.getRank("e"));
+    List<LeaderboardEntry> top = board.top(2);
+    assertEquals(2, top.size());
+    assertEquals("b", top.get(0).getPlayer());
+    assertEquals("c", top.get(1).getPlayer());
+  }
+
+  /**
+   * Test the ranks of high scores, which share the top of the score range.
+   */
+  @Test
+  public void highRankTest() {
+    Leaderboard board = new Leaderboard();
+    board.submit("a", 700000, 1);
+    board.submit("b", Integer.MAX_VALUE, 2);
+    board.submit("c", 700001, 3);
+    board.submit("d", 700000, 0);
+    board.submit("e", 65536, 4);
+    board.submit("f", 65535, 5);
+    assertEquals(1L, board.getRank("b"));
+    assertEquals(2L, board.getRank("c"));
+    assertEquals(3L, board.getRank("d"));
+    assertEquals(3L, board.getRank("a"));
+    assertEquals(5L, board.getRank("e"));
+    assertEquals(6L, board.getRank("f"));
+  }
+
+  /**
+   * Test that only a better score replaces the best score of a player.
+   */
+  @Test
+  public void bestTest() {
+    Leaderboard board = new Leaderboard();
+    assertTrue(board.submit("a", 100));
+    assertFalse(board.submit("a", 50));
+    assertTrue(board.submit("a", 200));
+    assertEquals(200, board.getBest("a"));
+    assertEquals(1, board.size());
+    assertEquals(1, board.entries().size());
+    assertEquals(-1, board.getBest("b"));
+  }
+
+  /**
+   * Test that the ranks are right after many submissions at the same time.
+   * @throws Exception when a submission fails.
+   */
+  @Test
+  public void concurrentTest() throws Exception {
+    final Leaderboard board = new Leaderboard();
+    ExecutorService threads = Executors.newFixedThreadPool(4);
+    List<Future<?>> results = new ArrayList<Future<?>>();
+    for (int t = 0; t < 4; t++) {
+      final long seed = t;
+      results.add(threads.submit(() -> {
+        Random random = new Random(seed);
+        for (int i = 0; i < 5000; i++) {
+          board.submit("p" + random.nextInt(200), random.nextInt(100000));
+        }
+      }));
+    }
+    for (Future<?> result : results) {
+      result.get();
+    }
+    threads.shutdown();
+    assertEquals(200, board.size());
+    assertEquals(200, board.entries().size());
+    long place = 0;
+    long rank = 0;
+    int previous = Integer.MAX_VALUE;
+    for (LeaderboardEntry entry : board.top(200)) {
+      place++;
+      if (entry.getScore() != previous) {
+        rank = place;
+        previous = entry.getScore();
+      }
+      assertEquals(entry.getScore(), board.getBest(entry.getPlayer()));
+      assertEquals(rank, board.getRank(entry.getPlayer()));
+    }
+  }
+
+  /**
+   * Test that a snapshot loads the same leaderboards.
+   * @throws Exception when the file can't be written.
+   */
+  @Test
+  public void snapshotTest() throws Exception {
+    Path file = Files.createTempFile("leaderboard", ".dat");
+    try {
+      Leaderboards saved = new Leaderboards();
+      saved.submit(Leaderboards.Mode.NORMAL, "a", 300);
+      saved.submit(Leaderboards.Mode.NORMAL, "b", 400);
+      saved.submit(Leaderboards.Mode.TIME, "a", 700);
+      saved.save(file);
+      Leaderboards loaded = new Leaderboards();
+      assertEquals(3, loaded.load(file));
+      assertEquals(400, loaded.get(Leaderboards.Mode.NORMAL).getBest("b"));
+      assertEquals(2L, loaded.get(Leaderboards.Mode.NORMAL).getRank("a"));
+      assertEquals(700, loaded.get(Leaderboards.Mode.TIME).getBest("a"));
+      assertEquals(-1, loaded.get(Leaderboards.Mode.TIME).getBest("b"));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Test that no snapshot replaces the stored scores before they are loaded,
+   * and that the scores of before the load are saved with them.
+   * @throws Exception when the file can't be written.
+   */
+  @Test
+  public void snapshotBeforeLoadTest() throws Exception {
+    Path file = Files.createTempFile("leaderboard", ".dat");
+    try {
+      Leaderboards stored = new Leaderboards();
+      stored.submit(Leaderboards.Mode.NORMAL, "a", 300);
+      stored.submit(Leaderboards.Mode.TIME, "b", 700);
+      stored.save(file);
+      Leaderboards boards = new Leaderboards();
+      boards.submit(Leaderboards.Mode.NORMAL, "c", 500);
+      boards.snapshot(file);
+      assertEquals(2, new Leaderboards().load(file));
+      assertEquals(2, boards.load(file));
+      boards.snapshot(file);
+      Leaderboards loaded = new Leaderboards();
+      assertEquals(3, loaded.load(file));
+      assertEquals(1L, loaded.get(Leaderboards.Mode.NORMAL).getRank("c"));
+      assertEquals(700, loaded.get(Leaderboards.Mode.TIME).getBest("b"));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Test that a snapshot with an unknown mode is refused.
+   * @throws Exception when the file can't be written.
+   */
+  @Test
+  public void unknownModeTest() throws Exception {
+    Path file = Files.createTempFile("leaderboard", ".dat");
+    try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+      out.writeInt(0x424a4c42);
+      out.writeInt(1);
+      out.writeUTF("ENDLESS");
+      out.writeInt(0);
+    }
+    try {
+      new Leaderboards().load(file);
+      fail();
+    } catch (IOException e) {
+      assertTrue(e.getMessage().contains("ENDLESS"));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package test.java.group37.bejeweled.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import main.java.group37.bejeweled.board.Tile;
+import main.java.group37.bejeweled.metrics.GameMetrics;
+import main.java.group37.bejeweled.metrics.GameMetrics.Phase;
+import main.java.group37.bejeweled.metrics.Histogram;
+import main.java.group37.bejeweled.model.Game;
+import main.java.group37.bejeweled.model.Move;
+
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * Tests for the Histogram and GameMetrics classes.
+ * @author group37
+ */
+public class HistogramTest {
+
+  /**
+   * Test that small values are exact.
+   */
+  @Test
+  public void smallValuesTest() {
+    Histogram histogram = new Histogram("test", "ns");
+    for (int i = 1; i <= 10; i++) {
+      histogram.record(i);
+    }
+    assertEquals(10L, histogram.getCount());
+    assertEquals(5L, histogram.getP50());
+    assertEquals(10L, histogram.getMax());
+    assertEquals(5.5, histogram.getMean(), 0.001);
+  }
+
+  /**
+   * Test that the percentiles of large values are within the precision.
+   */
+  @Test
+  public void largeValuesTest() {
+    Histogram histogram = new Histogram("test", "ns");
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000L);
+    }
+    assertTrue(Math.abs(histogram.getP50() - 500000) <= 500000 * 0.04);
+    assertTrue(Math.abs(histogram.getP99() - 990000) <= 990000 * 0.04);
+    assertEquals(1000000L, histogram.getMax());
+    histogram.reset();
+    assertEquals(0L, histogram.getCount());
+    assertEquals(0L, histogram.getP99());
+  }
+
+  /**
+   * Test that a headless move is recorded.
+   */
+  @Test
+  public void moveRecordedTest() {
+    GameMetrics metrics = GameMetrics.get();
+    long moves = metrics.getMoves();
+    long validations = metrics.getLatency(Phase.SWAP_VALIDATION).getCount();
+    Game game = new Game(5);
+    List<Tile> hint = game.getLogic().getHint();
+    game.makeMove(new Move(hint.get(0).getX(), hint.get(0).getY(),
+        hint.get(1).getX(), hint.get(1).getY()));
+    assertTrue(metrics.getMoves() > moves);
+    assertTrue(metrics.getLatency(Phase.SWAP_VALIDATION).getCount() > validations);
+    assertTrue(metrics.getTilesCleared() >= 3);
+  }
+}
@@ -0,0 +1,78 @@
+package test.java.group37.bejeweled.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import main.java.group37.bejeweled.metrics.GameMetrics;
+import main.java.group37.bejeweled.metrics.Histogram;
+import main.java.group37.bejeweled.metrics.InputTrace;
+import main.java.group37.bejeweled.metrics.InputTrace.Stage;
+
+import org.junit.Test;
+
+/**
+ * Tests for the InputTrace class.
+ * @author group37
+ */
+public class InputTraceTest {
+
+  private final Histogram latency = new Histogram("INPUT_LATENCY", "ns");
+  private final InputTrace trace = new InputTrace(latency);
+
+  /**
+   * Test that the times from the input to every stage are recorded.
+   */
+  @Test
+  public void stagesTest() {
+    trace.input(1000);
+    trace.mark(Stage.ADD_TILE, 1010);
+    trace.mark(Stage.VALIDATED, 1020);
+    trace.mark(Stage.SWAP_STARTED, 1030);
+    trace.frameShown(1040);
+    assertEquals(0L, latency.getCount());
+    trace.mark(Stage.MOVED, 1050);
+    trace.frameShown(1060);
+    assertEquals(1L, latency.getCount());
+    assertEquals(60L, latency.getMax());
+    assertEquals(30L, trace.getSinceInput(Stage.SWAP_STARTED).getMax());
+    assertEquals(50L, trace.getSinceInput(Stage.MOVED).getMax());
+    assertNull(trace.getSinceInput(Stage.INPUT));
+    //the next frame belongs to no input
+    trace.frameShown(1070);
+    assertEquals(1L, latency.getCount());
+  }
+
+  /**
+   * Test that the inputs after the one that started a swap are ignored,
+   * and the inputs before it are replaced.
+   */
+  @Test
+  public void laterInputTest() {
+    trace.input(100);
+    trace.mark(Stage.ADD_TILE, 110);
+    trace.input(200);
+    trace.mark(Stage.SWAP_STARTED, 210);
+    trace.input(300);
+    trace.mark(Stage.MOVED, 310);
+    trace.frameShown(320);
+    assertEquals(120L, latency.getMax());
+    assertEquals(0L, trace.getSinceInput(Stage.ADD_TILE).getCount());
+  }
+
+  /**
+   * Test that the stages of the trace of the game are part of the game metrics.
+   */
+  @Test
+  public void metricsTest() {
+    GameMetrics metrics = GameMetrics.get();
+    for (Stage stage : Stage.values()) {
+      Histogram histogram = InputTrace.get().getSinceInput(stage);
+      if (histogram != null) {
+        assertTrue(stage.name(), metrics.getInputStages().contains(histogram));
+        assertTrue(stage.name(), metrics.dump().contains(histogram.getName()));
+      }
+    }
+    assertEquals(Stage.values().length - 1, metrics.getInputStages().size());
+  }
+}
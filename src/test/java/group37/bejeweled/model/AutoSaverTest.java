@@ -0,0 +1,174 @@
+package test.java.group37.bejeweled.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import main.java.group37.bejeweled.board.Tile;
+import main.java.group37.bejeweled.model.AutoSaver;
+import main.java.group37.bejeweled.model.CascadeListener;
+import main.java.group37.bejeweled.model.Game;
+import main.java.group37.bejeweled.model.Move;
+import main.java.group37.bejeweled.model.SaveState;
+import main.java.group37.bejeweled.model.SavedGame;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the AutoSaver and SaveState classes.
+ * @author group37
+ */
+public class AutoSaverTest {
+
+  private Path dir;
+  private Game game;
+
+  /**
+   * Create a game that is not bound to the GUI and a folder for the saves.
+   * @throws Exception when the folder can't be created.
+   */
+  @Before
+  public void setUp() throws Exception {
+    dir = Files.createTempDirectory("autosave");
+    game = new Game(7);
+    SavedGame.getInstance().setGame(game);
+  }
+
+  /**
+   * Remove the saves.
+   * @throws Exception when a file can't be removed.
+   */
+  @After
+  public void tearDown() throws Exception {
+    SavedGame.getInstance().setGame(null);
+    for (Path file : Files.newDirectoryStream(dir)) {
+      Files.delete(file);
+    }
+    Files.delete(dir);
+  }
+
+  private static SaveState read(Path path) throws Exception {
+    try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      JSONObject obj = (JSONObject) new JSONParser().parse(reader);
+      int[] codes = new int[SavedGame.SIZE * SavedGame.SIZE];
+      JSONArray rows = (JSONArray) obj.get("board");
+      for (int row = 0; row < SavedGame.SIZE; row++) {
+        JSONArray cols = (JSONArray) rows.get(row);
+        for (int col = 0; col < SavedGame.SIZE; col++) {
+          codes[row * SavedGame.SIZE + col] = ((Long) cols.get(col)).intValue();
+        }
+      }
+      return new SaveState(((Long) obj.get("score")).intValue(),
+          ((Long) obj.get("level")).intValue(), codes);
+    }
+  }
+
+  /**
+   * Test that the file holds the state of the game and no temporary file is left.
+   * @throws Exception when saving fails.
+   */
+  @Test
+  public void saveTest() throws Exception {
+    AutoSaver saver = new AutoSaver();
+    Path path = dir.resolve("game.json");
+    saver.save(path);
+    saver.flush();
+    assertEquals(SavedGame.getInstance().snapshot(), read(path));
+    assertFalse(Files.exists(dir.resolve("game.json.tmp")));
+    assertEquals(1L, saver.getWritten());
+  }
+
+  /**
+   * Test that states that come in faster than they are written are skipped
+   * and the newest state ends up in the file.
+   * @throws Exception when saving fails.
+   */
+  @Test
+  public void coalesceTest() throws Exception {
+    AutoSaver saver = new AutoSaver();
+    Path path = dir.resolve("game.json");
+    SaveState last = null;
+    for (int i = 0; i < 200; i++) {
+      last = new SaveState(i, 1, new int[SavedGame.SIZE * SavedGame.SIZE]);
+      saver.save(last, path);
+    }
+    saver.flush();
+    assertEquals(last, read(path));
+    assertEquals(200L, saver.getWritten() + saver.getCoalesced());
+    assertTrue(saver.getCoalesced() > 0);
+  }
+
+  /**
+   * Test that the autosave file follows the moves.
+   * @throws Exception when saving fails.
+   */
+  @Test
+  public void moveTest() throws Exception {
+    AutoSaver saver = new AutoSaver();
+    Path path = dir.resolve("autosave.json");
+    saver.start(path, 1, TimeUnit.HOURS, Runnable::run);
+    for (int i = 0; i < 5 && game.getLogic().getHint() != null; i++) {
+      List<Tile> hint = game.getLogic().getHint();
+      assertTrue(game.makeMove(new Move(hint.get(0).getX(), hint.get(0).getY(),
+          hint.get(1).getX(), hint.get(1).getY())));
+      saver.moveMade();
+    }
+    saver.stop();
+    saver.flush();
+    assertEquals(SavedGame.getInstance().snapshot(), read(path));
+    assertTrue(read(path).getScore() > 0);
+  }
+
+  /**
+   * Test that a periodic save is skipped while a move is being resolved.
+   * @throws Exception when saving fails.
+   */
+  @Test
+  public void unresolvedTest() throws Exception {
+    AutoSaver saver = new AutoSaver();
+    Path path = dir.resolve("autosave.json");
+    Queue<Runnable> ticks = new ConcurrentLinkedQueue<Runnable>();
+    saver.start(path, 1, TimeUnit.MILLISECONDS, ticks::add);
+    while (ticks.isEmpty()) {
+      Thread.sleep(1);
+    }
+    saver.stop();
+    Runnable tick = ticks.peek();
+    game.getLogic().setCascadeListener(new CascadeListener() {
+      @Override
+      public void swapped(Tile t0, Tile t1) {
+      }
+
+      @Override
+      public void tilesDeleted(List<Tile> tiles) {
+        tick.run();
+      }
+
+      @Override
+      public void tilesRefilled() {
+      }
+    });
+    List<Tile> hint = game.getLogic().getHint();
+    assertTrue(game.makeMove(new Move(hint.get(0).getX(), hint.get(0).getY(),
+        hint.get(1).getX(), hint.get(1).getY())));
+    saver.flush();
+    assertFalse(Files.exists(path));
+    tick.run();
+    saver.flush();
+    assertEquals(SavedGame.getInstance().snapshot(), read(path));
+  }
+}
@@ -0,0 +1,133 @@
+package test.java.group37.bejeweled.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import main.java.group37.bejeweled.board.Board;
+import main.java.group37.bejeweled.board.CompactBoard;
+import main.java.group37.bejeweled.board.Tile;
+import main.java.group37.bejeweled.model.BoardEvaluator;
+import main.java.group37.bejeweled.model.BoardFeatures;
+import main.java.group37.bejeweled.model.Game;
+import main.java.group37.bejeweled.model.Move;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for the BoardEvaluator class.
+ * @author group37
+ */
+public class BoardEvaluatorTest {
+
+  private final BoardEvaluator evaluator = new BoardEvaluator(8, 8);
+
+  /**
+   * Find the legal moves by trying every swap with the swap handler of the game.
+   */
+  private static List<Move> trialSwaps(Game game) {
+    Board board = game.getBoard();
+    List<Move> moves = new ArrayList<Move>();
+    for (int x = 0; x < 8; x++) {
+      for (int y = 0; y < 8; y++) {
+        if (x + 1 < 8 && game.getSwapHandler().canSwap(board.getTileAt(x, y),
+            board.getTileAt(x + 1, y))) {
+          moves.add(new Move(x, y, x + 1, y));
+        }
+        if (y + 1 < 8 && game.getSwapHandler().canSwap(board.getTileAt(x, y),
+            board.getTileAt(x, y + 1))) {
+          moves.add(new Move(x, y, x, y + 1));
+        }
+      }
+    }
+    return moves;
+  }
+
+  /**
+   * Test that the evaluator finds the same moves as the swap handler, also
+   * after moves that made special gems.
+   */
+  @Test
+  public void legalMovesTest() {
+    for (long seed = 0; seed < 30; seed++) {
+      Game game = new Game(seed);
+      for (int i = 0; i < 10 && game.getLogic().getHint() != null; i++) {
+        CompactBoard board = CompactBoard.of(game.getBoard());
+        List<Move> expected = trialSwaps(game);
+        assertEquals(expected, evaluator.legalMoves(board));
+        assertEquals(expected.size(), evaluator.evaluate(board).getLegalMoves());
+        assertEquals(game.possibleMove(), evaluator.hasMove(board));
+        List<Tile> hint = game.getLogic().getHint();
+        game.makeMove(new Move(hint.get(0).getX(), hint.get(0).getY(),
+            hint.get(1).getX(), hint.get(1).getY()));
+      }
+    }
+  }
+
+  /**
+   * Make a board from rows of colour digits, a letter is a hypercube.
+   */
+  private static CompactBoard board(String... rows) {
+    CompactBoard board = new CompactBoard(8, 8);
+    for (int y = 0; y < 8; y++) {
+      for (int x = 0; x < 8; x++) {
+        char c = rows[y].charAt(x);
+        board.set(x, y, Character.isDigit(c) ? c - '0' : 30);
+      }
+    }
+    return board;
+  }
+
+  /**
+   * Test the features of a board that was made by hand.
+   */
+  @Test
+  public void featuresTest() {
+    CompactBoard board = board(
+        "01234560",
+        "34560123",
+        "60123456",
+        "23456012",
+        "56012345",
+        "12345601",
+        "45101234",
+        "11214560");
+    BoardFeatures features = evaluator.evaluate(board);
+    assertEquals(3, features.getLegalMoves());
+    assertEquals(4, features.getLongestMatch());
+    assertEquals(1, features.getFlameSetups());
+    assertEquals(0, features.getStarSetups());
+    assertEquals(0, features.getHypercubeMoves());
+    assertEquals(12, features.getColorCount(1));
+    assertEquals(0, features.getCascadeMoves());
+
+    board.set(0, 0, 30);
+    features = evaluator.evaluate(board);
+    assertEquals(5, features.getLegalMoves());
+    assertEquals(2, features.getHypercubeMoves());
+    assertFalse(evaluator.legalMoves(board).isEmpty());
+  }
+
+  /**
+   * Test that a move that lets a line fall on matching tiles counts as a cascade.
+   */
+  @Test
+  public void cascadeTest() {
+    CompactBoard board = board(
+        "01234560",
+        "34560123",
+        "60123456",
+        "23456012",
+        "56012345",
+        "12345401",
+        "45601534",
+        "01434510");
+    BoardFeatures features = evaluator.evaluate(board);
+    assertEquals(1, features.getLegalMoves());
+    assertEquals(1, features.getMaxCascades());
+    assertEquals(1, features.getCascadeMoves());
+    assertEquals(1.0, features.getExpectedCascades(), 0.001);
+  }
+}
@@ -14,8 +14,85 @@ package test.java.group37.bejeweled.model;
 //import main.java.group37.bejeweled.view.Main;
 //import main.java.group37.bejeweled.view.StatusPanel;
 
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import main.java.group37.bejeweled.board.Board;
+import main.java.group37.bejeweled.board.Tile;
+import main.java.group37.bejeweled.model.CascadeListener;
+import main.java.group37.bejeweled.model.Game;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for the GameLogic class.
+ * @author group37
+ */
 public class GameLogicTest {
 
+  /**
+   * Test that the tiles above deleted tiles fall by the number of deleted tiles
+   * below them and the deleted tiles leave the board, also in the top row.
+   */
+  @Test
+  public void gravityTest() {
+    Game game = new Game(3);
+    Board board = game.getBoard();
+    Tile[][] before = new Tile[Game.SIZE][Game.SIZE];
+    for (int x = 0; x < Game.SIZE; x++) {
+      for (int y = 0; y < Game.SIZE; y++) {
+        before[x][y] = board.getTileAt(x, y);
+      }
+    }
+    List<Tile> deleted = Arrays.asList(before[0][0], before[0][2], before[1][0],
+        before[1][1], before[1][2], before[2][4]);
+    Tile[][] after = new Tile[Game.SIZE][Game.SIZE];
+    game.getLogic().setCascadeListener(new CascadeListener() {
+      @Override
+      public void swapped(Tile t0, Tile t1) {
+      }
+
+      @Override
+      public void tilesDeleted(List<Tile> tiles) {
+      }
+
+      @Override
+      public void tilesRefilled() {
+        if (after[0][0] == null) {
+          for (int x = 0; x < Game.SIZE; x++) {
+            for (int y = 0; y < Game.SIZE; y++) {
+              after[x][y] = board.getTileAt(x, y);
+            }
+          }
+        }
+      }
+    });
+    game.getLogic().deleteTiles(new ArrayList<Tile>(deleted));
+
+    //the tiles that are left fall onto the deleted ones
+    assertSame(before[0][1], after[0][2]);
+    for (int y = 0; y < 4; y++) {
+      assertSame(before[2][y], after[2][y + 1]);
+    }
+    for (int x = 0; x < Game.SIZE; x++) {
+      for (int y = x < 3 ? 5 : 0; y < Game.SIZE; y++) {
+        assertSame(before[x][y], after[x][y]);
+      }
+    }
+    assertSame(before[0][3], after[0][3]);
+    assertSame(before[0][4], after[0][4]);
+    assertSame(before[1][3], after[1][3]);
+    assertSame(before[1][4], after[1][4]);
+    //a deleted tile in the top row doesn't land on the tiles deleted below it
+    assertNotSame(before[0][0], after[0][1]);
+    assertNotSame(before[1][0], after[1][1]);
+    assertNotSame(before[1][0], after[1][2]);
+  }
+
 //  /**
 //   * makes a game.
 //   * @return a game object
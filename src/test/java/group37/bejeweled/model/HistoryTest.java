@@ -0,0 +1,142 @@
+package test.java.group37.bejeweled.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import main.java.group37.bejeweled.board.CompactBoard;
+import main.java.group37.bejeweled.board.Tile;
+import main.java.group37.bejeweled.metrics.GameMetrics;
+import main.java.group37.bejeweled.model.Game;
+import main.java.group37.bejeweled.model.GameRandom;
+import main.java.group37.bejeweled.model.History;
+import main.java.group37.bejeweled.model.Move;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests for the History and GameRandom classes.
+ * @author group37
+ */
+public class HistoryTest {
+
+  private final Game game = new Game(7);
+  private final List<CompactBoard> boards = new ArrayList<CompactBoard>();
+  private final List<Integer> scores = new ArrayList<Integer>();
+
+  private Move hint() {
+    List<Tile> hint = game.getLogic().getHint();
+    return new Move(hint.get(0).getX(), hint.get(0).getY(),
+        hint.get(1).getX(), hint.get(1).getY());
+  }
+
+  private void play(int moves) {
+    boards.add(CompactBoard.of(game.getBoard()));
+    scores.add(game.getLogic().getScore().getScore());
+    for (int i = 0; i < moves; i++) {
+      assertTrue(game.makeMove(hint()));
+      boards.add(CompactBoard.of(game.getBoard()));
+      scores.add(game.getLogic().getScore().getScore());
+    }
+  }
+
+  private void assertState(int move) {
+    assertEquals(boards.get(move), CompactBoard.of(game.getBoard()));
+    assertEquals((int) scores.get(move), game.getLogic().getScore().getScore());
+  }
+
+  /**
+   * Test that the generator gives the numbers of Random and can go back.
+   */
+  @Test
+  public void randomTest() {
+    GameRandom random = new GameRandom(42);
+    Random expected = new Random(42);
+    for (int i = 0; i < 100; i++) {
+      assertEquals(expected.nextInt(7), random.nextInt(7));
+    }
+    long state = random.getState();
+    int next = random.nextInt();
+    random.nextInt();
+    random.setState(state);
+    assertEquals(next, random.nextInt());
+  }
+
+  /**
+   * Test undoing and redoing every move.
+   */
+  @Test
+  public void undoRedoTest() {
+    play(4);
+    History history = game.getHistory();
+    assertEquals(5, history.size());
+    assertFalse(history.redo(game));
+    for (int move = 3; move >= 0; move--) {
+      assertTrue(history.undo(game));
+      assertState(move);
+    }
+    assertFalse(history.undo(game));
+    for (int move = 1; move <= 4; move++) {
+      assertTrue(history.redo(game));
+      assertState(move);
+    }
+  }
+
+  /**
+   * Test that a move after an undo gives the same tiles as the first time.
+   */
+  @Test
+  public void replayTest() {
+    play(3);
+    game.getHistory().undo(game);
+    assertTrue(game.makeMove(hint()));
+    assertState(3);
+    assertFalse(game.getHistory().canRedo());
+  }
+
+  /**
+   * Test that the oldest states are forgotten.
+   */
+  @Test
+  public void ringTest() {
+    History history = new History(3);
+    history.reset(game);
+    play(5);
+    for (int i = 0; i < 5; i++) {
+      history.record(game);
+    }
+    assertEquals(3, history.size());
+    assertTrue(history.undo(game));
+    assertTrue(history.undo(game));
+    assertFalse(history.undo(game));
+  }
+
+  /**
+   * Test that restoring a state does not allocate the board again.
+   */
+  @Test
+  public void allocationTest() {
+    play(6);
+    History history = game.getHistory();
+    while (history.undo(game)) {
+      continue;
+    }
+    while (history.redo(game)) {
+      continue;
+    }
+    long before = GameMetrics.allocatedBytes();
+    while (history.undo(game)) {
+      continue;
+    }
+    while (history.redo(game)) {
+      continue;
+    }
+    long after = GameMetrics.allocatedBytes();
+    assertTrue(before < 0 || after - before < 4096);
+    assertState(6);
+  }
+}
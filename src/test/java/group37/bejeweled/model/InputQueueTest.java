@@ -0,0 +1,61 @@
+package test.java.group37.bejeweled.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import main.java.group37.bejeweled.model.InputQueue;
+import main.java.group37.bejeweled.model.Move;
+
+import org.junit.Test;
+
+/**
+ * Tests for the InputQueue class.
+ * @author group37
+ */
+public class InputQueueTest {
+
+  /**
+   * Test that the swaps come out in the order they were made.
+   */
+  @Test
+  public void orderTest() {
+    InputQueue queue = new InputQueue(3, 100);
+    queue.offer(new Move(0, 0, 0, 1), 10);
+    queue.offer(new Move(1, 0, 1, 1), 20);
+    assertEquals(2, queue.size());
+    InputQueue.Intent intent = queue.poll(30);
+    assertEquals(new Move(0, 0, 0, 1), intent.getMove());
+    assertEquals(10L, intent.getTime());
+    assertEquals(new Move(1, 0, 1, 1), queue.poll(30).getMove());
+    assertNull(queue.poll(30));
+  }
+
+  /**
+   * Test that the oldest swap makes room when the queue is full.
+   */
+  @Test
+  public void fullTest() {
+    InputQueue queue = new InputQueue(2, 100);
+    queue.offer(new Move(0, 0, 0, 1), 0);
+    queue.offer(new Move(1, 0, 1, 1), 0);
+    queue.offer(new Move(2, 0, 2, 1), 0);
+    assertEquals(2, queue.size());
+    assertEquals(1L, queue.getDropped());
+    assertEquals(new Move(1, 0, 1, 1), queue.poll(0).getMove());
+  }
+
+  /**
+   * Test that a swap that waited too long is forgotten.
+   */
+  @Test
+  public void expiryTest() {
+    InputQueue queue = new InputQueue(3, 100);
+    queue.offer(new Move(0, 0, 0, 1), 0);
+    queue.offer(new Move(1, 0, 1, 1), 50);
+    assertEquals(new Move(1, 0, 1, 1), queue.poll(120).getMove());
+    assertEquals(1L, queue.getDropped());
+    queue.offer(new Move(2, 0, 2, 1), 200);
+    queue.clear();
+    assertNull(queue.poll(200));
+  }
+}
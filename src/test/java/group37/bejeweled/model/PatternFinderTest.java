@@ -98,5 +98,66 @@ public class PatternFinderTest {
     assertTrue(list.containsAll(cf.getAllCombinationsOnBoard()));
     assertTrue(cf.getAllCombinationsOnBoard().size() == list.size());
   }
-  
+
+  /**
+   * Make a board where all tiles have a different colour, except the given cells.
+   * @param cells cells that get colour 0.
+   * @return the board.
+   */
+  public Board boardMaker(int[][] cells) {
+    Tile[][] tiles = new Tile[8][8];
+    for (int x = 0; x < 8; x++) {
+      for (int y = 0; y < 8; y++) {
+        tiles[x][y] = new NormalTile(x, y);
+        tiles[x][y].setIndex(1 + (x + 2 * y) % 3 * 2 + x % 2);
+      }
+    }
+    for (int[] cell : cells) {
+      tiles[cell[0]][cell[1]].setIndex(0);
+    }
+    return new Board(tiles);
+  }
+
+  /**
+   * test that an L shape makes a star combination.
+   */
+  @Test
+  public void starPatternTest() {
+    Board board = boardMaker(new int[][]{{2, 2}, {3, 2}, {4, 2}, {4, 3}, {4, 4}});
+    List<Combination> res = new PatternFinder(board).getAllCombinationsOnBoard();
+    assertEquals(1, res.size());
+    assertEquals(Combination.Type.STAR, res.get(0).getType());
+    assertEquals(5, res.get(0).getTiles().size());
+  }
+
+  /**
+   * test that five in a row makes a hypercube and four in a row a flame combination.
+   */
+  @Test
+  public void hypercubeAndFlamePatternTest() {
+    Board board = boardMaker(new int[][]{{1, 0}, {2, 0}, {3, 0}, {4, 0}, {5, 0},
+        {7, 3}, {7, 4}, {7, 5}, {7, 6}});
+    PatternFinder finder = new PatternFinder(board);
+    List<Combination> res = finder.getAllCombinationsOnBoard();
+    assertEquals(2, res.size());
+    assertEquals(Combination.Type.HYPERCUBE, res.get(0).getType());
+    assertEquals(board.getTileAt(1, 0), res.get(0).getTiles().get(0));
+    assertEquals(Combination.Type.FLAME, res.get(1).getType());
+    assertEquals(Combination.Type.FLAME,
+        finder.getSingleCombination(board.getTileAt(7, 5)).getType());
+  }
+
+  /**
+   * test that shapes reaching above the first tile and shapes at the edge are found.
+   */
+  @Test
+  public void edgePatternTest() {
+    Board board = boardMaker(new int[][]{{5, 7}, {6, 7}, {7, 7}, {6, 6}, {6, 5},
+        {0, 0}, {0, 1}, {0, 2}});
+    List<Combination> res = new PatternFinder(board).getAllCombinationsOnBoard();
+    assertEquals(2, res.size());
+    assertEquals(Combination.Type.NORMAL, res.get(0).getType());
+    assertEquals(Combination.Type.STAR, res.get(1).getType());
+    assertEquals(board.getTileAt(5, 7), res.get(1).getTiles().get(0));
+  }
 }
@@ -0,0 +1,135 @@
+package test.java.group37.bejeweled.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import main.java.group37.bejeweled.model.SaveCodec;
+import main.java.group37.bejeweled.model.SaveState;
+import main.java.group37.bejeweled.model.SavedGame;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+
+/**
+ * Tests for the SaveCodec class.
+ * @author group37
+ */
+public class SaveCodecTest {
+
+  private static SaveState randomState(long seed) {
+    Random random = new Random(seed);
+    int[] codes = new int[SavedGame.SIZE * SavedGame.SIZE];
+    for (int i = 0; i < codes.length; i++) {
+      codes[i] = random.nextInt(4) * 10 + random.nextInt(7);
+    }
+    return new SaveState(random.nextInt(100000), random.nextInt(20) + 1, codes);
+  }
+
+  /**
+   * Write a state the way the game did with json-simple.
+   */
+  @SuppressWarnings("unchecked")
+  private static String legacyJson(SaveState state) {
+    JSONObject obj = new JSONObject();
+    obj.put("score", state.getScore());
+    obj.put("level", state.getLevel());
+    JSONArray board = new JSONArray();
+    for (int row = 0; row < SavedGame.SIZE; row++) {
+      JSONArray list = new JSONArray();
+      for (int col = 0; col < SavedGame.SIZE; col++) {
+        list.add(state.getCode(col, row));
+      }
+      board.add(list);
+    }
+    obj.put("board", board);
+    return obj.toJSONString();
+  }
+
+  private static String write(SaveState state) throws IOException {
+    StringWriter out = new StringWriter();
+    SaveCodec.write(state, out);
+    return out.toString();
+  }
+
+  /**
+   * Test that the codec reads the saves json-simple wrote.
+   * @throws IOException when a save can't be read.
+   */
+  @Test
+  public void legacyTest() throws IOException {
+    for (long seed = 0; seed < 20; seed++) {
+      SaveState state = randomState(seed);
+      assertEquals(state, SaveCodec.read(new StringReader(legacyJson(state))));
+    }
+  }
+
+  /**
+   * Test that json-simple reads the saves of the codec.
+   * @throws Exception when a save can't be read.
+   */
+  @Test
+  public void roundTripTest() throws Exception {
+    SaveState state = randomState(3);
+    String json = write(state);
+    assertEquals(state, SaveCodec.read(new StringReader(json)));
+    JSONObject obj = (JSONObject) new JSONParser().parse(json);
+    assertEquals((long) state.getScore(), obj.get("score"));
+    assertEquals(new JSONParser().parse(legacyJson(state)), obj);
+  }
+
+  /**
+   * Test white space, other key orders and unknown keys.
+   * @throws IOException when the save can't be read.
+   */
+  @Test
+  public void lenientTest() throws IOException {
+    StringBuilder board = new StringBuilder("[");
+    for (int row = 0; row < SavedGame.SIZE; row++) {
+      board.append(row == 0 ? "\n  [" : ",\n  [");
+      for (int col = 0; col < SavedGame.SIZE; col++) {
+        board.append(col == 0 ? "" : ", ").append(row);
+      }
+      board.append(']');
+    }
+    String json = "{ \"version\" : \"1.\\\"0\", \"board\" : " + board + "],\n"
+        + " \"extra\": {\"a\": [1, -2.5e3, true, null, {}]}, \"level\": 2, \"score\" : -7 }";
+    SaveState state = SaveCodec.read(new StringReader(json));
+    assertEquals(-7, state.getScore());
+    assertEquals(2, state.getLevel());
+    assertEquals(5, state.getCode(3, 5));
+    assertFalse(SaveCodec.read(new StringReader("{\"score\":1,\"level\":1}")).hasBoard());
+    state = SaveCodec.read(new StringReader(
+        "{\"name\":\"\\u00e9\\u00C9\",\"score\":2147483647,\"level\":-2147483648}"));
+    assertEquals(Integer.MAX_VALUE, state.getScore());
+    assertEquals(Integer.MIN_VALUE, state.getLevel());
+  }
+
+  /**
+   * Test that a damaged save is refused.
+   */
+  @Test
+  public void damagedTest() {
+    String json = legacyJson(randomState(4));
+    String[] damaged = {json.substring(0, json.length() / 2), "", "[]",
+        "{\"score\":1}", json.replace("[[", "[[1.5,"),
+        "{\"score\":4294967301,\"level\":1}", "{\"score\":-2147483649,\"level\":1}",
+        "{\"score\":99999999999999999999,\"level\":1}",
+        "{\"score\":1,\"level\":1,\"name\":\"\\u12g4\"}"};
+    for (String save : damaged) {
+      try {
+        SaveCodec.read(new StringReader(save));
+        fail(save);
+      } catch (IOException e) {
+        //expected
+      }
+    }
+  }
+}
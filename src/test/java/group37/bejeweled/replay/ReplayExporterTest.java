@@ -0,0 +1,88 @@
+package test.java.group37.bejeweled.replay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import main.java.group37.bejeweled.board.Geometry;
+import main.java.group37.bejeweled.model.Move;
+import main.java.group37.bejeweled.replay.ReplayExporter;
+import main.java.group37.bejeweled.replay.SubmittedGame;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Tests for the ReplayExporter class.
+ * @author group37
+ */
+public class ReplayExporterTest {
+
+  private File directory;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("replay").toFile();
+  }
+
+  /**
+   * Remove the written frames.
+   */
+  @After
+  public void tearDown() {
+    for (File file : directory.listFiles()) {
+      file.delete();
+    }
+    directory.delete();
+  }
+
+  /**
+   * Test that every move gives a frame of the right size.
+   */
+  @Test
+  public void exportTest() throws IOException {
+    SubmittedGame game = ReplayExporter.bot(5, 6);
+    int frames = new ReplayExporter(Geometry.of(400, 300), 2).export(game, directory);
+    assertEquals(game.getMoves().size() + 1, frames);
+    String[] names = directory.list();
+    Arrays.sort(names);
+    assertEquals(frames, names.length);
+    assertEquals("frame-00000.png", names[0]);
+    BufferedImage first = ImageIO.read(new File(directory, names[0]));
+    BufferedImage last = ImageIO.read(new File(directory, names[frames - 1]));
+    assertEquals(400, first.getWidth());
+    assertEquals(300, first.getHeight());
+    assertFalse(Arrays.equals(pixels(first), pixels(last)));
+  }
+
+  /**
+   * Test that the export stops at an illegal move.
+   */
+  @Test
+  public void illegalMoveTest() throws IOException {
+    SubmittedGame game = ReplayExporter.bot(5, 2);
+    List<Move> moves = new ArrayList<Move>(game.getMoves());
+    moves.add(new Move(0, 0, 5, 5));
+    moves.addAll(game.getMoves());
+    int frames = new ReplayExporter(Geometry.of(200, 150), 1)
+        .export(new SubmittedGame("illegal", game.getSeed(), moves, 0), directory);
+    assertEquals(3, frames);
+    assertTrue(new File(directory, "frame-00002.png").isFile());
+    assertFalse(new File(directory, "frame-00003.png").exists());
+  }
+
+  private static int[] pixels(BufferedImage image) {
+    return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+  }
+}
@@ -0,0 +1,163 @@
+package test.java.group37.bejeweled.replay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import main.java.group37.bejeweled.board.HypercubeTile;
+import main.java.group37.bejeweled.board.Tile;
+import main.java.group37.bejeweled.model.Game;
+import main.java.group37.bejeweled.model.Move;
+import main.java.group37.bejeweled.replay.ScoreVerifier;
+import main.java.group37.bejeweled.replay.SubmittedGame;
+import main.java.group37.bejeweled.replay.VerificationReport;
+import main.java.group37.bejeweled.replay.VerificationResult;
+import main.java.group37.bejeweled.replay.VerificationResult.Status;
+
+import org.junit.Test;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for the ScoreVerifier class.
+ * @author group37
+ */
+public class ScoreVerifierTest {
+
+  /**
+   * Play a game with the hints and submit it with the reached score.
+   * @param seed seed of the game.
+   * @param moves maximum number of moves.
+   * @return the submitted game.
+   */
+  public static SubmittedGame play(long seed, int moves) {
+    Game game = new Game(seed);
+    List<Move> played = new ArrayList<Move>();
+    for (int i = 0; i < moves; i++) {
+      List<Tile> hint = game.getLogic().getHint();
+      if (hint == null) {
+        break;
+      }
+      Move move = new Move(hint.get(0).getX(), hint.get(0).getY(),
+          hint.get(1).getX(), hint.get(1).getY());
+      assertTrue(game.makeMove(move));
+      played.add(move);
+    }
+    return new SubmittedGame("seed" + seed, seed, played,
+        game.getLogic().getScore().getScore());
+  }
+
+  /**
+   * Test that the same seed gives the same board.
+   */
+  @Test
+  public void sameSeedSameBoardTest() {
+    assertEquals(new Game(42).getBoard(), new Game(42).getBoard());
+  }
+
+  /**
+   * Test that an honest submission is accepted.
+   */
+  @Test
+  public void acceptedTest() {
+    SubmittedGame submission = play(7, 10);
+    assertTrue(submission.getClaimedScore() > 0);
+    VerificationResult result = ScoreVerifier.verify(submission);
+    assertEquals(Status.ACCEPTED, result.getStatus());
+    assertEquals(submission.getMoves().size(), result.getMovesPlayed());
+  }
+
+  /**
+   * Test that a submission with a higher score is rejected.
+   */
+  @Test
+  public void wrongScoreTest() {
+    SubmittedGame honest = play(11, 5);
+    SubmittedGame cheat = new SubmittedGame("cheat", honest.getSeed(), honest.getMoves(),
+        honest.getClaimedScore() + 50);
+    VerificationResult result = ScoreVerifier.verify(cheat);
+    assertEquals(Status.WRONG_SCORE, result.getStatus());
+    assertEquals(honest.getClaimedScore(), result.getComputedScore());
+  }
+
+  /**
+   * Test that a swap of tiles that are not neighbours is rejected.
+   */
+  @Test
+  public void illegalMoveTest() {
+    List<Move> moves = new ArrayList<Move>();
+    moves.add(new Move(0, 0, 5, 5));
+    VerificationResult result = ScoreVerifier.verify(new SubmittedGame("bad", 3, moves, 0));
+    assertFalse(result.isAccepted());
+    assertEquals(0, result.getMovesPlayed());
+  }
+
+  /**
+   * Test that a hypercube can not be swapped with a tile far away.
+   */
+  @Test
+  public void hypercubeNotNeighbourTest() {
+    SubmittedGame honest = play(0, 23);
+    Game game = new Game(0);
+    for (Move move : honest.getMoves()) {
+      assertTrue(game.makeMove(move));
+    }
+    Point hypercube = null;
+    for (int x = 0; x < Game.SIZE; x++) {
+      for (int y = 0; y < Game.SIZE; y++) {
+        if (game.getBoard().getTileAt(x, y) instanceof HypercubeTile) {
+          hypercube = new Point(x, y);
+        }
+      }
+    }
+    assertNotNull(hypercube);
+    List<Move> moves = new ArrayList<Move>(honest.getMoves());
+    moves.add(new Move(hypercube.x, hypercube.y, Game.SIZE - 1 - hypercube.x,
+        Game.SIZE - 1 - hypercube.y));
+    VerificationResult result = ScoreVerifier.verify(
+        new SubmittedGame("far", 0, moves, honest.getClaimedScore()));
+    assertEquals(Status.ILLEGAL_MOVE, result.getStatus());
+    assertEquals(honest.getMoves().size(), result.getMovesPlayed());
+  }
+
+  /**
+   * Test a batch verified on several threads.
+   */
+  @Test
+  public void verifyAllTest() {
+    List<SubmittedGame> submissions = new ArrayList<SubmittedGame>();
+    for (int seed = 0; seed < 40; seed++) {
+      submissions.add(play(seed, 5));
+    }
+    submissions.add(new SubmittedGame("cheat", 0, submissions.get(0).getMoves(), 1000000));
+    VerificationReport report = new ScoreVerifier(4).verifyAll(submissions);
+    assertEquals(41, report.getVerified());
+    assertEquals(40, report.getAccepted());
+    assertEquals(1, report.getRejected());
+    assertTrue(report.getGamesPerSecond() > 0);
+  }
+
+  /**
+   * Test that a submission that can not be replayed does not lose the other results.
+   */
+  @Test
+  public void failureTest() {
+    List<SubmittedGame> submissions = new ArrayList<SubmittedGame>();
+    for (int seed = 0; seed < 10; seed++) {
+      submissions.add(play(seed, 3));
+    }
+    submissions.add(new SubmittedGame("broken", 0, new ArrayList<Move>(), 0) {
+        @Override
+        public long getSeed() {
+          throw new IllegalStateException("no seed");
+        }
+      });
+    VerificationReport report = new ScoreVerifier(2).verifyAll(submissions);
+    assertEquals(11, report.getVerified());
+    assertEquals(10, report.getAccepted());
+    assertEquals(1, report.getRejected());
+  }
+}
@@ -0,0 +1,63 @@
+package test.java.group37.bejeweled.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import main.java.group37.bejeweled.board.CompactBoard;
+import main.java.group37.bejeweled.board.Tile;
+import main.java.group37.bejeweled.model.Game;
+import main.java.group37.bejeweled.model.Move;
+import main.java.group37.bejeweled.server.DeltaDecoder;
+import main.java.group37.bejeweled.server.DeltaEncoder;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Tests for the DeltaEncoder and DeltaDecoder classes.
+ * @author group37
+ */
+public class DeltaEncoderTest {
+
+  /**
+   * Test that decoding the deltas of many moves gives the same boards as the game.
+   */
+  @Test
+  public void roundTripTest() {
+    int moves = 0;
+    long bytes = 0;
+    for (long seed = 0; seed < 100; seed++) {
+      Game game = new Game(seed);
+      DeltaEncoder encoder = new DeltaEncoder(game.getBoard());
+      game.getLogic().setCascadeListener(encoder);
+      CompactBoard copy = CompactBoard.of(game.getBoard());
+      for (int i = 0; i < 20; i++) {
+        List<Tile> hint = game.getLogic().getHint();
+        if (hint == null) {
+          break;
+        }
+        encoder.begin();
+        assertTrue(game.makeMove(new Move(hint.get(0).getX(), hint.get(0).getY(),
+            hint.get(1).getX(), hint.get(1).getY())));
+        DeltaDecoder.apply(ByteBuffer.wrap(encoder.array(), 0, encoder.length()), copy);
+        assertEquals(CompactBoard.of(game.getBoard()), copy);
+        moves++;
+        bytes += encoder.length();
+      }
+    }
+    assertTrue(bytes / moves < 64);
+  }
+
+  /**
+   * Test that an empty delta doesn't change the board.
+   */
+  @Test
+  public void emptyDeltaTest() {
+    Game game = new Game(1);
+    CompactBoard copy = CompactBoard.of(game.getBoard());
+    DeltaDecoder.apply(ByteBuffer.allocate(0), copy);
+    assertEquals(CompactBoard.of(game.getBoard()), copy);
+  }
+}
@@ -0,0 +1,188 @@
+package test.java.group37.bejeweled.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import main.java.group37.bejeweled.board.CompactBoard;
+import main.java.group37.bejeweled.board.Tile;
+import main.java.group37.bejeweled.model.Game;
+import main.java.group37.bejeweled.model.Move;
+import main.java.group37.bejeweled.server.GameClient;
+import main.java.group37.bejeweled.server.GameServer;
+import main.java.group37.bejeweled.server.MoveResult;
+import main.java.group37.bejeweled.server.Protocol;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests for the GameServer class.
+ * @author group37
+ */
+public class GameServerTest {
+
+  private GameServer server;
+
+  /**
+   * Start a server on a free port.
+   * @throws IOException when the server can't start.
+   */
+  @Before
+  public void setUp() throws IOException {
+    server = new GameServer(0, 2, 4);
+    server.start();
+  }
+
+  @After
+  public void tearDown() {
+    server.stop();
+  }
+
+  private static Move hint(Game game) {
+    List<Tile> hint = game.getLogic().getHint();
+    return new Move(hint.get(0).getX(), hint.get(0).getY(),
+        hint.get(1).getX(), hint.get(1).getY());
+  }
+
+  /**
+   * Play a game on the server and the same game locally, the boards must stay equal.
+   * @param client the client.
+   * @param seed seed of the game.
+   * @param moves number of moves.
+   * @throws IOException when the server fails.
+   */
+  private static void playAndCompare(GameClient client, long seed, int moves)
+      throws IOException {
+    Game local = new Game(seed);
+    int session = client.newGame(seed);
+    assertEquals(CompactBoard.of(local.getBoard()), client.getBoard(session));
+    for (int i = 0; i < moves && local.getLogic().getHint() != null; i++) {
+      Move move = hint(local);
+      assertTrue(local.makeMove(move));
+      MoveResult result = client.swap(session, move);
+      assertTrue(result.isValid());
+      assertEquals(CompactBoard.of(local.getBoard()), client.getBoard(session));
+      assertEquals(local.getLogic().getScore().getScore(), result.getScore());
+    }
+  }
+
+  /**
+   * Test that the copy of the client follows the game on the server.
+   * @throws IOException when the server fails.
+   */
+  @Test
+  public void playTest() throws IOException {
+    try (GameClient client = new GameClient("localhost", server.getPort())) {
+      playAndCompare(client, 5, 10);
+      assertEquals(1, server.getSessionCount());
+    }
+  }
+
+  /**
+   * Test that an illegal swap doesn't change the board.
+   * @throws IOException when the server fails.
+   */
+  @Test
+  public void invalidMoveTest() throws IOException {
+    try (GameClient client = new GameClient("localhost", server.getPort())) {
+      int session = client.newGame(3);
+      MoveResult result = client.swap(session, new Move(0, 0, 5, 5));
+      assertFalse(result.isValid());
+      assertEquals(0, result.getDeltaLength());
+      assertEquals(CompactBoard.of(new Game(3).getBoard()), client.getBoard(session));
+    }
+  }
+
+  /**
+   * Test that a swap in an unknown session is answered with an error.
+   * @throws IOException when the server fails.
+   */
+  @Test
+  public void unknownSessionTest() throws IOException {
+    try (GameClient client = new GameClient("localhost", server.getPort())) {
+      client.swap(12345, new Move(0, 0, 0, 1));
+      fail();
+    } catch (IOException e) {
+      assertEquals("No session 12345", e.getMessage());
+    }
+  }
+
+  /**
+   * Send a frame with a payload that is too short.
+   * @param out the stream of the connection.
+   * @param type the type of the message.
+   * @param payload the number of bytes of the payload.
+   * @throws IOException when the connection fails.
+   */
+  private static void sendShort(DataOutputStream out, byte type, int payload)
+      throws IOException {
+    out.writeInt(1 + payload);
+    out.writeByte(type);
+    out.write(new byte[payload]);
+    out.flush();
+  }
+
+  /**
+   * Test that truncated messages are answered with an error and do not stop the server.
+   * @throws IOException when the server fails.
+   */
+  @Test
+  public void truncatedFrameTest() throws IOException {
+    try (Socket socket = new Socket("localhost", server.getPort())) {
+      socket.setSoTimeout(5000);
+      DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+      DataInputStream in = new DataInputStream(socket.getInputStream());
+      byte[] types = {Protocol.NEW_GAME, Protocol.SWAP, Protocol.END_GAME};
+      for (byte type : types) {
+        sendShort(out, type, 2);
+        byte[] frame = new byte[in.readInt()];
+        in.readFully(frame);
+        assertEquals(Protocol.ERROR, frame[0]);
+      }
+    }
+    for (int i = 0; i < 2; i++) {
+      try (GameClient client = new GameClient("localhost", server.getPort())) {
+        playAndCompare(client, 8, 3);
+      }
+    }
+  }
+
+  /**
+   * Test many sessions on several connections at the same time.
+   * @throws Exception when a client fails.
+   */
+  @Test
+  public void concurrentSessionsTest() throws Exception {
+    ExecutorService clients = Executors.newFixedThreadPool(4);
+    List<Future<Void>> results = new ArrayList<Future<Void>>();
+    for (int c = 0; c < 4; c++) {
+      final int first = c * 25;
+      results.add(clients.submit(() -> {
+        try (GameClient client = new GameClient("localhost", server.getPort())) {
+          for (int seed = first; seed < first + 25; seed++) {
+            playAndCompare(client, seed, 5);
+          }
+        }
+        return null;
+      }));
+    }
+    for (Future<Void> result : results) {
+      result.get();
+    }
+    clients.shutdown();
+    assertTrue(server.getMoveLatency().getCount() > 0);
+  }
+}
@@ -0,0 +1,125 @@
+package test.java.group37.bejeweled.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import main.java.group37.bejeweled.board.Tile;
+import main.java.group37.bejeweled.metrics.Histogram;
+import main.java.group37.bejeweled.model.Game;
+import main.java.group37.bejeweled.model.Logger;
+import main.java.group37.bejeweled.model.Move;
+import main.java.group37.bejeweled.server.GameClient;
+import main.java.group37.bejeweled.server.GameServer;
+import main.java.group37.bejeweled.server.SessionMode;
+import main.java.group37.bejeweled.server.SessionThread;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load test that runs the same sessions with a shared worker pool and with a
+ * thread per session, and reports the session density and move latency.
+ * @author group37
+ */
+public class SessionModeLoadTest {
+
+  private static final int CLIENTS = 8;
+  private static final int SESSIONS_PER_CLIENT = 50;
+  private static final int MOVES = 5;
+
+  /**
+   * Play the moves of the hints of a game.
+   * @param seed seed of the game.
+   * @return the moves.
+   */
+  private static List<Move> moves(long seed) {
+    Game game = new Game(seed);
+    List<Move> moves = new ArrayList<Move>();
+    for (int i = 0; i < MOVES; i++) {
+      List<Tile> hint = game.getLogic().getHint();
+      if (hint == null) {
+        break;
+      }
+      Move move = new Move(hint.get(0).getX(), hint.get(0).getY(),
+          hint.get(1).getX(), hint.get(1).getY());
+      game.makeMove(move);
+      moves.add(move);
+    }
+    return moves;
+  }
+
+  /**
+   * Open all sessions first, then play the moves round robin over the sessions,
+   * so every session is waiting for input most of the time.
+   * @param mode the session mode of the server.
+   * @return the move latency of the server.
+   * @throws Exception when a client fails.
+   */
+  private static Histogram run(SessionMode mode) throws Exception {
+    GameServer server = new GameServer(0, 2, 4, mode);
+    server.start();
+    ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    int threadsBefore = threadBean.getThreadCount();
+    threadBean.resetPeakThreadCount();
+    ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+    List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+    long start = System.nanoTime();
+    for (int c = 0; c < CLIENTS; c++) {
+      final int first = c * SESSIONS_PER_CLIENT;
+      results.add(clients.submit(() -> {
+        int played = 0;
+        try (GameClient client = new GameClient("localhost", server.getPort())) {
+          int[] sessions = new int[SESSIONS_PER_CLIENT];
+          List<List<Move>> moves = new ArrayList<List<Move>>();
+          for (int s = 0; s < SESSIONS_PER_CLIENT; s++) {
+            sessions[s] = client.newGame(first + s);
+            moves.add(moves(first + s));
+          }
+          for (int m = 0; m < MOVES; m++) {
+            for (int s = 0; s < SESSIONS_PER_CLIENT; s++) {
+              if (m < moves.get(s).size()) {
+                assertTrue(client.swap(sessions[s], moves.get(s).get(m)).isValid());
+                played++;
+              }
+            }
+          }
+        }
+        return played;
+      }));
+    }
+    int played = 0;
+    for (Future<Integer> result : results) {
+      played += result.get();
+    }
+    long elapsed = System.nanoTime() - start;
+    int threads = threadBean.getPeakThreadCount() - threadsBefore;
+    clients.shutdown();
+    Histogram latency = server.getMoveLatency();
+    Logger.log(mode + (SessionThread.isVirtual() ? " (virtual)" : " (platform)")
+        + ": " + CLIENTS * SESSIONS_PER_CLIENT + " sessions, " + played + " moves in "
+        + elapsed / 1000000 + " ms, peak extra platform threads " + threads
+        + ", p50 " + latency.getP50() / 1000 + " us, p99 " + latency.getP99() / 1000 + " us");
+    server.stop();
+    assertEquals((long) played, latency.getCount());
+    return latency;
+  }
+
+  /**
+   * Compare the shared worker pool with a thread per session.
+   * @throws Exception when a client fails.
+   */
+  @Test
+  public void sharedPoolAgainstThreadPerSessionTest() throws Exception {
+    Histogram pool = run(SessionMode.SHARED_POOL);
+    Histogram perSession = run(SessionMode.THREAD_PER_SESSION);
+    assertTrue(pool.getCount() > 0);
+    assertEquals(pool.getCount(), perSession.getCount());
+  }
+}
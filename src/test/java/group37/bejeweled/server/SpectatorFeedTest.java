@@ -0,0 +1,168 @@
+package test.java.group37.bejeweled.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import main.java.group37.bejeweled.board.Tile;
+import main.java.group37.bejeweled.model.Game;
+import main.java.group37.bejeweled.model.Move;
+import main.java.group37.bejeweled.server.GameClient;
+import main.java.group37.bejeweled.server.GameServer;
+import main.java.group37.bejeweled.server.GameSession;
+import main.java.group37.bejeweled.server.SessionExecutor;
+import main.java.group37.bejeweled.server.Spectator;
+import main.java.group37.bejeweled.server.SpectatorView;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the SpectatorFeed and Spectator classes.
+ * @author group37
+ */
+public class SpectatorFeedTest {
+
+  private GameServer server;
+  private GameClient client;
+
+  private int start(long tickMillis, long seed) throws IOException {
+    server = new GameServer(0, 1, 2);
+    server.setSpectatorTick(tickMillis);
+    server.start();
+    client = new GameClient("localhost", server.getPort());
+    return client.newGame(seed);
+  }
+
+  /**
+   * Stop the client and the server.
+   * @throws IOException when closing the client fails.
+   */
+  @After
+  public void tearDown() throws IOException {
+    if (client != null) {
+      client.close();
+      server.stop();
+    }
+  }
+
+  /**
+   * Play moves of the hints, the local game follows the server.
+   * @param local the same game as the session.
+   * @param session the session id.
+   * @param moves number of moves.
+   * @param pause time between the moves in milliseconds.
+   */
+  private void play(Game local, int session, int moves, long pause) throws Exception {
+    for (int i = 0; i < moves && local.getLogic().getHint() != null; i++) {
+      List<Tile> hint = local.getLogic().getHint();
+      Move move = new Move(hint.get(0).getX(), hint.get(0).getY(),
+          hint.get(1).getX(), hint.get(1).getY());
+      local.makeMove(move);
+      assertTrue(client.swap(session, move).isValid());
+      Thread.sleep(pause);
+    }
+  }
+
+  /**
+   * Apply frames until the view shows the board of the client.
+   */
+  private static void catchUp(Spectator spectator, SpectatorView view, GameClient client,
+      int session) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (System.currentTimeMillis() < deadline) {
+      ByteBuffer frame = spectator.poll(100, TimeUnit.MILLISECONDS);
+      if (frame != null) {
+        view.apply(frame);
+      }
+      if (client.getBoard(session).equals(view.getBoard())
+          && client.getScore(session) == view.getScore()) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Test that a spectator sees the same board and score as the player.
+   * @throws Exception when the server fails.
+   */
+  @Test
+  public void followsGameTest() throws Exception {
+    int session = start(5, 8);
+    Spectator spectator = server.spectate(session, 64);
+    SpectatorView view = new SpectatorView();
+    play(new Game(8), session, 10, 2);
+    catchUp(spectator, view, client, session);
+    assertEquals(client.getBoard(session), view.getBoard());
+    assertEquals(client.getScore(session), view.getScore());
+    assertEquals(0L, spectator.getDropped());
+  }
+
+  /**
+   * Test that all moves of a tick are sent in one frame.
+   * @throws Exception when the server fails.
+   */
+  @Test
+  public void batchTest() throws Exception {
+    int session = start(1000, 9);
+    Spectator spectator = server.spectate(session, 64);
+    SpectatorView view = new SpectatorView();
+    assertTrue(view.apply(spectator.poll(5, TimeUnit.SECONDS)));
+    play(new Game(9), session, 5, 0);
+    ByteBuffer frame = spectator.poll(5, TimeUnit.SECONDS);
+    assertNotNull(frame);
+    assertTrue(view.apply(frame));
+    assertEquals(5, view.getMoves());
+    assertEquals(client.getBoard(session), view.getBoard());
+  }
+
+  /**
+   * Test that a spectator that doesn't read loses the oldest frames
+   * and still ends with the right board.
+   * @throws Exception when the server fails.
+   */
+  @Test
+  public void slowSpectatorTest() throws Exception {
+    int session = start(1, 10);
+    Spectator spectator = server.spectate(session, 2);
+    SpectatorView view = new SpectatorView();
+    play(new Game(10), session, 15, 5);
+    catchUp(spectator, view, client, session);
+    assertTrue(spectator.getDropped() > 0);
+    assertEquals(client.getBoard(session), view.getBoard());
+  }
+
+  /**
+   * Test that a spectator that comes in while the session closes starts no feed.
+   */
+  @Test
+  public void closedSessionTest() {
+    List<Runnable> tasks = new ArrayList<Runnable>();
+    SessionExecutor executor = new SessionExecutor() {
+        @Override
+        public void execute(Runnable task) {
+          tasks.add(task);
+        }
+
+        @Override
+        public void close() {}
+      };
+    ScheduledThreadPoolExecutor ticker = new ScheduledThreadPoolExecutor(1);
+    try {
+      GameSession session = new GameSession(1, 4, null, executor);
+      session.spectate(new Spectator(8), ticker, 5);
+      session.close();
+      tasks.forEach(Runnable::run);
+      assertTrue(ticker.getQueue().isEmpty());
+    } finally {
+      ticker.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package test.java.group37.bejeweled.view;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import main.java.group37.bejeweled.board.Geometry;
+import main.java.group37.bejeweled.metrics.GameMetrics;
+import main.java.group37.bejeweled.view.ParticleSystem;
+
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Tests for the ParticleSystem class.
+ * @author group37
+ */
+public class ParticleSystemTest {
+
+  private final ParticleSystem particles = new ParticleSystem(1000);
+
+  @Test
+  public void burstTest() {
+    assertEquals(100, particles.burst(400, 300, 100, 5, 0));
+    assertEquals(100, particles.getCount());
+    assertEquals(0L, particles.getDropped());
+  }
+
+  @Test
+  public void capTest() {
+    particles.burst(400, 300, 800, 5, 0);
+    //the pool is 80% full, so a burst gets a fifth of its particles
+    assertEquals(100, particles.burst(400, 300, 500, 5, 1));
+    assertEquals(400L, particles.getDropped());
+    for (int i = 0; i < 100; i++) {
+      particles.cross(400, 300, 2000, 5, 2);
+    }
+    assertTrue(particles.getCount() <= particles.getCapacity());
+  }
+
+  @Test
+  public void lifeTest() {
+    particles.burst(400, 300, 500, 5, -1);
+    for (int i = 0; i < ParticleSystem.LIFE - ParticleSystem.LIFE / 4; i++) {
+      particles.update();
+    }
+    assertEquals(500, particles.getCount());
+    for (int i = 0; i < ParticleSystem.LIFE / 4; i++) {
+      particles.update();
+    }
+    assertEquals(0, particles.getCount());
+  }
+
+  @Test
+  public void paintTest() {
+    BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+    particles.burst(400, 300, 50, 0, 4);
+    particles.paint(image.getGraphics(), Geometry.DESIGN);
+    assertTrue(image.getRGB(401, 301) != 0xff000000);
+    assertEquals(0xff000000, image.getRGB(100, 100));
+  }
+
+  @Test
+  public void allocationTest() {
+    ParticleSystem large = new ParticleSystem(ParticleSystem.CAPACITY);
+    large.burst(400, 300, ParticleSystem.CAPACITY, 5, -1);
+    large.update();
+    long before = GameMetrics.allocatedBytes();
+    for (int i = 0; i < 30; i++) {
+      large.update();
+    }
+    long after = GameMetrics.allocatedBytes();
+    assertTrue(before < 0 || after - before < 1024);
+  }
+}
@@ -0,0 +1,76 @@
+package test.java.group37.bejeweled.view;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import main.java.group37.bejeweled.view.GlyphAtlas;
+import main.java.group37.bejeweled.view.StatusHud;
+
+import org.junit.Test;
+
+import java.awt.Dimension;
+import java.awt.EventQueue;
+import java.awt.image.BufferedImage;
+
+import javax.swing.JLabel;
+
+/**
+ * Tests for the StatusHud and GlyphAtlas classes.
+ * @author group37
+ */
+public class StatusHudTest {
+
+  /**
+   * Test that many changes in one frame give one repaint.
+   */
+  @Test
+  public void coalesceTest() throws Exception {
+    JLabel score = new JLabel("Score: 0");
+    StatusHud hud = new StatusHud(score);
+    for (int i = 1; i <= 100; i++) {
+      score.setText("Score: " + i);
+      hud.changed();
+    }
+    Thread.sleep(10 * StatusHud.FRAME);
+    EventQueue.invokeAndWait(() -> { });
+    assertEquals(1L, hud.getRepaints());
+    hud.changed();
+    Thread.sleep(10 * StatusHud.FRAME);
+    EventQueue.invokeAndWait(() -> { });
+    assertEquals(2L, hud.getRepaints());
+  }
+
+  /**
+   * Test that the size of the hud does not depend on the score.
+   */
+  @Test
+  public void sizeTest() {
+    JLabel time = new JLabel("Time: 60");
+    JLabel score = new JLabel("Score: 0");
+    StatusHud hud = new StatusHud(time, score);
+    Dimension size = hud.getPreferredSize();
+    score.setText("Score: 123456");
+    assertEquals(size, hud.getPreferredSize());
+    time.setVisible(false);
+    assertEquals(size.height / 2, hud.getPreferredSize().height);
+  }
+
+  /**
+   * Test that the atlas paints the text at its width.
+   */
+  @Test
+  public void atlasTest() {
+    GlyphAtlas atlas = StatusHud.getAtlas();
+    assertEquals(atlas.width("1") + atlas.width("0"), atlas.width("10"));
+    BufferedImage image = new BufferedImage(200, atlas.getHeight(), BufferedImage.TYPE_INT_ARGB);
+    int width = atlas.draw(image.getGraphics(), "Score: 10", 0, 0);
+    assertEquals(atlas.width("Score: 10"), width);
+    boolean painted = false;
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < image.getHeight(); y++) {
+        painted |= image.getRGB(x, y) != 0;
+      }
+    }
+    assertTrue(painted);
+  }
+}
@@ -0,0 +1,121 @@
+package test.java.group37.bejeweled.view;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import main.java.group37.bejeweled.view.Timeline;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for the Timeline class.
+ * @author group37
+ */
+public class TimelineTest {
+
+  private final List<String> log = new ArrayList<String>();
+  private int repaints;
+  private final Timeline timeline = new Timeline(() -> repaints++, 0);
+
+  /**
+   * A track that writes its frames in the log.
+   */
+  private class Recorder implements Timeline.Track {
+    private final String name;
+    private final int frames;
+    private final int period;
+    private Runnable then;
+
+    Recorder(String name, int frames, int period) {
+      this.name = name;
+      this.frames = frames;
+      this.period = period;
+    }
+
+    @Override
+    public int getFrames() {
+      return frames;
+    }
+
+    @Override
+    public int getPeriod() {
+      return period;
+    }
+
+    @Override
+    public void frame(int frame) {
+      log.add(name + frame);
+    }
+
+    @Override
+    public void end() {
+      log.add(name + " end");
+      if (then != null) {
+        then.run();
+      }
+    }
+  }
+
+  /**
+   * Test that two tracks run at the same time, each at its own speed.
+   */
+  @Test
+  public void overlapTest() {
+    timeline.add(new Recorder("remove", 4, 10), 0, 0);
+    timeline.add(new Recorder("drop", 2, 5), 20, 0);
+    assertEquals(2, timeline.getTrackCount());
+    timeline.advance(10);
+    timeline.advance(25);
+    assertEquals("[remove1, remove2, drop1]", log.toString());
+    timeline.advance(30);
+    assertEquals("[remove1, remove2, drop1, remove3, drop2, drop end]", log.toString());
+    assertTrue(timeline.isRunning());
+    timeline.advance(40);
+    assertFalse(timeline.isRunning());
+    assertEquals("remove end", log.get(log.size() - 1));
+    assertEquals(4, repaints);
+  }
+
+  /**
+   * Test that a track that fell behind runs all missed frames in one tick.
+   */
+  @Test
+  public void catchUpTest() {
+    timeline.add(new Recorder("swap", 3, 10), 0, 0);
+    timeline.advance(5);
+    assertEquals(0, repaints);
+    timeline.advance(1000);
+    assertEquals("[swap1, swap2, swap3, swap end]", log.toString());
+    assertEquals(1, repaints);
+  }
+
+  /**
+   * Test that a track started when another track ends runs from the next tick.
+   */
+  @Test
+  public void chainTest() {
+    Recorder first = new Recorder("a", 1, 10);
+    first.then = () -> timeline.add(new Recorder("b", 1, 10), 0, 10);
+    timeline.add(first, 0, 0);
+    timeline.advance(10);
+    assertEquals("[a1, a end]", log.toString());
+    assertTrue(timeline.isRunning());
+    timeline.advance(20);
+    assertEquals("[a1, a end, b1, b end]", log.toString());
+    assertFalse(timeline.isRunning());
+  }
+
+  /**
+   * Test that a track started now runs on the clock of the timeline.
+   */
+  @Test
+  public void clockTest() {
+    timeline.add(new Recorder("swap", 2, 10), 0);
+    timeline.advance(Timeline.now() + 1000);
+    assertEquals("[swap1, swap2, swap end]", log.toString());
+  }
+}